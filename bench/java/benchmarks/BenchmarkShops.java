@@ -0,0 +1,74 @@
+package benchmarks;
+
+import org.project_printing_shop.employees.Manager;
+import org.project_printing_shop.employees.Operator;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Newspaper;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printable_items.Poster;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+
+/**
+ * Class creating the printing shops the benchmarks run against.
+ * Shops are built deterministically, so every fork of a benchmark measures the same data.
+ */
+final class BenchmarkShops {
+    private static final PaperSize[] SIZES = PaperSize.values();
+    private static final PaperType[] TYPES = PaperType.values();
+
+    private BenchmarkShops() {
+    }
+
+    /**
+     * Creates an edition; the kind of edition and its paper vary with the index.
+     *
+     * @param index the index of the edition
+     * @return the created edition
+     */
+    static Edition createEdition(int index) {
+        Paper paper = new Paper(SIZES[index % SIZES.length], TYPES[index % TYPES.length], 0.05 + (index % 10) * 0.01);
+        int pages = 1 + index % 200;
+        double unitPrice = 5.0 + index % 20;
+        switch (index % 3) {
+            case 0:
+                return new Book("Book " + index, pages, paper, unitPrice);
+            case 1:
+                return new Newspaper("Newspaper " + index, pages, paper, unitPrice);
+            default:
+                return new Poster("Poster " + index, pages, paper, unitPrice);
+        }
+    }
+
+    /**
+     * Creates a shop whose machines have each printed their own editions.
+     *
+     * @param fleetSize          the number of machines
+     * @param editionsPerMachine the number of editions printed by every machine
+     * @param copies             the number of copies printed of every edition
+     * @return the created shop
+     * @throws Exception if an edition cannot be printed
+     */
+    static PrintingShop createShop(int fleetSize, int editionsPerMachine, int copies) throws Exception {
+        PrintingShop shop = new PrintingShop("Benchmark Shop");
+        shop.addEmployee(new Manager("Manager", 2000, 10, 10000, 5000));
+        for (int i = 0; i < fleetSize; i++) {
+            shop.addEmployee(new Operator("Operator " + i, 1000));
+        }
+        for (PaperType type : TYPES) {
+            shop.setPaperPricing(type, 0.1);
+        }
+        for (int m = 0; m < fleetSize; m++) {
+            PrintingMachine machine = new PrintingMachine(Integer.MAX_VALUE, 100 + m, m % 2 == 0);
+            machine.setCurrentPaperLoad(Integer.MAX_VALUE);
+            for (int e = 0; e < editionsPerMachine; e++) {
+                machine.printEdition(createEdition(m * editionsPerMachine + e), false, copies);
+            }
+            shop.addMachine(machine);
+        }
+        return shop;
+    }
+}
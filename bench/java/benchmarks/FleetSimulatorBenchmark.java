@@ -0,0 +1,66 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project_printing_shop.printingShop.FleetSimulator;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.SimulatedOrder;
+import org.project_printing_shop.printingShop.SimulationReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for simulating a month of synthetic orders against fleets of different sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FleetSimulatorBenchmark {
+    private static final double MINUTES_PER_MONTH = 30 * 24 * 60;
+
+    @Param({"10", "500"})
+    public int fleetSize;
+
+    @Param({"100000", "1000000"})
+    public int orders;
+
+    private FleetSimulator simulator;
+    private List<SimulatedOrder> month;
+
+    /**
+     * Creates the fleet, one color machine for every three black and white ones, and a month of orders.
+     */
+    @Setup
+    public void setUp() {
+        List<PrintingMachine> fleet = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            fleet.add(new PrintingMachine(5000, 50 + i % 50, i % 4 == 0));
+        }
+        simulator = new FleetSimulator(fleet, 3);
+        month = FleetSimulator.generateOrders(42, orders, orders / MINUTES_PER_MONTH, 2000, 0.25);
+    }
+
+    /**
+     * Replays the month of orders against the fleet.
+     *
+     * @return the report of the simulation
+     */
+    @Benchmark
+    public SimulationReport simulateMonth() {
+        return simulator.run(month);
+    }
+}
@@ -0,0 +1,96 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project_printing_shop.employees.EmployeeImpl;
+import org.project_printing_shop.employees.Manager;
+import org.project_printing_shop.employees.Operator;
+import org.project_printing_shop.employees.PayrollEngine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for payroll over many employees: calling calculateSalary on every employee,
+ * a full pass of the payroll engine, and an incremental update after one manager's revenue changed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PayrollBenchmark {
+
+    @Param({"1000", "100000"})
+    public int employees;
+
+    private EmployeeImpl[] staff;
+    private Manager[] managers;
+    private PayrollEngine payroll;
+    private int next;
+
+    /**
+     * Creates the staff, one manager for every four operators, and puts it on the payroll.
+     */
+    @Setup
+    public void setUp() {
+        staff = new EmployeeImpl[employees];
+        managers = new Manager[(employees + 4) / 5];
+        payroll = new PayrollEngine();
+        for (int i = 0; i < employees; i++) {
+            if (i % 5 == 0) {
+                Manager manager = new Manager("Manager " + i, 2000 + i % 100, 10, 5000, (i * 37) % 10000);
+                managers[i / 5] = manager;
+                staff[i] = manager;
+            } else {
+                staff[i] = new Operator("Operator " + i, 1500 + i % 100);
+            }
+            payroll.addEmployee(staff[i]);
+        }
+    }
+
+    /**
+     * Sums the salaries by calling calculateSalary on every employee.
+     *
+     * @return the total salaries
+     */
+    @Benchmark
+    public double calculateSalaries() {
+        double total = 0;
+        for (EmployeeImpl employee : staff) {
+            total += employee.calculateSalary();
+        }
+        return total;
+    }
+
+    /**
+     * Recomputes all salaries in one pass of the payroll engine.
+     *
+     * @return the total salaries
+     */
+    @Benchmark
+    public double recomputePayroll() {
+        return payroll.recompute();
+    }
+
+    /**
+     * Moves one manager across the bonus threshold and reads the updated payroll total.
+     *
+     * @return the total salaries
+     */
+    @Benchmark
+    public double updateManagerRevenue() {
+        Manager manager = managers[next++ % managers.length];
+        manager.setCurrentRevenue(manager.getCurrentRevenue() > manager.getRevenueLimit() ? 0 : 10000);
+        return payroll.getTotalSalaries();
+    }
+}
@@ -0,0 +1,132 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project_printing_shop.printingShop.PrintingShop;
+import org.project_printing_shop.printingShop.PrintingShopFileHandlerBinary;
+import org.project_printing_shop.printingShop.PrintingShopFileHandlerRead;
+import org.project_printing_shop.printingShop.PrintingShopFileHandlerWrite;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for saving and loading shops in the text format and as binary snapshots.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    @Param({"10", "100"})
+    public int fleetSize;
+
+    @Param({"10", "1000"})
+    public int editions;
+
+    @Param({"1", "100"})
+    public int copies;
+
+    private PrintingShop shop;
+    private File textFile;
+    private File snapshotFile;
+
+    /**
+     * Creates the shop and writes the files the load benchmarks read.
+     *
+     * @throws Exception if the shop cannot be created or written
+     */
+    @Setup
+    public void setUp() throws Exception {
+        shop = BenchmarkShops.createShop(fleetSize, editions, copies);
+        textFile = File.createTempFile("printing-shop-benchmark", ".txt");
+        snapshotFile = File.createTempFile("printing-shop-benchmark", ".snapshot");
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, textFile.getPath());
+        PrintingShopFileHandlerBinary.savePrintingShopToSnapshot(shop, snapshotFile.getPath());
+    }
+
+    /**
+     * Deletes the files written by the benchmarks.
+     */
+    @TearDown
+    public void tearDown() {
+        textFile.delete();
+        snapshotFile.delete();
+    }
+
+    /**
+     * Streams the shop in the text format to a writer that discards it, isolating serialization from disk writes.
+     *
+     * @throws IOException if the shop cannot be written
+     */
+    @Benchmark
+    public void writeText() throws IOException {
+        PrintingShopFileHandlerWrite.writePrintingShop(shop, Writer.nullWriter());
+    }
+
+    /**
+     * Saves the shop to a text file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Benchmark
+    public void saveText() throws IOException {
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, textFile.getPath());
+    }
+
+    /**
+     * Loads the shop from a text file on one thread.
+     *
+     * @return the loaded shop
+     */
+    @Benchmark
+    public PrintingShop loadText() {
+        return PrintingShopFileHandlerRead.loadPrintingShopFromFile(textFile.getPath());
+    }
+
+    /**
+     * Loads the shop from a text file on the fork-join pool.
+     *
+     * @return the loaded shop
+     */
+    @Benchmark
+    public PrintingShop loadTextInParallel() {
+        return PrintingShopFileHandlerRead.loadPrintingShopFromFileInParallel(textFile.getPath());
+    }
+
+    /**
+     * Saves the shop as a binary snapshot.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Benchmark
+    public void saveSnapshot() throws IOException {
+        PrintingShopFileHandlerBinary.savePrintingShopToSnapshot(shop, snapshotFile.getPath());
+    }
+
+    /**
+     * Loads the shop from a binary snapshot.
+     *
+     * @return the loaded shop
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Benchmark
+    public PrintingShop loadSnapshot() throws IOException {
+        return PrintingShopFileHandlerBinary.loadPrintingShopFromSnapshot(snapshotFile.getPath());
+    }
+}
@@ -0,0 +1,94 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the pricing paths: Paper.calculatePrice, Edition.calculatePrintingCosts
+ * and Edition.calculateIncome.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingBenchmark {
+
+    @Param({"10", "1000"})
+    public int editions;
+
+    @Param({"50", "100000"})
+    public long copies;
+
+    private Edition[] catalog;
+    private Paper[] papers;
+
+    /**
+     * Creates the editions and papers to price.
+     */
+    @Setup
+    public void setUp() {
+        catalog = new Edition[editions];
+        papers = new Paper[editions];
+        for (int i = 0; i < editions; i++) {
+            catalog[i] = BenchmarkShops.createEdition(i);
+            papers[i] = catalog[i].getPaper();
+        }
+    }
+
+    /**
+     * Prices the paper of every edition.
+     *
+     * @return the sum of the paper prices
+     */
+    @Benchmark
+    public double calculatePaperPrice() {
+        double sum = 0;
+        for (Paper paper : papers) {
+            sum += paper.calculatePrice();
+        }
+        return sum;
+    }
+
+    /**
+     * Calculates the printing costs of every edition.
+     *
+     * @return the sum of the printing costs
+     */
+    @Benchmark
+    public double calculatePrintingCosts() {
+        double sum = 0;
+        for (Edition edition : catalog) {
+            sum += edition.calculatePrintingCosts();
+        }
+        return sum;
+    }
+
+    /**
+     * Calculates the income of every edition for the given number of copies.
+     *
+     * @return the sum of the incomes
+     */
+    @Benchmark
+    public double calculateIncome() {
+        double sum = 0;
+        for (Edition edition : catalog) {
+            sum += edition.calculateIncome(copies);
+        }
+        return sum;
+    }
+}
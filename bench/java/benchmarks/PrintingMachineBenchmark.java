@@ -0,0 +1,121 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printingShop.PrintResult;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for PrintingMachine.printEdition, on a standalone machine and on a machine whose print runs
+ * are accounted for by a shop.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrintingMachineBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int copies;
+
+    @Param({"1", "100"})
+    public int editions;
+
+    private PrintingMachine machine;
+    private PrintingMachine shopMachine;
+    private Edition[] printed;
+    private int next;
+    // Print runs left before an edition's int copy count could overflow
+    private long remainingPrints;
+
+    /**
+     * Creates fresh machines and editions for every iteration.
+     *
+     * @throws Exception if the shop cannot be created
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        reset();
+    }
+
+    /**
+     * Replaces the machines and editions with fresh ones. Editions are printed in turn, so each of them can take
+     * Integer.MAX_VALUE / copies runs before its copy count overflows; with many copies that happens within one
+     * iteration, so the state is also reset in the middle of an iteration, rarely enough not to show in the results.
+     *
+     * @throws Exception if the shop cannot be created
+     */
+    private void reset() throws Exception {
+        machine = new PrintingMachine(Integer.MAX_VALUE, 1000, true);
+        machine.setCurrentPaperLoad(Integer.MAX_VALUE);
+        PrintingShop shop = BenchmarkShops.createShop(1, 0, 0);
+        shopMachine = shop.getMachines().get(0);
+        shopMachine.setCurrentPaperLoad(Integer.MAX_VALUE);
+        printed = new Edition[editions];
+        for (int i = 0; i < editions; i++) {
+            printed[i] = BenchmarkShops.createEdition(i);
+        }
+        next = 0;
+        remainingPrints = (long) editions * (Integer.MAX_VALUE / copies);
+    }
+
+    /**
+     * Prints the next edition on a machine without listeners.
+     *
+     * @return the result of the print run
+     * @throws Exception if the edition cannot be printed
+     */
+    @Benchmark
+    public PrintResult printEdition() throws Exception {
+        return print(false);
+    }
+
+    /**
+     * Prints the next edition on a machine that belongs to a shop, including the shop's accounting.
+     *
+     * @return the result of the print run
+     * @throws Exception if the edition cannot be printed
+     */
+    @Benchmark
+    public PrintResult printEditionInShop() throws Exception {
+        return print(true);
+    }
+
+    /**
+     * Prints the next edition, reloading the machine when it runs low on paper
+     * and resetting the state before a copy count would overflow.
+     *
+     * @param inShop whether to print on the machine that belongs to a shop
+     * @return the result of the print run
+     * @throws Exception if the edition cannot be printed
+     */
+    private PrintResult print(boolean inShop) throws Exception {
+        if (remainingPrints == 0) {
+            reset();
+        }
+        remainingPrints--;
+        PrintingMachine target = inShop ? shopMachine : machine;
+        Edition edition = printed[next];
+        next = next + 1 == printed.length ? 0 : next + 1;
+        if (target.getCurrentPaperLoad() < (long) edition.getNumberOfPages() * copies) {
+            target.setCurrentPaperLoad(Integer.MAX_VALUE);
+        }
+        return target.printEdition(edition, false, copies);
+    }
+}
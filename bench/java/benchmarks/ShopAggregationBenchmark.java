@@ -0,0 +1,101 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the shop-wide aggregates: paper costs, income and profit, read on their own
+ * and right after a print run changed them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShopAggregationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fleetSize;
+
+    @Param({"10", "100"})
+    public int editions;
+
+    @Param({"1", "100"})
+    public int copies;
+
+    private PrintingShop shop;
+    private List<PrintingMachine> machines;
+    private Edition[] catalog;
+    private int next;
+
+    /**
+     * Creates the shop for every iteration. With at most 100 copies a run spread over at least 10 editions,
+     * an edition's copy count stays far below Integer.MAX_VALUE within one iteration.
+     *
+     * @throws Exception if the shop cannot be created
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        shop = BenchmarkShops.createShop(fleetSize, editions, copies);
+        machines = shop.getMachines();
+        catalog = new Edition[editions];
+        for (int i = 0; i < editions; i++) {
+            catalog[i] = machines.get(0).getPrintedEditions().get(i);
+        }
+    }
+
+    /**
+     * Reads the total paper costs of the shop.
+     *
+     * @return the paper costs
+     */
+    @Benchmark
+    public double calculatePaperCosts() {
+        return shop.calculatePaperCosts();
+    }
+
+    /**
+     * Reads the total income of the shop.
+     *
+     * @return the income
+     */
+    @Benchmark
+    public double calculateTotalIncome() {
+        return shop.calculateTotalIncome();
+    }
+
+    /**
+     * Prints a run on the next machine and reads the profit it changed.
+     *
+     * @return the profit
+     * @throws Exception if the edition cannot be printed
+     */
+    @Benchmark
+    public double printAndCalculateProfit() throws Exception {
+        PrintingMachine machine = machines.get(next % machines.size());
+        Edition edition = catalog[next % catalog.length];
+        next++;
+        if (machine.getCurrentPaperLoad() < (long) edition.getNumberOfPages() * copies) {
+            machine.setCurrentPaperLoad(Integer.MAX_VALUE);
+        }
+        machine.printEdition(edition, false, copies);
+        return shop.calculateProfit();
+    }
+}
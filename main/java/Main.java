@@ -23,6 +23,7 @@ public class Main {
 
             PrintingMachine machine1 = new PrintingMachine(1500, 50, true);
             shop1.addMachine(machine1);
+            machine1.addPrintListener(new ConsolePrintListener());
 
             shop1.setPaperPricing(PaperType.GLOSSY, 0.05);
             shop1.setPaperPricing(PaperType.STANDARD, 0.02);
@@ -33,9 +34,7 @@ public class Main {
 
             try {
                 machine1.loadPaper(1500);
-                for (int i = 0; i < 150; i++) {
-                    machine1.printEdition(poster, true);
-                }
+                machine1.printEdition(poster, true, 150);
             } catch (NoSuitableMachineException | UnsupportedColorException e) {
                 System.err.println("Printing error in Shop 1: " + e.getMessage());
             }
@@ -56,6 +55,7 @@ public class Main {
 
             PrintingMachine machine2 = new PrintingMachine(1500, 50, true);
             shop2.addMachine(machine2);
+            machine2.addPrintListener(new ConsolePrintListener());
 
             shop2.setPaperPricing(PaperType.GLOSSY, 0.05);
             shop2.setPaperPricing(PaperType.STANDARD, 0.03);
@@ -64,9 +64,7 @@ public class Main {
             try {
                 machine2.loadPaper(1500);
                 poster.setPrintedCopies(0);
-                for (int i = 0; i < 150; i++) {
-                    machine2.printEdition(poster, true);
-                }
+                machine2.printEdition(poster, true, 150);
             } catch (NoSuitableMachineException | UnsupportedColorException e) {
                 System.err.println("Printing error in Shop 2: " + e.getMessage());
             }
@@ -1,7 +1,9 @@
 package org.project_printing_shop.employees;
 
 import org.project_printing_shop.interfaces.Employee;
+import org.project_printing_shop.interfaces.SalaryListener;
 
+import java.util.Arrays;
 
 /**
  * Abstract class representing an employee in the printing shop.
@@ -9,8 +11,11 @@ import org.project_printing_shop.interfaces.Employee;
  * such as name and base salary for Manager and Operator.
  */
 public abstract class EmployeeImpl implements Employee {
+    private static final SalaryListener[] NO_LISTENERS = new SalaryListener[0];
+
     protected String name;
     protected double baseSalary;
+    private volatile SalaryListener[] salaryListeners = NO_LISTENERS;
 
     /**
      * Constructor for EmployeeImpl.
@@ -48,6 +53,50 @@ public abstract class EmployeeImpl implements Employee {
         return baseSalary;
     }
 
+    /**
+     * Adds a listener that is notified whenever the salary of the employee changes.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addSalaryListener(SalaryListener listener) {
+        SalaryListener[] updated = Arrays.copyOf(salaryListeners, salaryListeners.length + 1);
+        updated[salaryListeners.length] = listener;
+        salaryListeners = updated;
+    }
+
+    /**
+     * Removes a previously added salary listener.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeSalaryListener(SalaryListener listener) {
+        for (int i = 0; i < salaryListeners.length; i++) {
+            if (salaryListeners[i] == listener) {
+                SalaryListener[] updated = new SalaryListener[salaryListeners.length - 1];
+                System.arraycopy(salaryListeners, 0, updated, 0, i);
+                System.arraycopy(salaryListeners, i + 1, updated, i, salaryListeners.length - i - 1);
+                salaryListeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Notifies the salary listeners about a salary change.
+     * Subclasses call this whenever a change of their state changes the calculated salary.
+     *
+     * @param oldSalary the salary before the change
+     * @param newSalary the salary after the change
+     */
+    protected void fireSalaryChanged(double oldSalary, double newSalary) {
+        if (oldSalary == newSalary) {
+            return;
+        }
+        for (SalaryListener listener : salaryListeners) {
+            listener.onSalaryChanged(this, oldSalary, newSalary);
+        }
+    }
+
     /**
      * Calculates the total salary of the employee.
      * This method must be implemented by subclasses.
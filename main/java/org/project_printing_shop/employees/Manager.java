@@ -1,13 +1,24 @@
 package org.project_printing_shop.employees;
 
+import java.util.concurrent.atomic.DoubleAdder;
+
 /**
  * Class representing a manager in the printing shop.
  * Inherits the class EmployeeImpl and adds specific properties and behaviors for managers.
+ * The current revenue is a striped accumulator, so the shop can credit sales to its managers from many threads
+ * without locking. Salary listeners are notified only when the revenue crosses the bonus threshold.
+ * Whether the bonus is earned is decided under a bonus lock from a read of the revenue taken after every change
+ * to it. Adding revenue can only earn the bonus, so it takes the lock only when the bonus may just have been earned.
  */
 public class Manager extends EmployeeImpl {
     protected double revenueLimit;
     protected double bonusPercentage;
-    protected double currentRevenue;
+    private final DoubleAdder currentRevenue;
+    // Guards the bonus decision and setting the revenue; a lock of its own, because the salary listeners
+    // are notified while it is held and may take the manager's listener lock themselves
+    private final Object bonusLock = new Object();
+    // Whether the revenue was above the limit when the salary listeners were last notified
+    private volatile boolean bonusEarned;
 
     /**
      * Constructor for Manager.
@@ -29,10 +40,41 @@ public class Manager extends EmployeeImpl {
         }
         this.bonusPercentage = bonusPercentage;
         this.revenueLimit = revenueLimit;
-        this.currentRevenue = currentRevenue;
+        this.currentRevenue = new DoubleAdder();
+        this.currentRevenue.add(currentRevenue);
+        this.bonusEarned = currentRevenue > revenueLimit;
+    }
+    /**
+     * Gets the revenue limit the manager has to exceed to receive the bonus.
+     *
+     * @return the revenue limit
+     */
+    public double getRevenueLimit() {
+        return revenueLimit;
     }
+
+    /**
+     * Gets the bonus percentage of the manager.
+     *
+     * @return the bonus percentage
+     */
+    public double getBonusPercentage() {
+        return bonusPercentage;
+    }
+
+    /**
+     * Gets the current revenue achieved by the manager.
+     *
+     * @return the current revenue
+     */
+    public double getCurrentRevenue() {
+        return currentRevenue.sum();
+    }
+
     /**
      * Sets the current revenue achieved by the manager.
+     * Revenue added by other threads while the revenue is being set may be kept or discarded,
+     * but the bonus always follows the revenue the manager ends up with.
      *
      * @param currentRevenue the new current revenue, must be non-negative
      * @throws IllegalArgumentException if the current revenue is negative
@@ -41,7 +83,49 @@ public class Manager extends EmployeeImpl {
         if (currentRevenue < 0) {
             throw new IllegalArgumentException("Current revenue must be non-negative.");
         }
-        this.currentRevenue = currentRevenue;
+        synchronized (bonusLock) {
+            this.currentRevenue.reset();
+            this.currentRevenue.add(currentRevenue);
+            updateBonus();
+        }
+    }
+
+    /**
+     * Adds revenue achieved by the manager, for example the income of a sale of the shop.
+     * Safe to call from many threads at once.
+     *
+     * @param amount the revenue to add, must be non-negative
+     * @throws IllegalArgumentException if the amount is negative
+     */
+    public void addRevenue(double amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Revenue must be non-negative.");
+        }
+        currentRevenue.add(amount);
+        if (!bonusEarned && currentRevenue.sum() > revenueLimit) {
+            synchronized (bonusLock) {
+                updateBonus();
+            }
+        }
+    }
+
+    /**
+     * Notifies the salary listeners if the current revenue moved across the revenue limit.
+     * Must be called while holding the bonus lock, so each crossing is reported once. The revenue is read again
+     * after every change of the bonus state, because revenue added meanwhile may have seen the old state
+     * and skipped the check.
+     */
+    private void updateBonus() {
+        boolean earned;
+        while ((earned = currentRevenue.sum() > revenueLimit) != bonusEarned) {
+            bonusEarned = earned;
+            double bonusSalary = baseSalary + ((baseSalary * bonusPercentage) / 100);
+            if (earned) {
+                fireSalaryChanged(baseSalary, bonusSalary);
+            } else {
+                fireSalaryChanged(bonusSalary, baseSalary);
+            }
+        }
     }
 
     /**
@@ -52,7 +136,7 @@ public class Manager extends EmployeeImpl {
      */
     @Override
     public double calculateSalary() {
-        if (currentRevenue > revenueLimit) {
+        if (currentRevenue.sum() > revenueLimit) {
             return baseSalary + ((baseSalary * bonusPercentage) / 100);
         }
         return baseSalary;
@@ -66,7 +150,7 @@ public class Manager extends EmployeeImpl {
         return "Manager: " + super.toString() +
                 ", Revenue Limit: " + revenueLimit +
                 ", Bonus Percentage: " + bonusPercentage +
-                ", Current Revenue: " + currentRevenue;
+                ", Current Revenue: " + getCurrentRevenue();
     }
 
 }
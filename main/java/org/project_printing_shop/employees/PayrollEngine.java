@@ -0,0 +1,251 @@
+package org.project_printing_shop.employees;
+
+import org.project_printing_shop.interfaces.SalaryListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class computing the payroll of a large number of employees, for example all employees of a chain of shops.
+ * The salary inputs are stored column-wise in primitive arrays, one row per employee, so the whole payroll is
+ * computed in a single pass over the arrays without calling into the employee objects.
+ * The engine listens to its employees, and a change of a manager's current revenue recalculates only that row.
+ * Operators and other employees without a bonus rule are stored with their salary as base salary and no bonus.
+ */
+public class PayrollEngine implements SalaryListener {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<EmployeeImpl, Integer> rows;
+    private EmployeeImpl[] employees;
+    private double[] baseSalaries;
+    private double[] bonusPercentages;
+    private double[] revenueLimits;
+    private double[] currentRevenues;
+    private double[] salaries;
+    private int size;
+    private double totalSalaries;
+
+    /**
+     * Constructor for an empty PayrollEngine.
+     */
+    public PayrollEngine() {
+        this.rows = new IdentityHashMap<>();
+        this.employees = new EmployeeImpl[INITIAL_CAPACITY];
+        this.baseSalaries = new double[INITIAL_CAPACITY];
+        this.bonusPercentages = new double[INITIAL_CAPACITY];
+        this.revenueLimits = new double[INITIAL_CAPACITY];
+        this.currentRevenues = new double[INITIAL_CAPACITY];
+        this.salaries = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds an employee to the payroll.
+     *
+     * @param employee the employee to add
+     * @return true if the employee was added, false if it already was on the payroll
+     */
+    public synchronized boolean addEmployee(EmployeeImpl employee) {
+        if (rows.containsKey(employee)) {
+            return false;
+        }
+        if (size == employees.length) {
+            grow();
+        }
+        int row = size++;
+        rows.put(employee, row);
+        employees[row] = employee;
+        readRow(row);
+        salaries[row] = salaryOf(row);
+        totalSalaries += salaries[row];
+        employee.addSalaryListener(this);
+        return true;
+    }
+
+    /**
+     * Adds several employees to the payroll.
+     *
+     * @param employees the employees to add
+     */
+    public synchronized void addEmployees(Collection<? extends EmployeeImpl> employees) {
+        for (EmployeeImpl employee : employees) {
+            addEmployee(employee);
+        }
+    }
+
+    /**
+     * Removes an employee from the payroll. The last row takes the place of the removed one.
+     *
+     * @param employee the employee to remove
+     * @return true if the employee was removed, false if it was not on the payroll
+     */
+    public synchronized boolean removeEmployee(EmployeeImpl employee) {
+        Integer row = rows.remove(employee);
+        if (row == null) {
+            return false;
+        }
+        employee.removeSalaryListener(this);
+        totalSalaries -= salaries[row];
+        int last = --size;
+        if (row != last) {
+            employees[row] = employees[last];
+            baseSalaries[row] = baseSalaries[last];
+            bonusPercentages[row] = bonusPercentages[last];
+            revenueLimits[row] = revenueLimits[last];
+            currentRevenues[row] = currentRevenues[last];
+            salaries[row] = salaries[last];
+            rows.put(employees[row], row);
+        }
+        employees[last] = null;
+        return true;
+    }
+
+    /**
+     * Gets the number of employees on the payroll.
+     *
+     * @return the number of employees
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the employees on the payroll.
+     *
+     * @return a new list of the employees, in the order of their rows
+     */
+    public synchronized List<EmployeeImpl> getEmployees() {
+        return new ArrayList<>(Arrays.asList(employees).subList(0, size));
+    }
+
+    /**
+     * Recomputes the salaries of all employees in a single pass over the salary columns.
+     *
+     * @return the total salaries
+     */
+    public synchronized double recompute() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            double bonus = currentRevenues[i] > revenueLimits[i] ? (baseSalaries[i] * bonusPercentages[i]) / 100 : 0;
+            salaries[i] = baseSalaries[i] + bonus;
+            total += salaries[i];
+        }
+        totalSalaries = total;
+        return total;
+    }
+
+    /**
+     * Reloads the salary inputs of all employees from the employee objects and recomputes the payroll.
+     * Needed only after changes that do not notify the salary listeners.
+     *
+     * @return the total salaries
+     */
+    public synchronized double refresh() {
+        for (int i = 0; i < size; i++) {
+            readRow(i);
+        }
+        return recompute();
+    }
+
+    /**
+     * Gets the total salaries of all employees on the payroll.
+     *
+     * @return the total salaries
+     */
+    public synchronized double getTotalSalaries() {
+        return totalSalaries;
+    }
+
+    /**
+     * Gets the salary of an employee as last computed by the payroll.
+     *
+     * @param employee the employee
+     * @return the salary of the employee
+     * @throws IllegalArgumentException if the employee is not on the payroll
+     */
+    public synchronized double getSalary(EmployeeImpl employee) {
+        Integer row = rows.get(employee);
+        if (row == null) {
+            throw new IllegalArgumentException("The employee is not on the payroll.");
+        }
+        return salaries[row];
+    }
+
+    /**
+     * Gets the salaries of all employees.
+     *
+     * @return a new array of the salaries, in the order of the employees' rows
+     */
+    public synchronized double[] getSalaries() {
+        return Arrays.copyOf(salaries, size);
+    }
+
+    /**
+     * Recomputes the row of an employee whose salary changed.
+     *
+     * @param employee  the employee whose salary changed
+     * @param oldSalary the salary before the change
+     * @param newSalary the salary after the change
+     */
+    @Override
+    public synchronized void onSalaryChanged(EmployeeImpl employee, double oldSalary, double newSalary) {
+        Integer row = rows.get(employee);
+        if (row == null) {
+            return;
+        }
+        readRow(row);
+        double salary = salaryOf(row);
+        totalSalaries += salary - salaries[row];
+        salaries[row] = salary;
+    }
+
+    /**
+     * Copies the salary inputs of the employee in a row into the columns.
+     *
+     * @param row the row of the employee
+     */
+    private void readRow(int row) {
+        EmployeeImpl employee = employees[row];
+        if (employee instanceof Manager) {
+            Manager manager = (Manager) employee;
+            baseSalaries[row] = manager.getBaseSalary();
+            bonusPercentages[row] = manager.getBonusPercentage();
+            revenueLimits[row] = manager.getRevenueLimit();
+            currentRevenues[row] = manager.getCurrentRevenue();
+        } else {
+            baseSalaries[row] = employee.calculateSalary();
+            bonusPercentages[row] = 0;
+            revenueLimits[row] = 0;
+            currentRevenues[row] = 0;
+        }
+    }
+
+    /**
+     * Calculates the salary of the employee in a row from the columns.
+     *
+     * @param row the row of the employee
+     * @return the salary
+     */
+    private double salaryOf(int row) {
+        if (currentRevenues[row] > revenueLimits[row]) {
+            return baseSalaries[row] + ((baseSalaries[row] * bonusPercentages[row]) / 100);
+        }
+        return baseSalaries[row];
+    }
+
+    /**
+     * Doubles the capacity of all columns.
+     */
+    private void grow() {
+        int capacity = employees.length * 2;
+        employees = Arrays.copyOf(employees, capacity);
+        baseSalaries = Arrays.copyOf(baseSalaries, capacity);
+        bonusPercentages = Arrays.copyOf(bonusPercentages, capacity);
+        revenueLimits = Arrays.copyOf(revenueLimits, capacity);
+        currentRevenues = Arrays.copyOf(currentRevenues, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+    }
+}
@@ -0,0 +1,11 @@
+package org.project_printing_shop.enums;
+
+/**
+ * Enum class representing the measures printing shops can be ranked by.
+ * The measures include TOTAL_SALES, NUMBER_OF_EMPLOYEES, and PROFIT.
+ */
+public enum ShopRanking {
+    TOTAL_SALES,         // Total sales recorded by the shop
+    NUMBER_OF_EMPLOYEES, // Number of employees of the shop
+    PROFIT               // Total income minus total expenses of the shop
+}
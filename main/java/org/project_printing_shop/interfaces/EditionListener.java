@@ -0,0 +1,17 @@
+package org.project_printing_shop.interfaces;
+
+import org.project_printing_shop.printable_items.Edition;
+
+/**
+ * Interface representing a listener for changes of an edition that affect its income or costs,
+ * such as its number of pages, paper or unit price.
+ */
+public interface EditionListener {
+
+    /**
+     * Called after an edition has changed.
+     *
+     * @param edition the changed edition
+     */
+    void onEditionChanged(Edition edition);
+}
@@ -0,0 +1,23 @@
+package org.project_printing_shop.interfaces;
+
+import org.project_printing_shop.printable_items.Paper;
+
+/**
+ * Interface representing a source of paper prices, such as the price list of a printing shop.
+ * Printing costs are calculated against a price provider, so the same edition can be costed at different prices.
+ */
+public interface PriceProvider {
+
+    /**
+     * Price provider charging every paper its own price, its base price times the size multiplier.
+     */
+    PriceProvider PAPER_PRICES = Paper::calculatePrice;
+
+    /**
+     * Gets the price of one sheet of a paper.
+     *
+     * @param paper the paper
+     * @return the price of one sheet
+     */
+    double getPrice(Paper paper);
+}
@@ -0,0 +1,45 @@
+package org.project_printing_shop.interfaces;
+
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printingShop.PrintingMachine;
+
+/**
+ * Interface representing a listener for print events of a printing machine.
+ * All methods have empty default implementations, so a listener only overrides the events it is interested in.
+ * Listeners are called on the printing thread and should not block.
+ */
+public interface PrintListener {
+
+    /**
+     * Called after a print run of an edition has completed on a machine.
+     *
+     * @param machine      the machine that printed the edition
+     * @param edition      the printed edition
+     * @param copies       the number of copies printed in this run
+     * @param totalCopies  the total number of copies of the edition printed by the machine after this run
+     * @param printingTime the estimated printing time of this run in minutes
+     */
+    default void onEditionPrinted(PrintingMachine machine, Edition edition, int copies, int totalCopies, double printingTime) {
+    }
+
+    /**
+     * Called when a machine refuses a print run, just before the exception explaining why is thrown.
+     *
+     * @param machine the machine that refused the print run
+     * @param edition the edition that was to be printed
+     * @param copies  the number of copies that were requested
+     * @param reason  the exception that is thrown to the caller
+     */
+    default void onPrintRejected(PrintingMachine machine, Edition edition, int copies, Exception reason) {
+    }
+
+    /**
+     * Called after paper was loaded into a machine or its paper load was set directly.
+     *
+     * @param machine          the machine whose paper load changed
+     * @param sheets           the change of the paper load, negative if it was set lower
+     * @param currentPaperLoad the paper load after the change
+     */
+    default void onPaperLoaded(PrintingMachine machine, int sheets, int currentPaperLoad) {
+    }
+}
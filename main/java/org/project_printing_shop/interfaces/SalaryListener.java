@@ -0,0 +1,18 @@
+package org.project_printing_shop.interfaces;
+
+import org.project_printing_shop.employees.EmployeeImpl;
+
+/**
+ * Interface representing a listener for changes of an employee's salary.
+ */
+public interface SalaryListener {
+
+    /**
+     * Called after the salary of an employee has changed.
+     *
+     * @param employee  the employee whose salary changed
+     * @param oldSalary the salary before the change
+     * @param newSalary the salary after the change
+     */
+    void onSalaryChanged(EmployeeImpl employee, double oldSalary, double newSalary);
+}
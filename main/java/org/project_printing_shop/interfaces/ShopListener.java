@@ -0,0 +1,16 @@
+package org.project_printing_shop.interfaces;
+
+import org.project_printing_shop.printingShop.PrintingShop;
+
+/**
+ * Interface representing a listener for changes of a printing shop's sales, employees or financial totals.
+ */
+public interface ShopListener {
+
+    /**
+     * Called after the sales, the employees or the financial totals of a shop have changed.
+     *
+     * @param shop the changed shop
+     */
+    void onShopChanged(PrintingShop shop);
+}
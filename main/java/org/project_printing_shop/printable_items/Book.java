@@ -1,5 +1,7 @@
 package org.project_printing_shop.printable_items;
 
+import org.project_printing_shop.interfaces.PriceProvider;
+
 /**
  * Class representing a book in the printing shop.
  * Inherits the class Edition and provides specific implementation for printing and calculating costs for a book.
@@ -18,16 +20,6 @@ public class Book extends Edition {
         super(title, numberOfPages, paper, unitPrice);
     }
 
-    /**
-     * Prints the book.
-     * Calls the print method from the superclass and adds specific print logic for a book.
-     */
-    @Override
-    public void print() {
-        super.print();
-        System.out.println("Printing book: " + title);
-    }
-
     /**
      * Calculates the printing costs of the book.
      * Uses the price of the paper and the number of pages to calculate the total printing cost.
@@ -36,7 +28,6 @@ public class Book extends Edition {
      */
     @Override
     public double calculatePrintingCosts() {
-        double paperCost = paper.calculatePrice();
-        return paperCost * numberOfPages;
+        return calculatePrintingCosts(PriceProvider.PAPER_PRICES);
     }
 }
@@ -1,17 +1,41 @@
 package org.project_printing_shop.printable_items;
 
+import org.project_printing_shop.interfaces.EditionListener;
+import org.project_printing_shop.interfaces.PriceProvider;
 import org.project_printing_shop.interfaces.Printable;
 
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Abstract class representing a printable edition in the printing shop.
  * Implements the Printable interface and provides base properties and methods for editions such as title, number of pages, paper type, and unit price.
+ * Editions are identified by a unique identifier, so two instances with the same identifier are equal,
+ * for example an edition held in memory and the same edition loaded back from a file.
+ * An edition is marked dirty whenever its data or its printed copies change, so incremental saves
+ * only write the editions changed since the last save. Its revision counts how often it became dirty,
+ * so each shop holding the edition can tell whether it changed since that shop saved it.
  */
 public abstract class Edition implements Printable{
+    private static final EditionListener[] NO_LISTENERS = new EditionListener[0];
+
+    // Unique identifier for the edition, with its hash code cached for map lookups
+    private UUID id;
+    private int hash;
     protected String title;
     protected int numberOfPages;
     protected Paper paper;
     protected double unitPrice;
-    protected int printedCopies = 0;
+    protected VolumeDiscountTable discountTable = VolumeDiscountTable.DEFAULT;
+    protected final AtomicInteger printedCopies = new AtomicInteger();
+    private volatile EditionListener[] listeners = NO_LISTENERS;
+    // Whether the edition changed since it was last saved; new editions have never been saved
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // Incremented whenever the edition becomes dirty
+    private final AtomicLong revision = new AtomicLong();
 
     /**
      * Constructor for Edition.
@@ -33,6 +57,110 @@ public abstract class Edition implements Printable{
         this.numberOfPages = numberOfPages;
         this.paper = paper;
         this.unitPrice = unitPrice;
+        setId(UUID.randomUUID());
+    }
+
+    /**
+     * Gets the unique identifier of the edition.
+     *
+     * @return the unique identifier of the edition
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Sets the unique identifier of the edition.
+     * Intended for restoring a saved edition; the identifier must not change while the edition is held by a machine.
+     *
+     * @param id the unique identifier to set
+     * @throws IllegalArgumentException if the identifier is null
+     */
+    public void setId(UUID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Edition id must not be null.");
+        }
+        this.id = id;
+        this.hash = id.hashCode();
+        markDirty();
+    }
+
+    /**
+     * Checks whether the edition changed since it was last saved.
+     *
+     * @return true if the edition has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * Marks the edition as saved. Call it before the edition is written,
+     * so a change made while it is being written marks it dirty again.
+     *
+     * @return true if the edition had unsaved changes
+     */
+    public boolean clearDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    /**
+     * Marks the edition as changed since it was last saved.
+     */
+    public void markDirty() {
+        // Checked first, so printing an edition that is already dirty does not write the flag
+        if (!dirty.get() && !dirty.getAndSet(true)) {
+            revision.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the revision of the edition, which increases whenever the edition becomes dirty.
+     * An edition can be held by several shops while only one of them clears its dirty flag, so every shop
+     * records the revision it saved. Read it before clearing the flag, so a change made meanwhile raises it.
+     *
+     * @return the revision of the edition
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    /**
+     * Adds a listener that is notified when the number of pages, the paper or the unit price of the edition changes.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addEditionListener(EditionListener listener) {
+        EditionListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a previously added edition listener.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeEditionListener(EditionListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                EditionListener[] updated = new EditionListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Notifies the edition listeners that the edition has changed.
+     */
+    protected void fireEditionChanged() {
+        markDirty();
+        for (EditionListener listener : listeners) {
+            listener.onEditionChanged(this);
+        }
     }
 
     /**
@@ -41,8 +169,18 @@ public abstract class Edition implements Printable{
      */
     @Override
     public void print() {
-        printedCopies++;
-        System.out.println("Printing edition: " + title + ". Total printed copies: " + printedCopies);
+        print(1);
+    }
+
+    /**
+     * Prints a number of copies of the edition at once.
+     * Atomically increments the count of printed copies by the given number.
+     *
+     * @param copies the number of copies to print
+     */
+    public void print(int copies) {
+        printedCopies.addAndGet(copies);
+        markDirty();
     }
 
     /**
@@ -53,21 +191,59 @@ public abstract class Edition implements Printable{
     @Override
     public abstract double calculatePrintingCosts();
 
+    /**
+     * Calculates the printing costs of the edition at the paper prices of a price provider,
+     * such as the pricing table of a printing shop.
+     *
+     * @param prices the price provider to take the price of the paper from
+     * @return the total printing costs
+     */
+    public double calculatePrintingCosts(PriceProvider prices) {
+        return prices.getPrice(paper) * numberOfPages;
+    }
+
     /**
      * Calculates the total income from the printed copies.
-     * Provides a discount for copies beyond 100.
+     * Applies the volume discounts of the edition's discount table.
      *
      * @return the total income from the printed copies
      */
     public double calculateIncome() {
-        System.out.println("Total printed copies for income calculation: " + printedCopies);
-        if (printedCopies > 100) {
-            int discountedCopies = printedCopies - 100;
-            double discountedTotal = discountedCopies * unitPrice * 0.90;
-            return 100 * unitPrice + discountedTotal;
-        } else {
-            return printedCopies * unitPrice;
+        return calculateIncome(printedCopies.get());
+    }
+
+    /**
+     * Calculates the income from a given number of copies of the edition.
+     * Applies the volume discounts of the edition's discount table, by default 10% off copies beyond 100.
+     *
+     * @param printedCopies the number of copies
+     * @return the income from the given number of copies
+     */
+    public double calculateIncome(long printedCopies) {
+        return discountTable.calculateIncome(unitPrice, printedCopies);
+    }
+
+    /**
+     * Gets the volume discounts applied to the income of the edition.
+     *
+     * @return the discount table
+     */
+    public VolumeDiscountTable getDiscountTable() {
+        return discountTable;
+    }
+
+    /**
+     * Sets the volume discounts applied to the income of the edition.
+     *
+     * @param discountTable the discount table to set
+     * @throws IllegalArgumentException if the discount table is null
+     */
+    public void setDiscountTable(VolumeDiscountTable discountTable) {
+        if (discountTable == null) {
+            throw new IllegalArgumentException("Discount table cannot be null.");
         }
+        this.discountTable = discountTable;
+        fireEditionChanged();
     }
 
     /**
@@ -86,6 +262,7 @@ public abstract class Edition implements Printable{
      */
     public void setTitle(String title) {
         this.title = title;
+        markDirty();
     }
 
     /**
@@ -104,6 +281,7 @@ public abstract class Edition implements Printable{
      */
     public void setNumberOfPages(int numberOfPages) {
         this.numberOfPages = numberOfPages;
+        fireEditionChanged();
     }
 
     /**
@@ -122,6 +300,7 @@ public abstract class Edition implements Printable{
      */
     public void setPaper(Paper paper) {
         this.paper = paper;
+        fireEditionChanged();
     }
 
     /**
@@ -140,6 +319,7 @@ public abstract class Edition implements Printable{
      */
     public void setUnitPrice(double unitPrice) {
         this.unitPrice = unitPrice;
+        fireEditionChanged();
     }
 
     /**
@@ -148,7 +328,7 @@ public abstract class Edition implements Printable{
      * @return the number of printed copies of the edition
      */
     public int getPrintedCopies() {
-        return printedCopies;
+        return printedCopies.get();
     }
 
     /**
@@ -157,7 +337,36 @@ public abstract class Edition implements Printable{
      * @param printedCopies the new number of printed copies of the edition
      */
     public void setPrintedCopies(int printedCopies) {
-        this.printedCopies = printedCopies;
+        this.printedCopies.set(printedCopies);
+        markDirty();
+    }
+
+    /**
+     * Compares the edition to another object by their unique identifiers.
+     *
+     * @param o the object to compare to
+     * @return true if the object is an edition with the same identifier, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Edition)) {
+            return false;
+        }
+        Edition other = (Edition) o;
+        return hash == other.hash && id.equals(other.id);
+    }
+
+    /**
+     * Returns the cached hash code of the edition's unique identifier.
+     *
+     * @return the hash code of the edition
+     */
+    @Override
+    public int hashCode() {
+        return hash;
     }
 
     /**
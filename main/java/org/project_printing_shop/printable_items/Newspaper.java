@@ -1,5 +1,7 @@
 package org.project_printing_shop.printable_items;
 
+import org.project_printing_shop.interfaces.PriceProvider;
+
 /**
  * Class representing a newspaper edition in the printing shop.
  * Inherits from the Edition class and provides specific behavior for newspapers.
@@ -18,16 +20,6 @@ public class Newspaper extends Edition {
         super(title, numberOfPages, paper, unitPrice);
     }
 
-    /**
-     * Prints the newspaper.
-     * Increments the printed copies count and prints a message specific to newspapers.
-     */
-    @Override
-    public void print() {
-        super.print();
-        System.out.println("Printing newspaper: " + getTitle());
-    }
-
     /**
      * Calculates the printing costs of the newspaper.
      * Uses the paper's price per unit and the number of pages to calculate the total printing cost.
@@ -36,8 +28,7 @@ public class Newspaper extends Edition {
      */
     @Override
     public double calculatePrintingCosts() {
-        double paperCost = paper.calculatePrice();
-        return paperCost * numberOfPages;
+        return calculatePrintingCosts(PriceProvider.PAPER_PRICES);
     }
 }
 
@@ -8,6 +8,9 @@ import org.project_printing_shop.enums.PaperType;
  * Contains details about the paper size, type, and base price.
  */
 public class Paper {
+    // Price multipliers indexed by the ordinal of the paper size
+    private static final double[] SIZE_MULTIPLIERS = sizeMultipliers();
+
     protected PaperSize size;
     protected PaperType type;
     protected double basePrice;
@@ -57,35 +60,46 @@ public class Paper {
     }
 
     /**
-     * Calculates the price percentage based on the size of the paper.
+     * Gets the price multiplier of a paper size.
      *
      * @param paperSize the size of the paper
-     * @return the price percentage based on the paper size
+     * @return the price multiplier of the paper size
+     */
+    public static double getSizeMultiplier(PaperSize paperSize) {
+        return SIZE_MULTIPLIERS[paperSize.ordinal()];
+    }
+
+    /**
+     * Builds the table of price multipliers by paper size.
+     *
+     * @return the price multipliers indexed by the ordinal of the paper size
      */
-    private double getSizePricePercentage(PaperSize paperSize) {
-        if (paperSize == PaperSize.A1) {
-            return 4.0;
-        } else if (paperSize == PaperSize.A2) {
-            return 3.0;
-        } else if (paperSize == PaperSize.A3) {
-            return 2.0;
-        } else if (paperSize == PaperSize.A4) {
-            return 1.5;
-        } else if (paperSize == PaperSize.A5) {
-            return 1.0;
-        } else {
-            return 1.0;
+    private static double[] sizeMultipliers() {
+        double[] multipliers = new double[PaperSize.values().length];
+        for (PaperSize paperSize : PaperSize.values()) {
+            if (paperSize == PaperSize.A1) {
+                multipliers[paperSize.ordinal()] = 4.0;
+            } else if (paperSize == PaperSize.A2) {
+                multipliers[paperSize.ordinal()] = 3.0;
+            } else if (paperSize == PaperSize.A3) {
+                multipliers[paperSize.ordinal()] = 2.0;
+            } else if (paperSize == PaperSize.A4) {
+                multipliers[paperSize.ordinal()] = 1.5;
+            } else {
+                multipliers[paperSize.ordinal()] = 1.0;
+            }
         }
+        return multipliers;
     }
 
     /**
      * Calculates the price of the paper based on its size and base price.
+     * The size multiplier is read from a table rather than worked out on every call.
      *
      * @return the calculated price of the paper
      */
     public double calculatePrice() {
-        double sizePricePercentage = getSizePricePercentage(size);
-        return basePrice * sizePricePercentage;
+        return basePrice * SIZE_MULTIPLIERS[size.ordinal()];
     }
 
     /**
@@ -0,0 +1,159 @@
+package org.project_printing_shop.printable_items;
+
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.interfaces.PriceProvider;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Class representing a printing shop's price per sheet for every combination of paper size and type.
+ * The table is flat: a paper's slot is computed from the ordinals of its size and type, and looking up a price
+ * is one array load. A slot whose paper type has no shop price falls back to the paper's own price,
+ * its base price times the size multiplier.
+ * Tables are immutable snapshots with a version number. Changing a price creates the next version of the table,
+ * so readers holding a table never see a partly applied change.
+ */
+public final class PaperPricingTable implements PriceProvider {
+    private static final PaperSize[] SIZES = PaperSize.values();
+    private static final PaperType[] TYPES = PaperType.values();
+    /** The number of slots in a table, one for every combination of paper size and type. */
+    public static final int SLOTS = SIZES.length * TYPES.length;
+    /** The first version of a table, without shop prices, in which every paper costs its own price. */
+    public static final PaperPricingTable EMPTY = new PaperPricingTable(new EnumMap<>(PaperType.class), 0);
+
+    private final Map<PaperType, Double> typePrices;
+    private final long version;
+    // Shop price per sheet by slot, or NaN where the paper's own price applies
+    private final double[] prices;
+
+    /**
+     * Constructor building a version of the table from the shop's prices per paper type.
+     * The price of a type is scaled by the size multiplier of each paper size.
+     *
+     * @param typePrices the shop's prices by paper type, owned by the table
+     * @param version    the version of the table
+     */
+    private PaperPricingTable(EnumMap<PaperType, Double> typePrices, long version) {
+        this.typePrices = Collections.unmodifiableMap(typePrices);
+        this.version = version;
+        this.prices = new double[SLOTS];
+        Arrays.fill(prices, Double.NaN);
+        for (Map.Entry<PaperType, Double> pricing : typePrices.entrySet()) {
+            for (PaperSize size : SIZES) {
+                prices[slotOf(size, pricing.getKey())] = pricing.getValue() * Paper.getSizeMultiplier(size);
+            }
+        }
+    }
+
+    /**
+     * Creates the next version of the table with a whole new set of prices.
+     *
+     * @param typePrices the prices by paper type; types without a price use the paper's own price
+     * @return the next version of the table
+     * @throws IllegalArgumentException if a price is negative
+     */
+    public PaperPricingTable withPrices(Map<PaperType, Double> typePrices) {
+        EnumMap<PaperType, Double> copy = new EnumMap<>(PaperType.class);
+        for (Map.Entry<PaperType, Double> pricing : typePrices.entrySet()) {
+            copy.put(pricing.getKey(), checkPrice(pricing.getValue()));
+        }
+        return new PaperPricingTable(copy, version + 1);
+    }
+
+    /**
+     * Creates the next version of the table with the price of one paper type changed.
+     *
+     * @param type  the paper type
+     * @param price the price of the paper type
+     * @return the next version of the table
+     * @throws IllegalArgumentException if the price is negative
+     */
+    public PaperPricingTable withPrice(PaperType type, double price) {
+        EnumMap<PaperType, Double> copy = new EnumMap<>(PaperType.class);
+        copy.putAll(typePrices);
+        copy.put(type, checkPrice(price));
+        return new PaperPricingTable(copy, version + 1);
+    }
+
+    /**
+     * Gets the version of the table. Later versions have higher numbers.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the shop's prices by paper type.
+     *
+     * @return an unmodifiable map of prices by paper type
+     */
+    public Map<PaperType, Double> getPrices() {
+        return typePrices;
+    }
+
+    /**
+     * Gets the slot of a combination of paper size and type.
+     *
+     * @param size the paper size
+     * @param type the paper type
+     * @return the slot, from 0 to SLOTS - 1
+     */
+    public static int slotOf(PaperSize size, PaperType type) {
+        return size.ordinal() * TYPES.length + type.ordinal();
+    }
+
+    /**
+     * Gets the slot of a paper.
+     *
+     * @param paper the paper
+     * @return the slot, from 0 to SLOTS - 1
+     */
+    public static int slotOf(Paper paper) {
+        return slotOf(paper.getSize(), paper.getType());
+    }
+
+    /**
+     * Gets the price of one sheet of a paper.
+     *
+     * @param paper the paper
+     * @return the shop's price for the paper's size and type, or the paper's own price if the shop has none
+     */
+    @Override
+    public double getPrice(Paper paper) {
+        double price = prices[slotOf(paper)];
+        return Double.isNaN(price) ? paper.calculatePrice() : price;
+    }
+
+    /**
+     * Calculates the cost of sheets of one slot.
+     *
+     * @param slot       the slot of the sheets
+     * @param sheets     the number of sheets
+     * @param paperCosts the cost of the sheets at their papers' own prices
+     * @return the cost at the shop's price for the slot, or the given paper costs if the shop has no price
+     */
+    public double calculateCost(int slot, long sheets, double paperCosts) {
+        double price = prices[slot];
+        return Double.isNaN(price) ? paperCosts : sheets * price;
+    }
+
+    /**
+     * Checks that a price is not negative.
+     *
+     * @param price the price
+     * @return the price
+     * @throws IllegalArgumentException if the price is negative
+     */
+    private static double checkPrice(double price) {
+        if (price < 0) {
+            throw new IllegalArgumentException("Paper price must be non-negative.");
+        }
+        return price;
+    }
+}
@@ -1,5 +1,7 @@
 package org.project_printing_shop.printable_items;
 
+import org.project_printing_shop.interfaces.PriceProvider;
+
 /**
  * Class representing a poster in the printing shop.
  * Inherits from the Edition class and provides specific implementations for printing and calculating printing costs.
@@ -18,16 +20,6 @@ public class Poster extends Edition {
         super(title, numberOfPages, paper, unitPrice);
     }
 
-    /**
-     * Prints the poster and increments the printed copies count.
-     * Overrides the print method in the Edition class.
-     */
-    @Override
-    public void print() {
-        super.print();
-        System.out.println("Printing poster: " + title);
-    }
-
     /**
      * Calculates the printing costs for the poster.
      * Overrides the calculatePrintingCosts method in the Edition class.
@@ -36,7 +28,6 @@ public class Poster extends Edition {
      */
     @Override
     public double calculatePrintingCosts() {
-        double paperCost = paper.calculatePrice();
-        return paperCost * numberOfPages;
+        return calculatePrintingCosts(PriceProvider.PAPER_PRICES);
     }
 }
@@ -0,0 +1,107 @@
+package org.project_printing_shop.printable_items;
+
+import java.util.Arrays;
+
+/**
+ * Class representing tiered volume discounts on the copies of an edition.
+ * Each tier starts after a number of copies and applies a price multiplier to every copy beyond it,
+ * up to the start of the next tier. The number of full-price copies that the tiers below each threshold add up to
+ * is precomputed, so the income of any number of copies takes one binary search over the tiers.
+ * Tables are immutable and can be shared by any number of editions.
+ */
+public final class VolumeDiscountTable {
+    /** The standard discount: full price for the first 100 copies and 10% off every copy beyond them. */
+    public static final VolumeDiscountTable DEFAULT = new VolumeDiscountTable(new long[]{0, 100}, new double[]{1.0, 0.9});
+    /** No discount: every copy is sold at full price. */
+    public static final VolumeDiscountTable NONE = new VolumeDiscountTable(new long[]{0}, new double[]{1.0});
+
+    private final long[] thresholds;
+    private final double[] multipliers;
+    // Full-price equivalent of all copies up to each threshold
+    private final double[] prefixCopies;
+
+    /**
+     * Constructor for the VolumeDiscountTable class.
+     *
+     * @param thresholds  the number of copies after which each tier starts, starting at 0 and strictly increasing
+     * @param multipliers the price multiplier of each tier, for example 0.9 for 10% off
+     * @throws IllegalArgumentException if the tiers are empty, do not start at 0, are not increasing,
+     *                                  or a multiplier is negative
+     */
+    public VolumeDiscountTable(long[] thresholds, double[] multipliers) {
+        if (thresholds.length == 0 || thresholds.length != multipliers.length) {
+            throw new IllegalArgumentException("Every tier needs a threshold and a multiplier.");
+        }
+        if (thresholds[0] != 0) {
+            throw new IllegalArgumentException("The first tier must start at 0 copies.");
+        }
+        this.thresholds = thresholds.clone();
+        this.multipliers = multipliers.clone();
+        this.prefixCopies = new double[thresholds.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            if (multipliers[i] < 0) {
+                throw new IllegalArgumentException("Tier multipliers must be non-negative.");
+            }
+            if (i > 0) {
+                if (thresholds[i] <= thresholds[i - 1]) {
+                    throw new IllegalArgumentException("Tier thresholds must be strictly increasing.");
+                }
+                prefixCopies[i] = prefixCopies[i - 1] + (thresholds[i] - thresholds[i - 1]) * multipliers[i - 1];
+            }
+        }
+    }
+
+    /**
+     * Calculates the income from a number of copies.
+     *
+     * @param unitPrice the full price of one copy
+     * @param copies    the number of copies
+     * @return the income from the copies after the volume discounts
+     */
+    public double calculateIncome(double unitPrice, long copies) {
+        int tier = tierOf(copies);
+        return prefixCopies[tier] * unitPrice + (copies - thresholds[tier]) * unitPrice * multipliers[tier];
+    }
+
+    /**
+     * Finds the tier of the last of a number of copies, the highest tier whose threshold is below the number.
+     *
+     * @param copies the number of copies
+     * @return the index of the tier
+     */
+    private int tierOf(long copies) {
+        int low = 0;
+        int high = thresholds.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (thresholds[middle] < copies) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the number of tiers.
+     *
+     * @return the number of tiers
+     */
+    public int getTierCount() {
+        return thresholds.length;
+    }
+
+    /**
+     * Returns a string representation of the discount table.
+     *
+     * @return a string representation of the discount table
+     */
+    @Override
+    public String toString() {
+        return "VolumeDiscountTable{" +
+                "thresholds=" + Arrays.toString(thresholds) +
+                ", multipliers=" + Arrays.toString(multipliers) +
+                '}';
+    }
+}
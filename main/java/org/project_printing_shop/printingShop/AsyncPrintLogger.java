@@ -0,0 +1,156 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.interfaces.PrintListener;
+import org.project_printing_shop.printable_items.Edition;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class representing a print listener that logs print runs asynchronously.
+ * Events are handed over to a bounded queue and formatted and written in batches by a background thread,
+ * so the printing thread never formats strings or takes the lock of the underlying writer.
+ * When the queue is full, events are dropped and counted instead of blocking the printing thread.
+ * Events offered after the logger is closed, or left unwritten because the writer failed, are counted as dropped too,
+ * so a dropped count of 0 means every event was written.
+ */
+public class AsyncPrintLogger implements PrintListener, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private final BlockingQueue<PrintEvent> queue;
+    private final Writer writer;
+    private final Thread worker;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Constructor for an AsyncPrintLogger with the default queue capacity.
+     *
+     * @param writer the writer to log the print events to
+     */
+    public AsyncPrintLogger(Writer writer) {
+        this(writer, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for the AsyncPrintLogger class.
+     *
+     * @param writer   the writer to log the print events to
+     * @param capacity the maximum number of events waiting to be written
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public AsyncPrintLogger(Writer writer, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drainLoop, "async-print-logger");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues the print run to be logged by the background thread.
+     *
+     * @param machine      the machine that printed the edition
+     * @param edition      the printed edition
+     * @param copies       the number of copies printed in this run
+     * @param totalCopies  the total number of copies of the edition printed by the machine after this run
+     * @param printingTime the estimated printing time of this run in minutes
+     */
+    @Override
+    public void onEditionPrinted(PrintingMachine machine, Edition edition, int copies, int totalCopies, double printingTime) {
+        PrintEvent event = new PrintEvent(edition, copies, totalCopies, printingTime);
+        if (closed || !queue.offer(event)) {
+            droppedEvents.incrementAndGet();
+        } else if (closed && queue.remove(event)) {
+            // Closed while the event was being queued, and neither the worker nor close took it
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the number of events dropped because the queue was full, the logger was closed or the writer failed.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Stops accepting events, writes out the events already queued and flushes the writer.
+     * Events the background thread could not write are counted as dropped.
+     * The underlying writer is not closed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (queue.poll() != null) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * Takes events off the queue in batches and writes them until the logger is closed and the queue is empty.
+     */
+    private void drainLoop() {
+        List<PrintEvent> batch = new ArrayList<>();
+        StringBuilder sb = new StringBuilder(256);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                PrintEvent first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (PrintEvent event : batch) {
+                    sb.setLength(0);
+                    sb.append("Printed publication: ").append(event.edition.getTitle())
+                            .append(". Copies: ").append(event.copies)
+                            .append(". Total copies: ").append(event.totalCopies)
+                            .append(". Printing time: ").append(event.printingTime).append(" minutes")
+                            .append(System.lineSeparator());
+                    writer.append(sb);
+                }
+                batch.clear();
+                writer.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            droppedEvents.addAndGet(batch.size());
+            System.err.println("Failed to write print log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Class representing a queued print event.
+     */
+    private static final class PrintEvent {
+        private final Edition edition;
+        private final int copies;
+        private final int totalCopies;
+        private final double printingTime;
+
+        private PrintEvent(Edition edition, int copies, int totalCopies, double printingTime) {
+            this.edition = edition;
+            this.copies = copies;
+            this.totalCopies = totalCopies;
+            this.printingTime = printingTime;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.interfaces.PrintListener;
+import org.project_printing_shop.printable_items.Edition;
+
+import java.io.PrintStream;
+
+/**
+ * Class representing a print listener that reports every print run synchronously to a print stream.
+ * Useful for demos and debugging; for busy machines prefer the AsyncPrintLogger.
+ */
+public class ConsolePrintListener implements PrintListener {
+    private final PrintStream out;
+
+    /**
+     * Constructor for a ConsolePrintListener writing to the standard output.
+     */
+    public ConsolePrintListener() {
+        this(System.out);
+    }
+
+    /**
+     * Constructor for a ConsolePrintListener writing to the given stream.
+     *
+     * @param out the stream to write the print events to
+     */
+    public ConsolePrintListener(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the details of the completed print run to the stream.
+     *
+     * @param machine      the machine that printed the edition
+     * @param edition      the printed edition
+     * @param copies       the number of copies printed in this run
+     * @param totalCopies  the total number of copies of the edition printed by the machine after this run
+     * @param printingTime the estimated printing time of this run in minutes
+     */
+    @Override
+    public void onEditionPrinted(PrintingMachine machine, Edition edition, int copies, int totalCopies, double printingTime) {
+        out.printf("Printing will take approximately %.2f minutes.%n", printingTime);
+        out.println("Printing " + edition.getClass().getSimpleName().toLowerCase() + ": " + edition.getTitle()
+                + ". Copies in this run: " + copies);
+        out.println("Printed publication: " + edition.getTitle() + ". Total copies: " + totalCopies);
+    }
+}
@@ -0,0 +1,212 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.printable_items.Edition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class representing the registry of editions printed by a printing machine.
+ * Keeps the editions in the order they were first printed together with their copy counts,
+ * and gives constant time membership checks and copy count updates.
+ * Editions are keyed by their unique identifier, so an edition loaded from a file matches the one held in memory.
+ * The registry is safe for concurrent use; copy counts are striped counters, so threads printing
+ * the same edition do not contend on a single value.
+ */
+public class EditionRegistry {
+    private final Map<UUID, Entry> entries;
+    // Entries in the order their editions were first registered
+    private final Queue<Entry> order;
+
+    /**
+     * Constructor for an empty EditionRegistry.
+     */
+    public EditionRegistry() {
+        this.entries = new ConcurrentHashMap<>();
+        this.order = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Checks whether the edition has been registered.
+     *
+     * @param edition the edition to check
+     * @return true if the edition is in the registry, false otherwise
+     */
+    public boolean contains(Edition edition) {
+        return entries.containsKey(edition.getId());
+    }
+
+    /**
+     * Gets the number of copies registered for an edition.
+     *
+     * @param edition the edition
+     * @return the number of copies, or 0 if the edition is not in the registry
+     */
+    public int getCopies(Edition edition) {
+        return getCopies(edition.getId());
+    }
+
+    /**
+     * Gets the number of copies registered for an edition identifier.
+     *
+     * @param editionId the unique identifier of the edition
+     * @return the number of copies, or 0 if the edition is not in the registry
+     */
+    public int getCopies(UUID editionId) {
+        Entry entry = entries.get(editionId);
+        return entry == null ? 0 : entry.getCopies();
+    }
+
+    /**
+     * Gets the registered edition with the given identifier.
+     *
+     * @param editionId the unique identifier of the edition
+     * @return the registered edition, or null if it is not in the registry
+     */
+    public Edition getEdition(UUID editionId) {
+        Entry entry = entries.get(editionId);
+        return entry == null ? null : entry.edition;
+    }
+
+    /**
+     * Adds printed copies of an edition, registering the edition if it is new.
+     *
+     * @param edition the edition
+     * @param copies  the number of copies to add
+     * @return the total number of copies of the edition after the update
+     */
+    public int addCopies(Edition edition, int copies) {
+        Entry entry = entryFor(edition);
+        entry.copies.add(copies);
+        return entry.getCopies();
+    }
+
+    /**
+     * Sets the number of copies of an edition, registering the edition if it is new.
+     * Intended for restoring saved state; it is not atomic with respect to concurrent additions.
+     *
+     * @param edition the edition
+     * @param copies  the number of copies
+     */
+    public void setCopies(Edition edition, int copies) {
+        Entry entry = entryFor(edition);
+        entry.copies.reset();
+        entry.copies.add(copies);
+    }
+
+    /**
+     * Gets the entry of an edition, registering the edition if it is new.
+     *
+     * @param edition the edition
+     * @return the entry of the edition
+     */
+    private Entry entryFor(Edition edition) {
+        Entry entry = entries.get(edition.getId());
+        if (entry != null) {
+            return entry;
+        }
+        Entry created = new Entry(edition);
+        entry = entries.putIfAbsent(edition.getId(), created);
+        if (entry != null) {
+            return entry;
+        }
+        order.add(created);
+        return created;
+    }
+
+    /**
+     * Gets the number of registered editions.
+     *
+     * @return the number of editions
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the registry entries in the order the editions were first registered.
+     *
+     * @return an unmodifiable view of the entries
+     */
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(order);
+    }
+
+    /**
+     * Gets the registered editions in the order they were first registered.
+     *
+     * @return a new list of the editions
+     */
+    public List<Edition> getEditions() {
+        List<Edition> editions = new ArrayList<>(entries.size());
+        for (Entry entry : order) {
+            editions.add(entry.edition);
+        }
+        return editions;
+    }
+
+    /**
+     * Gets the copy counts of the registered editions in the order they were first registered.
+     *
+     * @return a new map of editions to copy counts
+     */
+    public Map<Edition, Integer> getCopiesByEdition() {
+        Map<Edition, Integer> copies = new LinkedHashMap<>();
+        for (Entry entry : order) {
+            copies.put(entry.edition, entry.getCopies());
+        }
+        return copies;
+    }
+
+    /**
+     * Gets the total number of pages printed for all registered editions.
+     *
+     * @return the total number of printed pages
+     */
+    public int getTotalPrintedPages() {
+        int total = 0;
+        for (Entry entry : order) {
+            total += entry.edition.getNumberOfPages() * entry.getCopies();
+        }
+        return total;
+    }
+
+    /**
+     * Class representing a single edition in the registry together with its copy count.
+     */
+    public static final class Entry {
+        private final Edition edition;
+        private final LongAdder copies = new LongAdder();
+
+        private Entry(Edition edition) {
+            this.edition = edition;
+        }
+
+        /**
+         * Gets the registered edition.
+         *
+         * @return the edition
+         */
+        public Edition getEdition() {
+            return edition;
+        }
+
+        /**
+         * Gets the number of copies of the edition.
+         *
+         * @return the number of copies
+         */
+        public int getCopies() {
+            return (int) copies.sum();
+        }
+    }
+}
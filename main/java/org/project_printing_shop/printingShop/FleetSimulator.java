@@ -0,0 +1,303 @@
+package org.project_printing_shop.printingShop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class simulating how the machines of a printing shop work through a stream of orders over time, for capacity planning.
+ * The simulator copies the speed, paper capacity and color support of the shop's machines when it is created and
+ * never prints on the real machines. Orders are dispatched first come, first served: a color order goes to the color
+ * machine that becomes free first, and a black and white order to whichever of the first free black and white machine
+ * and the first free color machine finishes it sooner. Every machine starts with a full tray and stops for the reload
+ * time whenever its paper runs out, and a run takes the same whole minutes as PrintingMachine.calculatePrintingTime.
+ * The free machines of each kind are kept in a heap ordered by the minute they become free, so dispatching an order
+ * takes logarithmic time and a month of orders for hundreds of machines is simulated in about a second.
+ * Machines without paper capacity or speed cannot print and are left out of the simulation.
+ */
+public class FleetSimulator {
+    private final int[] capacities;
+    private final int[] pagesPerMinute;
+    private final boolean[] colorSupport;
+    private final double reloadMinutes;
+
+    /**
+     * Constructor for the FleetSimulator class.
+     *
+     * @param shop          the shop whose machines are simulated
+     * @param reloadMinutes the time in minutes a machine stands idle while its paper is reloaded
+     * @throws IllegalArgumentException if the reload time is negative or not a number
+     */
+    public FleetSimulator(PrintingShop shop, double reloadMinutes) {
+        this(shop.getMachines(), reloadMinutes);
+    }
+
+    /**
+     * Constructor for a FleetSimulator of a planned fleet that does not belong to a shop.
+     *
+     * @param machines      the machines to simulate
+     * @param reloadMinutes the time in minutes a machine stands idle while its paper is reloaded
+     * @throws IllegalArgumentException if the reload time is negative or not a number
+     */
+    public FleetSimulator(List<PrintingMachine> machines, double reloadMinutes) {
+        if (!(reloadMinutes >= 0)) {
+            throw new IllegalArgumentException("The reload time cannot be negative.");
+        }
+        List<PrintingMachine> usable = new ArrayList<>(machines.size());
+        for (PrintingMachine machine : machines) {
+            if (machine.getMaxCapacity() > 0 && machine.getPagesPerMinute() > 0) {
+                usable.add(machine);
+            }
+        }
+        this.capacities = new int[usable.size()];
+        this.pagesPerMinute = new int[usable.size()];
+        this.colorSupport = new boolean[usable.size()];
+        for (int i = 0; i < usable.size(); i++) {
+            PrintingMachine machine = usable.get(i);
+            capacities[i] = machine.getMaxCapacity();
+            pagesPerMinute[i] = machine.getPagesPerMinute();
+            colorSupport[i] = machine.isColorSupport();
+        }
+        this.reloadMinutes = reloadMinutes;
+    }
+
+    /**
+     * Gets the number of machines in the simulated fleet.
+     *
+     * @return the number of machines
+     */
+    public int getMachineCount() {
+        return capacities.length;
+    }
+
+    /**
+     * Gets the time a machine stands idle while its paper is reloaded.
+     *
+     * @return the reload time in minutes
+     */
+    public double getReloadMinutes() {
+        return reloadMinutes;
+    }
+
+    /**
+     * Replays a stream of orders against the fleet.
+     * Orders that need color when the fleet has no color machine, or any order when the fleet is empty, are rejected.
+     *
+     * @param orders the orders to replay, in any order; they are dispatched in the order of their arrival
+     * @return the report of the simulation
+     */
+    public SimulationReport run(List<SimulatedOrder> orders) {
+        SimulatedOrder[] queue = orders.toArray(new SimulatedOrder[0]);
+        Arrays.sort(queue, Comparator.comparingDouble(SimulatedOrder::getArrivalMinute));
+
+        int machines = capacities.length;
+        double[] freeAt = new double[machines];
+        long[] paper = new long[machines];
+        double[] printingMinutes = new double[machines];
+        int[] reloads = new int[machines];
+        int[] jobs = new int[machines];
+        MachineHeap monoMachines = new MachineHeap(freeAt, machines);
+        MachineHeap colorMachines = new MachineHeap(freeAt, machines);
+        for (int m = 0; m < machines; m++) {
+            paper[m] = capacities[m];
+            (colorSupport[m] ? colorMachines : monoMachines).add(m);
+        }
+
+        double[] waits = new double[queue.length];
+        int completed = 0;
+        int rejected = 0;
+        long sheetsPrinted = 0;
+        double lastCompletion = 0;
+        for (SimulatedOrder order : queue) {
+            double arrival = order.getArrivalMinute();
+            long sheets = order.getSheets();
+            MachineHeap heap;
+            if (order.isColor() || monoMachines.size == 0) {
+                heap = colorMachines;
+            } else if (colorMachines.size == 0
+                    || finishTime(monoMachines.top(), arrival, sheets, freeAt, paper) <= finishTime(colorMachines.top(), arrival, sheets, freeAt, paper)) {
+                heap = monoMachines;
+            } else {
+                heap = colorMachines;
+            }
+            if (heap.size == 0) {
+                rejected++;
+                continue;
+            }
+
+            int m = heap.top();
+            double start = Math.max(arrival, freeAt[m]);
+            int stops = reloadsNeeded(m, sheets, paper);
+            double printing = Math.ceil((double) sheets / pagesPerMinute[m]);
+            paper[m] += (long) stops * capacities[m] - sheets;
+            freeAt[m] = start + stops * reloadMinutes + printing;
+            heap.siftDownTop();
+
+            printingMinutes[m] += printing;
+            reloads[m] += stops;
+            jobs[m]++;
+            waits[completed++] = start - arrival;
+            sheetsPrinted += sheets;
+            lastCompletion = Math.max(lastCompletion, freeAt[m]);
+        }
+
+        double[] sortedWaits = Arrays.copyOf(waits, completed);
+        Arrays.sort(sortedWaits);
+        return new SimulationReport(completed, rejected, sheetsPrinted, lastCompletion, sortedWaits,
+                printingMinutes, reloads, reloadMinutes, jobs);
+    }
+
+    /**
+     * Calculates when a machine would finish an order without assigning it.
+     *
+     * @param machine the machine
+     * @param arrival the arrival minute of the order
+     * @param sheets  the number of sheets of the order
+     * @param freeAt  the minute each machine becomes free
+     * @param paper   the paper left in each machine
+     * @return the minute the order would be finished
+     */
+    private double finishTime(int machine, double arrival, long sheets, double[] freeAt, long[] paper) {
+        return Math.max(arrival, freeAt[machine])
+                + reloadsNeeded(machine, sheets, paper) * reloadMinutes
+                + Math.ceil((double) sheets / pagesPerMinute[machine]);
+    }
+
+    /**
+     * Calculates how many times a machine has to be reloaded to print an order.
+     *
+     * @param machine the machine
+     * @param sheets  the number of sheets of the order
+     * @param paper   the paper left in each machine
+     * @return the number of reloads
+     */
+    private int reloadsNeeded(int machine, long sheets, long[] paper) {
+        long missing = sheets - paper[machine];
+        if (missing <= 0) {
+            return 0;
+        }
+        return (int) ((missing + capacities[machine] - 1) / capacities[machine]);
+    }
+
+    /**
+     * Generates a synthetic stream of orders arriving at random with a constant average rate.
+     * The time between two orders is exponentially distributed and the number of sheets is uniform,
+     * so the same seed always generates the same stream.
+     *
+     * @param seed            the seed of the random numbers
+     * @param count           the number of orders
+     * @param ordersPerMinute the average number of orders arriving per minute
+     * @param maxSheets       the largest number of sheets of an order
+     * @param colorShare      the share of color orders, from 0 to 1
+     * @return a new list of the orders, in the order of their arrival
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public static List<SimulatedOrder> generateOrders(long seed, int count, double ordersPerMinute, long maxSheets, double colorShare) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of orders cannot be negative.");
+        }
+        if (!(ordersPerMinute > 0)) {
+            throw new IllegalArgumentException("The order rate must be positive.");
+        }
+        if (maxSheets <= 0) {
+            throw new IllegalArgumentException("The number of sheets must be positive.");
+        }
+        if (!(colorShare >= 0 && colorShare <= 1)) {
+            throw new IllegalArgumentException("The color share must be between 0 and 1.");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        List<SimulatedOrder> orders = new ArrayList<>(count);
+        double minute = 0;
+        for (int i = 0; i < count; i++) {
+            minute += -Math.log(1 - random.nextDouble()) / ordersPerMinute;
+            orders.add(new SimulatedOrder(minute, 1 + random.nextLong(maxSheets), random.nextDouble() < colorShare));
+        }
+        return orders;
+    }
+
+    /**
+     * Class representing machines of one kind in a binary heap ordered by the minute they become free,
+     * ties broken by machine index. Only the top machine is ever given work, and work only makes it free
+     * later, so it is moved down after each assignment and never has to be removed.
+     */
+    private static final class MachineHeap {
+        private final double[] freeAt;
+        private final int[] machines;
+        private int size;
+
+        /**
+         * Constructor for an empty heap.
+         *
+         * @param freeAt   the minute each machine becomes free
+         * @param capacity the largest number of machines in the heap
+         */
+        MachineHeap(double[] freeAt, int capacity) {
+            this.freeAt = freeAt;
+            this.machines = new int[capacity];
+        }
+
+        /**
+         * Gets the machine that becomes free first.
+         *
+         * @return the index of the machine
+         */
+        int top() {
+            return machines[0];
+        }
+
+        /**
+         * Adds a machine to the heap.
+         *
+         * @param machine the index of the machine
+         */
+        void add(int machine) {
+            int position = size++;
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!before(machine, machines[parent])) {
+                    break;
+                }
+                machines[position] = machines[parent];
+                position = parent;
+            }
+            machines[position] = machine;
+        }
+
+        /**
+         * Moves the top machine down after it was given work and became free later.
+         */
+        void siftDownTop() {
+            int machine = machines[0];
+            int position = 0;
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(machines[child + 1], machines[child])) {
+                    child++;
+                }
+                if (!before(machines[child], machine)) {
+                    break;
+                }
+                machines[position] = machines[child];
+                position = child;
+            }
+            machines[position] = machine;
+        }
+
+        /**
+         * Checks whether one machine comes before another in the heap.
+         *
+         * @param a the index of the first machine
+         * @param b the index of the second machine
+         * @return true if the first machine becomes free earlier, or at the same minute with a lower index
+         */
+        private boolean before(int a, int b) {
+            int order = Double.compare(freeAt[a], freeAt[b]);
+            return order < 0 || (order == 0 && a < b);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.project_printing_shop.printingShop;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class representing a histogram of latencies in nanoseconds with power-of-two buckets.
+ * Bucket i counts the latencies from 2^(i-1) up to, but not including, 2^i nanoseconds, and bucket 0 counts zero latencies.
+ * Recording a latency is a few lock-free counter updates, so the histogram can be fed from the printing threads,
+ * and a snapshot can be taken at any time without stopping them.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+        buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(latency), BUCKETS - 1));
+        count.increment();
+        sum.add(latency);
+        max.accumulate(latency);
+    }
+
+    /**
+     * Takes a snapshot of the histogram. Latencies recorded while the snapshot is taken may or may not be included.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(counts, count.sum(), sum.sum(), max.get());
+    }
+
+    /**
+     * Class representing the state of a latency histogram at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * Gets the number of recorded latencies.
+         *
+         * @return the number of latencies
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the mean of the recorded latencies.
+         *
+         * @return the mean latency in nanoseconds, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Gets the highest recorded latency.
+         *
+         * @return the maximum latency in nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the number of latencies in each bucket.
+         *
+         * @return a copy of the bucket counts
+         */
+        public long[] getBucketCounts() {
+            return counts.clone();
+        }
+
+        /**
+         * Estimates a percentile of the recorded latencies as the upper bound of the bucket that holds it.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the estimated latency in nanoseconds, never more than the maximum, or 0 if nothing was recorded
+         * @throws IllegalArgumentException if the percentile is outside the range from 0 to 100
+         */
+        public long getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+            }
+            long total = 0;
+            for (long bucketCount : counts) {
+                total += bucketCount;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i == 0 ? 0 : Math.min(max, (1L << i) - 1);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.project_printing_shop.printingShop;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class representing the metrics of a printing shop and its machines at one point in time.
+ */
+public class MetricsSnapshot {
+    private final long timestamp;
+    private final List<MachineSnapshot> machines;
+    private final Map<String, Long> rejections;
+    private final LatencyHistogram.Snapshot jobLatency;
+
+    /**
+     * Constructor for the MetricsSnapshot class.
+     *
+     * @param timestamp  the value of System.nanoTime when the snapshot was taken
+     * @param machines   the snapshots of the machines
+     * @param rejections the rejected print runs of the shop and all its machines by exception name
+     * @param jobLatency the snapshot of the job latency histogram
+     */
+    public MetricsSnapshot(long timestamp, List<MachineSnapshot> machines, Map<String, Long> rejections,
+                           LatencyHistogram.Snapshot jobLatency) {
+        this.timestamp = timestamp;
+        this.machines = Collections.unmodifiableList(machines);
+        this.rejections = Collections.unmodifiableMap(rejections);
+        this.jobLatency = jobLatency;
+    }
+
+    /**
+     * Gets the time the snapshot was taken.
+     *
+     * @return the value of System.nanoTime when the snapshot was taken
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the snapshots of the machines, in the order they were added.
+     *
+     * @return an unmodifiable list of the machine snapshots
+     */
+    public List<MachineSnapshot> getMachines() {
+        return machines;
+    }
+
+    /**
+     * Gets the number of rejected print runs of the shop and all its machines by the simple name of the exception type.
+     *
+     * @return an unmodifiable map of rejection counts
+     */
+    public Map<String, Long> getRejections() {
+        return rejections;
+    }
+
+    /**
+     * Gets the number of rejected print runs for one exception type.
+     *
+     * @param type the exception type
+     * @return the number of rejections
+     */
+    public long getRejections(Class<? extends Exception> type) {
+        return rejections.getOrDefault(type.getSimpleName(), 0L);
+    }
+
+    /**
+     * Gets the latencies of the jobs routed by the shop's scheduler, from submission to the end of printing.
+     *
+     * @return the job latency histogram snapshot
+     */
+    public LatencyHistogram.Snapshot getJobLatency() {
+        return jobLatency;
+    }
+
+    /**
+     * Returns a string representation of the metrics snapshot.
+     *
+     * @return a string representation of the metrics snapshot
+     */
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{" +
+                "machines=" + machines +
+                ", rejections=" + rejections +
+                ", jobs=" + jobLatency.getCount() +
+                ", jobLatencyMeanNanos=" + jobLatency.getMean() +
+                ", jobLatencyP99Nanos=" + jobLatency.getPercentile(99) +
+                '}';
+    }
+
+    /**
+     * Class representing the metrics of one machine at one point in time.
+     */
+    public static final class MachineSnapshot {
+        private final PrintingMachine machine;
+        private final long pagesPrinted;
+        private final long copiesPrinted;
+        private final long printRuns;
+        private final long trackedSince;
+        private final long timestamp;
+        private final int paperLoad;
+        private final Map<String, Long> rejections;
+
+        /**
+         * Constructor for the MachineSnapshot class.
+         *
+         * @param machine        the machine
+         * @param pagesPrinted   the number of pages printed since the metrics started tracking the machine
+         * @param copiesPrinted  the number of copies printed since the metrics started tracking the machine
+         * @param printRuns      the number of completed print runs
+         * @param trackedSince   the value of System.nanoTime when the metrics started tracking the machine
+         * @param timestamp      the value of System.nanoTime when the snapshot was taken
+         * @param paperLoad      the paper load of the machine
+         * @param rejections     the rejected print runs of the machine by exception name
+         */
+        public MachineSnapshot(PrintingMachine machine, long pagesPrinted, long copiesPrinted, long printRuns,
+                               long trackedSince, long timestamp, int paperLoad, Map<String, Long> rejections) {
+            this.machine = machine;
+            this.pagesPrinted = pagesPrinted;
+            this.copiesPrinted = copiesPrinted;
+            this.printRuns = printRuns;
+            this.trackedSince = trackedSince;
+            this.timestamp = timestamp;
+            this.paperLoad = paperLoad;
+            this.rejections = Collections.unmodifiableMap(rejections);
+        }
+
+        /**
+         * Gets the machine.
+         *
+         * @return the machine
+         */
+        public PrintingMachine getMachine() {
+            return machine;
+        }
+
+        /**
+         * Gets the number of pages printed since the metrics started tracking the machine.
+         *
+         * @return the number of printed pages
+         */
+        public long getPagesPrinted() {
+            return pagesPrinted;
+        }
+
+        /**
+         * Gets the number of copies printed since the metrics started tracking the machine.
+         *
+         * @return the number of printed copies
+         */
+        public long getCopiesPrinted() {
+            return copiesPrinted;
+        }
+
+        /**
+         * Gets the number of completed print runs.
+         *
+         * @return the number of print runs
+         */
+        public long getPrintRuns() {
+            return printRuns;
+        }
+
+        /**
+         * Gets the number of pages printed per second between an earlier snapshot of the same machine and this one.
+         * The rate depends only on the two snapshots, so every consumer measures over its own interval.
+         *
+         * @param previous the earlier snapshot of the machine, or null to measure since the machine was first tracked
+         * @return the printing rate in pages per second, 0 if no time passed
+         * @throws IllegalArgumentException if the earlier snapshot belongs to another machine
+         */
+        public double getPagesPerSecond(MachineSnapshot previous) {
+            if (previous != null && previous.machine != machine) {
+                throw new IllegalArgumentException("The snapshots belong to different machines.");
+            }
+            long since = previous == null ? trackedSince : previous.timestamp;
+            long pagesBefore = previous == null ? 0 : previous.pagesPrinted;
+            double seconds = (timestamp - since) / 1e9;
+            return seconds > 0 ? (pagesPrinted - pagesBefore) / seconds : 0;
+        }
+
+        /**
+         * Gets the paper load of the machine when the snapshot was taken.
+         *
+         * @return the paper load
+         */
+        public int getPaperLoad() {
+            return paperLoad;
+        }
+
+        /**
+         * Gets the paper load as a fraction of the machine's maximum capacity.
+         *
+         * @return the paper utilization, from 0 to 1
+         */
+        public double getPaperUtilization() {
+            return machine.getMaxCapacity() == 0 ? 0 : (double) paperLoad / machine.getMaxCapacity();
+        }
+
+        /**
+         * Gets the number of rejected print runs of the machine by the simple name of the exception type.
+         *
+         * @return an unmodifiable map of rejection counts
+         */
+        public Map<String, Long> getRejections() {
+            return rejections;
+        }
+
+        /**
+         * Returns a string representation of the machine snapshot.
+         *
+         * @return a string representation of the machine snapshot
+         */
+        @Override
+        public String toString() {
+            return "MachineSnapshot{" +
+                    "pagesPrinted=" + pagesPrinted +
+                    ", copiesPrinted=" + copiesPrinted +
+                    ", printRuns=" + printRuns +
+                    ", pagesPerSecond=" + getPagesPerSecond(null) +
+                    ", paperUtilization=" + getPaperUtilization() +
+                    ", rejections=" + rejections +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.exceptions.UnsupportedColorException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class responsible for running large numbers of small customer orders against the machines of a printing shop.
+ * Every order runs as one lightweight task that prints its jobs in turn. On runtimes with virtual threads
+ * each task gets its own virtual thread, so tens of thousands of orders waiting on machines do not need
+ * tens of thousands of platform threads; older runtimes fall back to a fixed pool of platform threads.
+ * The number of jobs printing on one machine at the same time is bounded by a per-machine permit count.
+ * A failed job fails its order's future with the job's exception as the cause.
+ */
+public class OrderExecutor implements AutoCloseable {
+    private static final int FALLBACK_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 4);
+
+    private final PrintingShop shop;
+    private final int permitsPerMachine;
+    private final Map<PrintingMachine, Semaphore> machinePermits;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for the OrderExecutor class.
+     *
+     * @param shop              the printing shop whose machines print the orders
+     * @param permitsPerMachine the maximum number of jobs printing on one machine at the same time
+     * @throws IllegalArgumentException if the number of permits is not positive
+     */
+    public OrderExecutor(PrintingShop shop, int permitsPerMachine) {
+        if (permitsPerMachine <= 0) {
+            throw new IllegalArgumentException("Permits per machine must be positive.");
+        }
+        this.shop = shop;
+        this.permitsPerMachine = permitsPerMachine;
+        this.machinePermits = new ConcurrentHashMap<>();
+        this.executor = newTaskExecutor();
+    }
+
+    /**
+     * Submits an order for printing.
+     * The jobs of the order are printed one after another, each on the machine chosen by the shop's scheduler.
+     * If a job cannot be printed, the returned future fails and the remaining jobs of the order are not printed.
+     *
+     * @param order the order to print
+     * @return a future completed with the results of the order's jobs, in order
+     */
+    public CompletableFuture<List<PrintResult>> submit(PrintOrder order) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<PrintResult> results = new ArrayList<>(order.getJobs().size());
+            for (PrintJob job : order.getJobs()) {
+                results.add(print(job));
+            }
+            return results;
+        }, executor);
+    }
+
+    /**
+     * Stops accepting orders and waits for the orders already submitted to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting for the orders in flight
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prints a single job on the calling task, waiting for a permit of the chosen machine.
+     * The job is placed and printed through the shop's scheduler, so its rejection, latency and income
+     * are accounted for exactly like a job submitted to the shop.
+     *
+     * @param job the job to print
+     * @return the result of the print run
+     */
+    private PrintResult print(PrintJob job) {
+        PrintJobScheduler scheduler = shop.getScheduler();
+        long submitted = System.nanoTime();
+        PrintJobScheduler.Placement placement;
+        try {
+            placement = scheduler.place(job);
+        } catch (NoSuitableMachineException e) {
+            throw new CompletionException(e);
+        }
+        Semaphore permits = machinePermits.computeIfAbsent(placement.getMachine(), m -> new Semaphore(permitsPerMachine));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            scheduler.release(placement);
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        try {
+            return scheduler.print(placement, job, submitted);
+        } catch (UnsupportedColorException | NoSuitableMachineException e) {
+            throw new CompletionException(e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Creates the executor running the order tasks.
+     * Uses a virtual thread per task where the runtime supports it.
+     *
+     * @return the executor for the order tasks
+     */
+    private static ExecutorService newTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "order-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
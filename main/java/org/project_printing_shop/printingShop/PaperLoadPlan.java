@@ -0,0 +1,210 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.exceptions.UnsupportedColorException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing a plan made by a PaperLoadPlanner: the tray loads of one machine in the order they are printed.
+ * Before each load the paper needed by it is added to the machine; a load that needs no paper costs no stop.
+ */
+public class PaperLoadPlan {
+    private final PrintingMachine machine;
+    private final List<TrayLoad> loads;
+    private final double reloadMinutes;
+
+    /**
+     * Constructor for the PaperLoadPlan class.
+     *
+     * @param machine       the machine that prints the loads
+     * @param loads         the tray loads, in the order they are printed
+     * @param reloadMinutes the time in minutes the machine stands idle during a reload
+     */
+    PaperLoadPlan(PrintingMachine machine, List<TrayLoad> loads, double reloadMinutes) {
+        this.machine = machine;
+        this.loads = List.copyOf(loads);
+        this.reloadMinutes = reloadMinutes;
+    }
+
+    /**
+     * Gets the machine that prints the loads.
+     *
+     * @return the machine
+     */
+    public PrintingMachine getMachine() {
+        return machine;
+    }
+
+    /**
+     * Gets the tray loads of the plan.
+     *
+     * @return an unmodifiable list of the loads, in the order they are printed
+     */
+    public List<TrayLoad> getLoads() {
+        return loads;
+    }
+
+    /**
+     * Gets the number of times the machine stops to be loaded with paper.
+     *
+     * @return the number of reloads
+     */
+    public int getReloadCount() {
+        int count = 0;
+        for (TrayLoad load : loads) {
+            if (load.getSheetsToLoad() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the total number of sheets loaded into the machine over the plan.
+     *
+     * @return the number of sheets loaded
+     */
+    public long getSheetsToLoad() {
+        long sheets = 0;
+        for (TrayLoad load : loads) {
+            sheets += load.getSheetsToLoad();
+        }
+        return sheets;
+    }
+
+    /**
+     * Gets the time the machine stands idle while its paper is reloaded.
+     *
+     * @return the idle time in minutes
+     */
+    public double getIdleMinutes() {
+        return getReloadCount() * reloadMinutes;
+    }
+
+    /**
+     * Gets the estimated time the machine spends printing the plan.
+     *
+     * @return the printing time in minutes
+     */
+    public double getPrintingMinutes() {
+        double minutes = 0;
+        for (TrayLoad load : loads) {
+            for (PrintJob job : load.getJobs()) {
+                minutes += machine.calculatePrintingTime((int) job.getSheetsRequired());
+            }
+        }
+        return minutes;
+    }
+
+    /**
+     * Gets the estimated time from the start of the plan until its last copy is printed.
+     *
+     * @return the printing and idle time in minutes
+     */
+    public double getTotalMinutes() {
+        return getPrintingMinutes() + getIdleMinutes();
+    }
+
+    /**
+     * Prints the plan on its machine, load by load.
+     * Before each load the machine is topped up with the paper the load still needs,
+     * so paper added or used by others since planning is taken into account.
+     *
+     * @return the results of the print runs, in the order they were printed
+     * @throws UnsupportedColorException  if a run is in color but the machine does not support color printing
+     * @throws NoSuitableMachineException if the machine runs out of paper during a load
+     */
+    public List<PrintResult> execute() throws UnsupportedColorException, NoSuitableMachineException {
+        List<PrintResult> results = new ArrayList<>();
+        for (TrayLoad load : loads) {
+            int missing = load.getSheetsUsed() - machine.getCurrentPaperLoad();
+            if (missing > 0) {
+                machine.loadPaper(missing);
+            }
+            for (PrintJob job : load.getJobs()) {
+                results.add(machine.printEdition(job.getEdition(), job.isColor(), job.getCopies()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns a string representation of the plan.
+     *
+     * @return a string representation of the plan
+     */
+    @Override
+    public String toString() {
+        return "PaperLoadPlan{" +
+                "loads=" + loads.size() +
+                ", reloads=" + getReloadCount() +
+                ", idleMinutes=" + getIdleMinutes() +
+                ", printingMinutes=" + getPrintingMinutes() +
+                '}';
+    }
+
+    /**
+     * Class representing one tray load: the print runs printed from one filling of the paper tray.
+     */
+    public static final class TrayLoad {
+        private final List<PrintJob> jobs;
+        private final int sheetsToLoad;
+        private final int sheetsUsed;
+
+        /**
+         * Constructor for the TrayLoad class.
+         *
+         * @param jobs         the print runs of the load
+         * @param sheetsToLoad the number of sheets loaded before the load is printed
+         * @param sheetsUsed   the number of sheets the print runs use
+         */
+        TrayLoad(List<PrintJob> jobs, int sheetsToLoad, int sheetsUsed) {
+            this.jobs = List.copyOf(jobs);
+            this.sheetsToLoad = sheetsToLoad;
+            this.sheetsUsed = sheetsUsed;
+        }
+
+        /**
+         * Gets the print runs of the load. A job too large for one load appears in several loads with part of its copies.
+         *
+         * @return an unmodifiable list of the print runs
+         */
+        public List<PrintJob> getJobs() {
+            return jobs;
+        }
+
+        /**
+         * Gets the number of sheets loaded before the load is printed.
+         *
+         * @return the number of sheets, 0 if the paper already in the machine is enough
+         */
+        public int getSheetsToLoad() {
+            return sheetsToLoad;
+        }
+
+        /**
+         * Gets the number of sheets the print runs of the load use.
+         *
+         * @return the number of sheets
+         */
+        public int getSheetsUsed() {
+            return sheetsUsed;
+        }
+
+        /**
+         * Returns a string representation of the load.
+         *
+         * @return a string representation of the load
+         */
+        @Override
+        public String toString() {
+            return "TrayLoad{" +
+                    "jobs=" + jobs +
+                    ", sheetsToLoad=" + sheetsToLoad +
+                    ", sheetsUsed=" + sheetsUsed +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.exceptions.UnsupportedColorException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Class planning a day's print jobs for one machine so that the machine stops for paper as rarely as possible.
+ * The jobs are packed into tray loads of at most the machine's capacity, first fit decreasing: the largest jobs
+ * are placed first, each into the first load with enough free paper. A job that fits no load as a whole is split
+ * by copies over the loads with the most free paper, so the gaps left by large jobs are filled before a new load
+ * is started. The load that fits the paper already in the machine runs first, so it needs no stop at all.
+ * Every other load costs one paper reload, and the machine is idle for the planner's reload time during it.
+ */
+public class PaperLoadPlanner {
+    private final double reloadMinutes;
+
+    /**
+     * Constructor for the PaperLoadPlanner class.
+     *
+     * @param reloadMinutes the time in minutes a machine stands idle while its paper is reloaded
+     * @throws IllegalArgumentException if the reload time is negative or not a number
+     */
+    public PaperLoadPlanner(double reloadMinutes) {
+        if (!(reloadMinutes >= 0)) {
+            throw new IllegalArgumentException("The reload time cannot be negative.");
+        }
+        this.reloadMinutes = reloadMinutes;
+    }
+
+    /**
+     * Gets the time a machine stands idle while its paper is reloaded.
+     *
+     * @return the reload time in minutes
+     */
+    public double getReloadMinutes() {
+        return reloadMinutes;
+    }
+
+    /**
+     * Plans print jobs for a machine, starting from the paper currently in the machine.
+     *
+     * @param machine the machine that prints the jobs
+     * @param jobs    the jobs to print
+     * @return the plan of tray loads and reloads
+     * @throws UnsupportedColorException  if a job is in color but the machine does not support color printing
+     * @throws NoSuitableMachineException if a single copy of a job needs more paper than the machine holds
+     */
+    public PaperLoadPlan plan(PrintingMachine machine, List<PrintJob> jobs) throws UnsupportedColorException, NoSuitableMachineException {
+        int capacity = machine.getMaxCapacity();
+        for (PrintJob job : jobs) {
+            if (job.isColor() && !machine.isColorSupport()) {
+                throw new UnsupportedColorException("This machine does not support color printing.");
+            }
+            if (job.getEdition().getNumberOfPages() > capacity) {
+                throw new NoSuitableMachineException("A single copy of the publication does not fit the paper tray.");
+            }
+        }
+        List<PrintJob> sorted = new ArrayList<>(jobs);
+        sorted.sort(Comparator.comparingLong(PrintJob::getSheetsRequired).reversed());
+
+        List<Load> loads = new ArrayList<>();
+        for (PrintJob job : sorted) {
+            pack(job, capacity, loads);
+        }
+        return schedule(machine, loads);
+    }
+
+    /**
+     * Packs the copies of a job into the loads, starting new loads where needed.
+     *
+     * @param job      the job to pack
+     * @param capacity the paper capacity of a load
+     * @param loads    the loads packed so far
+     */
+    private static void pack(PrintJob job, int capacity, List<Load> loads) {
+        int pages = job.getEdition().getNumberOfPages();
+        if (pages == 0) {
+            // A job without sheets fits any load, so it joins the first one whole
+            if (loads.isEmpty()) {
+                loads.add(new Load(capacity));
+            }
+            loads.get(0).add(job, 0);
+            return;
+        }
+        int copies = job.getCopies();
+        while (copies > 0) {
+            long sheets = (long) pages * copies;
+            Load target = null;
+            for (Load load : loads) {
+                if (load.free >= sheets) {
+                    target = load;
+                    break;
+                }
+            }
+            if (target == null) {
+                for (Load load : loads) {
+                    if (load.free >= pages && (target == null || load.free > target.free)) {
+                        target = load;
+                    }
+                }
+            }
+            if (target == null) {
+                target = new Load(capacity);
+                loads.add(target);
+            }
+            int fitting = (int) Math.min(copies, target.free / pages);
+            target.add(fitting == job.getCopies() ? job : new PrintJob(job.getEdition(), fitting, job.isColor()), (long) pages * fitting);
+            copies -= fitting;
+        }
+    }
+
+    /**
+     * Orders the loads and works out how much paper each reload adds.
+     * The largest load that fits the paper already in the machine is moved to the front; the rest keep
+     * the order in which they were filled, and paper left over from one load is used by the next.
+     *
+     * @param machine the machine that prints the jobs
+     * @param loads   the packed loads
+     * @return the plan
+     */
+    private PaperLoadPlan schedule(PrintingMachine machine, List<Load> loads) {
+        long inTray = machine.getCurrentPaperLoad();
+        int first = -1;
+        for (int i = 0; i < loads.size(); i++) {
+            long used = loads.get(i).used;
+            if (used <= inTray && (first < 0 || used > loads.get(first).used)) {
+                first = i;
+            }
+        }
+        if (first > 0) {
+            loads.add(0, loads.remove(first));
+        }
+
+        List<PaperLoadPlan.TrayLoad> trayLoads = new ArrayList<>(loads.size());
+        for (Load load : loads) {
+            int sheetsToLoad = (int) Math.max(0, load.used - inTray);
+            trayLoads.add(new PaperLoadPlan.TrayLoad(load.jobs, sheetsToLoad, (int) load.used));
+            inTray += sheetsToLoad - load.used;
+        }
+        return new PaperLoadPlan(machine, trayLoads, reloadMinutes);
+    }
+
+    /**
+     * Class representing a tray load while it is being packed.
+     */
+    private static final class Load {
+        private final List<PrintJob> jobs = new ArrayList<>();
+        private long free;
+        private long used;
+
+        /**
+         * Constructor for an empty load.
+         *
+         * @param capacity the paper capacity of the load
+         */
+        Load(int capacity) {
+            this.free = capacity;
+        }
+
+        /**
+         * Adds a print run to the load.
+         *
+         * @param job    the print run
+         * @param sheets the number of sheets the run uses
+         */
+        void add(PrintJob job, long sheets) {
+            jobs.add(job);
+            free -= sheets;
+            used += sheets;
+        }
+    }
+}
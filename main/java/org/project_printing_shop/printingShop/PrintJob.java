@@ -0,0 +1,83 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.printable_items.Edition;
+
+/**
+ * Class representing a print job submitted to a printing shop.
+ * A job asks for a number of copies of one edition, in color or in black and white.
+ */
+public class PrintJob {
+    private final Edition edition;
+    private final int copies;
+    private final boolean color;
+
+    /**
+     * Constructor for the PrintJob class.
+     *
+     * @param edition the edition to print
+     * @param copies  the number of copies to print, must be positive
+     * @param color   whether the job must be printed in color
+     * @throws IllegalArgumentException if the edition is null or the number of copies is not positive
+     */
+    public PrintJob(Edition edition, int copies, boolean color) {
+        if (edition == null) {
+            throw new IllegalArgumentException("Edition must not be null.");
+        }
+        if (copies <= 0) {
+            throw new IllegalArgumentException("The number of copies must be positive.");
+        }
+        this.edition = edition;
+        this.copies = copies;
+        this.color = color;
+    }
+
+    /**
+     * Gets the edition to print.
+     *
+     * @return the edition
+     */
+    public Edition getEdition() {
+        return edition;
+    }
+
+    /**
+     * Gets the number of copies to print.
+     *
+     * @return the number of copies
+     */
+    public int getCopies() {
+        return copies;
+    }
+
+    /**
+     * Checks if the job must be printed in color.
+     *
+     * @return true if the job is a color job, false otherwise
+     */
+    public boolean isColor() {
+        return color;
+    }
+
+    /**
+     * Gets the number of sheets the job needs.
+     *
+     * @return the number of sheets required
+     */
+    public long getSheetsRequired() {
+        return (long) edition.getNumberOfPages() * copies;
+    }
+
+    /**
+     * Returns a string representation of the print job.
+     *
+     * @return a string representation of the print job
+     */
+    @Override
+    public String toString() {
+        return "PrintJob{" +
+                "edition=" + edition.getTitle() +
+                ", copies=" + copies +
+                ", color=" + color +
+                '}';
+    }
+}
@@ -0,0 +1,215 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.exceptions.UnsupportedColorException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class responsible for routing print jobs to the machines of a printing shop.
+ * Every machine has its own queue served by its own worker thread, so the machines of a shop print in parallel.
+ * A job goes to the machine that can print it (color support and paper on hand, net of the paper already
+ * promised to queued jobs) and is expected to finish it first given its queue and pages per minute.
+ * The latency of every job and every job no machine can take are recorded in the shop's metrics.
+ * The income of every printed job is credited to the shop's managers.
+ * Jobs placed by other entry points, such as an OrderExecutor, go through the same placing and printing steps,
+ * so they are accounted for in the same way.
+ */
+public class PrintJobScheduler {
+    private final PrintingShop shop;
+    private final Map<PrintingMachine, Lane> lanes;
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor for the PrintJobScheduler class.
+     *
+     * @param shop the printing shop whose machines the jobs are routed to
+     */
+    public PrintJobScheduler(PrintingShop shop) {
+        this.shop = shop;
+        this.lanes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Submits a print job to the most suitable machine of the shop.
+     * The paper needed by the job is promised to the chosen machine at once, so later jobs are routed around it.
+     *
+     * @param job the job to print
+     * @return a future completed with the result of the print run, or exceptionally if printing fails
+     * @throws NoSuitableMachineException if no machine of the shop can print the job
+     * @throws IllegalStateException      if the scheduler has been shut down
+     */
+    public CompletableFuture<PrintResult> submit(PrintJob job) throws NoSuitableMachineException {
+        if (shutdown) {
+            throw new IllegalStateException("The scheduler has been shut down.");
+        }
+        long submitted = System.nanoTime();
+        Placement placement = place(job);
+        CompletableFuture<PrintResult> result = new CompletableFuture<>();
+        try {
+            placement.lane.executor.execute(() -> run(placement, job, submitted, result));
+        } catch (RejectedExecutionException e) {
+            release(placement);
+            throw new IllegalStateException("The scheduler has been shut down.", e);
+        }
+        return result;
+    }
+
+    /**
+     * Stops the worker threads after the jobs already queued have been printed.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Lane lane : lanes.values()) {
+            lane.executor.shutdown();
+        }
+    }
+
+    /**
+     * Places a job on a machine, counting a job no machine can take as a rejection of the shop.
+     *
+     * @param job the job to place
+     * @return the placement of the job on the chosen machine
+     * @throws NoSuitableMachineException if no machine of the shop can print the job
+     */
+    Placement place(PrintJob job) throws NoSuitableMachineException {
+        try {
+            return reserve(job);
+        } catch (NoSuitableMachineException e) {
+            shop.getMetrics().recordRejection(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Chooses the machine for a job and promises it the paper the job needs.
+     *
+     * @param job the job to place
+     * @return the placement of the job on the chosen machine
+     * @throws NoSuitableMachineException if no machine of the shop can print the job
+     */
+    synchronized Placement reserve(PrintJob job) throws NoSuitableMachineException {
+        long sheets = job.getSheetsRequired();
+        Lane best = null;
+        double bestFinish = Double.MAX_VALUE;
+        for (PrintingMachine machine : shop.getMachines()) {
+            if (job.isColor() && !machine.isColorSupport()) {
+                continue;
+            }
+            Lane lane = lanes.computeIfAbsent(machine, Lane::new);
+            long pending = lane.pendingSheets.get();
+            if (machine.getCurrentPaperLoad() - pending < sheets) {
+                continue;
+            }
+            double finish = (double) (pending + sheets) / machine.getPagesPerMinute();
+            if (finish < bestFinish) {
+                best = lane;
+                bestFinish = finish;
+            }
+        }
+        if (best == null) {
+            throw new NoSuitableMachineException("No machine can print " + job + ".");
+        }
+        best.pendingSheets.addAndGet(sheets);
+        return new Placement(best, sheets);
+    }
+
+    /**
+     * Returns the paper promised to a job to the machine's pool once the job is printed or abandoned.
+     *
+     * @param placement the placement of the job
+     */
+    void release(Placement placement) {
+        placement.lane.pendingSheets.addAndGet(-placement.sheets);
+    }
+
+    /**
+     * Prints a placed job on its machine on the calling thread, releases the paper promised to it,
+     * records its latency and credits its income to the shop's managers.
+     *
+     * @param placement the placement of the job
+     * @param job       the job to print
+     * @param submitted the value of System.nanoTime when the job was submitted
+     * @return the result of the print run
+     * @throws UnsupportedColorException  if the machine does not support the job's color printing
+     * @throws NoSuitableMachineException if the machine has not enough paper for the job
+     */
+    PrintResult print(Placement placement, PrintJob job, long submitted) throws UnsupportedColorException, NoSuitableMachineException {
+        PrintResult printed;
+        try {
+            printed = placement.lane.machine.printEdition(job.getEdition(), job.isColor(), job.getCopies());
+        } finally {
+            // The machine has taken the paper, so the promise is released before anything else,
+            // otherwise jobs submitted meanwhile see the paper both taken and still promised
+            release(placement);
+        }
+        shop.getMetrics().recordJobLatency(System.nanoTime() - submitted);
+        shop.creditManagers(job.getEdition().calculateIncome(job.getCopies()));
+        return printed;
+    }
+
+    /**
+     * Prints a job on its machine and completes its future.
+     *
+     * @param placement the placement of the job
+     * @param job       the job to print
+     * @param submitted the value of System.nanoTime when the job was submitted
+     * @param result    the future to complete
+     */
+    private void run(Placement placement, PrintJob job, long submitted, CompletableFuture<PrintResult> result) {
+        try {
+            result.complete(print(placement, job, submitted));
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Class representing the queue and worker of one machine.
+     */
+    static final class Lane {
+        private final PrintingMachine machine;
+        private final ExecutorService executor;
+        // Sheets promised to jobs that are queued or printing on this machine
+        private final AtomicLong pendingSheets = new AtomicLong();
+
+        private Lane(PrintingMachine machine) {
+            this.machine = machine;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "print-lane-" + System.identityHashCode(machine));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Class representing a job placed on a machine together with the paper promised to it.
+     * The promise is fixed when the job is placed, so releasing it returns exactly the paper that was reserved,
+     * even if the number of pages of the job's edition changes meanwhile.
+     */
+    static final class Placement {
+        private final Lane lane;
+        private final long sheets;
+
+        private Placement(Lane lane, long sheets) {
+            this.lane = lane;
+            this.sheets = sheets;
+        }
+
+        /**
+         * Gets the machine the job was placed on.
+         *
+         * @return the machine
+         */
+        PrintingMachine getMachine() {
+            return lane.machine;
+        }
+    }
+}
@@ -0,0 +1,685 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.exceptions.UnsupportedColorException;
+import org.project_printing_shop.interfaces.PrintListener;
+import org.project_printing_shop.interfaces.ShopListener;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Class representing an append-only journal of the print runs and paper loads of a printing shop's machines.
+ * The journal sits next to a binary snapshot of the shop. Events are queued by the printing threads and
+ * appended by a background thread in batches, one buffered sequential write per batch (group commit),
+ * optionally forced to disk. Every batch is framed with its length and checksum, so a batch torn by a crash
+ * is recognised and ignored on recovery. An edition is written out in full the first time the journal sees it
+ * and referred to by its identifier afterwards.
+ * Compaction writes a new snapshot and starts an empty journal; the journal header holds the checksum of the
+ * snapshot it continues, so a crash halfway through compaction never replays events twice.
+ * The machines are written to the new snapshot as recovery would restore them from the committed journal,
+ * not as they are at that moment, so the machines can keep printing: an event is either committed before
+ * the compaction and part of the snapshot, or committed after it to the new journal.
+ * Machines are identified by their position in the shop; a machine added after the snapshot is journaled
+ * with its settings and its state at the time it was added.
+ */
+public class PrintJournal implements PrintListener, ShopListener, AutoCloseable {
+    private static final int MAGIC = 0x504A4E4C; // "PJNL"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 8;
+    private static final byte EDITION = 1;
+    private static final byte PRINT = 2;
+    private static final byte PAPER = 3;
+    private static final byte MACHINE = 4;
+
+    private final PrintingShop shop;
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final boolean forceOnCommit;
+    private final Map<PrintingMachine, Integer> machineIndexes;
+    private final BlockingQueue<Event> queue;
+    private final AtomicLong appendedEvents = new AtomicLong();
+    private final Thread worker;
+    // Guarded by this journal
+    private final Set<UUID> writtenEditions;
+    private final ByteArrayOutputStream buffer;
+    private final DataOutputStream out;
+    private FileChannel channel;
+    private long committedEvents;
+    private IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Constructor for the PrintJournal class. Use open to create a journal.
+     *
+     * @param shop          the shop whose machines are journaled
+     * @param snapshotPath  the path of the snapshot
+     * @param journalPath   the path of the journal
+     * @param forceOnCommit whether every batch is forced to the storage device
+     */
+    private PrintJournal(PrintingShop shop, Path snapshotPath, Path journalPath, boolean forceOnCommit) {
+        this.shop = shop;
+        this.snapshotPath = snapshotPath;
+        this.journalPath = journalPath;
+        this.forceOnCommit = forceOnCommit;
+        this.machineIndexes = new ConcurrentHashMap<>();
+        this.queue = new LinkedBlockingQueue<>();
+        this.writtenEditions = new HashSet<>();
+        this.buffer = new ByteArrayOutputStream(1 << 16);
+        this.out = new DataOutputStream(buffer);
+        this.worker = new Thread(this::commitLoop, "print-journal");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Starts journaling a shop. The machines are held still while the journal starts listening to them and
+     * their state is copied for the snapshot, so every change is either in the snapshot or journaled, never both.
+     * The journal starts empty.
+     *
+     * @param shop          the shop whose machines are journaled
+     * @param snapshotFile  the name of the snapshot file
+     * @param journalFile   the name of the journal file
+     * @param forceOnCommit whether every batch is forced to the storage device before it counts as committed
+     * @return the journal, listening to the shop and its machines
+     * @throws IOException if the snapshot or the journal cannot be written
+     */
+    public static PrintJournal open(PrintingShop shop, String snapshotFile, String journalFile, boolean forceOnCommit) throws IOException {
+        PrintJournal journal = new PrintJournal(shop, Paths.get(snapshotFile), Paths.get(journalFile), forceOnCommit);
+        List<PrintingMachine> machines = new ArrayList<>(shop.getMachines());
+        try {
+            List<PrintingMachine> copies = PrintingMachine.whileUnchanged(machines, () -> {
+                journal.attachMachines(machines, false);
+                return copyMachines(machines, Map.of());
+            });
+            synchronized (journal) {
+                journal.startJournal(copies);
+            }
+            shop.addShopListener(journal);
+            // Machines added while the snapshot was written are journaled as added ones
+            journal.onShopChanged(shop);
+        } catch (IOException | RuntimeException e) {
+            journal.closed = true;
+            journal.detach();
+            throw e;
+        }
+        journal.worker.start();
+        return journal;
+    }
+
+    /**
+     * Restores a shop from its last snapshot and replays the journal written since.
+     * Replayed print runs go through the machines, so the shop's totals include them.
+     * Events after a torn or corrupt batch are ignored.
+     *
+     * @param snapshotFile the name of the snapshot file
+     * @param journalFile  the name of the journal file
+     * @return the restored shop
+     * @throws IOException              if the snapshot cannot be read
+     * @throws IllegalArgumentException if the snapshot is not valid
+     */
+    public static PrintingShop recover(String snapshotFile, String journalFile) throws IOException {
+        Path snapshotPath = Paths.get(snapshotFile);
+        PrintingShop shop = PrintingShopFileHandlerBinary.loadPrintingShopFromSnapshot(snapshotFile);
+        Path journalPath = Paths.get(journalFile);
+        if (!Files.exists(journalPath)) {
+            return shop;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(journalPath));
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC || in.getShort() != VERSION
+                || in.getLong() != checksum(snapshotPath)) {
+            // Not a journal of this snapshot, for example left over from a compaction that did not finish
+            return shop;
+        }
+        Map<UUID, Edition> editions = new HashMap<>();
+        for (PrintingMachine machine : shop.getMachines()) {
+            for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+                editions.put(entry.getEdition().getId(), entry.getEdition());
+            }
+        }
+        CRC32 crc = new CRC32();
+        while (in.remaining() >= 8) {
+            int length = in.getInt();
+            int expected = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                break;
+            }
+            ByteBuffer batch = in.slice();
+            batch.limit(length);
+            crc.reset();
+            crc.update(batch.duplicate());
+            if ((int) crc.getValue() != expected) {
+                break;
+            }
+            replayBatch(shop, editions, batch);
+            in.position(in.position() + length);
+        }
+        return shop;
+    }
+
+    /**
+     * Applies the events of one committed batch to a shop.
+     *
+     * @param shop     the shop to apply the events to
+     * @param editions the editions known so far, by their identifier
+     * @param batch    the batch of events
+     */
+    private static void replayBatch(PrintingShop shop, Map<UUID, Edition> editions, ByteBuffer batch) {
+        PaperSize[] sizes = PaperSize.values();
+        PaperType[] types = PaperType.values();
+        while (batch.hasRemaining()) {
+            byte kind = batch.get();
+            if (kind == EDITION) {
+                UUID id = new UUID(batch.getLong(), batch.getLong());
+                String type = readString(batch);
+                String title = readString(batch);
+                int numberOfPages = batch.getInt();
+                Paper paper = new Paper(sizes[batch.get()], types[batch.get()], batch.getDouble());
+                double unitPrice = batch.getDouble();
+                if (!editions.containsKey(id)) {
+                    Edition edition = PrintingShopFileHandlerRead.createEdition(type, title, numberOfPages, paper, unitPrice);
+                    edition.setId(id);
+                    editions.put(id, edition);
+                }
+            } else if (kind == PRINT) {
+                PrintingMachine machine = shop.getMachines().get(batch.getInt());
+                Edition edition = editions.get(new UUID(batch.getLong(), batch.getLong()));
+                int copies = batch.getInt();
+                if (edition == null) {
+                    throw new IllegalArgumentException("Journal refers to an unknown edition.");
+                }
+                replayPrint(machine, edition, copies);
+            } else if (kind == PAPER) {
+                PrintingMachine machine = shop.getMachines().get(batch.getInt());
+                machine.setCurrentPaperLoad(machine.getCurrentPaperLoad() + batch.getInt());
+            } else if (kind == MACHINE) {
+                if (batch.getInt() != shop.getMachines().size()) {
+                    throw new IllegalArgumentException("Journal adds machines out of order.");
+                }
+                PrintingMachine machine = new PrintingMachine(batch.getInt(), batch.getInt(), batch.get() != 0);
+                machine.setCurrentPaperLoad(batch.getInt());
+                int references = batch.getInt();
+                for (int r = 0; r < references; r++) {
+                    Edition edition = editions.get(new UUID(batch.getLong(), batch.getLong()));
+                    if (edition == null) {
+                        throw new IllegalArgumentException("Journal refers to an unknown edition.");
+                    }
+                    machine.getEditionRegistry().setCopies(edition, batch.getInt());
+                }
+                shop.addMachine(machine);
+            } else {
+                throw new IllegalArgumentException("Unknown journal event: " + kind);
+            }
+        }
+    }
+
+    /**
+     * Replays a print run through the machine, so its registry, the edition and the shop's totals are updated.
+     * Paper is settled separately, because events of different threads may be journaled in a different order
+     * than the machine saw them; the changes of the paper load add up to the same value in any order.
+     *
+     * @param machine the machine that printed the edition
+     * @param edition the printed edition
+     * @param copies  the number of copies printed
+     */
+    private static void replayPrint(PrintingMachine machine, Edition edition, int copies) {
+        int paperLoad = machine.getCurrentPaperLoad();
+        int sheets = edition.getNumberOfPages() * copies;
+        machine.setCurrentPaperLoad(sheets);
+        try {
+            machine.printEdition(edition, false, copies);
+        } catch (UnsupportedColorException | NoSuitableMachineException e) {
+            throw new IllegalStateException("Cannot replay a print run.", e);
+        } finally {
+            machine.setCurrentPaperLoad(paperLoad - sheets);
+        }
+    }
+
+    /**
+     * Queues a print run to be appended to the journal.
+     *
+     * @param machine      the machine that printed the edition
+     * @param edition      the printed edition
+     * @param copies       the number of copies printed in this run
+     * @param totalCopies  the total number of copies of the edition printed by the machine after this run
+     * @param printingTime the estimated printing time of this run in minutes
+     */
+    @Override
+    public void onEditionPrinted(PrintingMachine machine, Edition edition, int copies, int totalCopies, double printingTime) {
+        Integer index = machineIndexes.get(machine);
+        if (index != null) {
+            append(new Event(PRINT, index, edition, copies, null));
+        }
+    }
+
+    /**
+     * Queues a change of a machine's paper load to be appended to the journal.
+     *
+     * @param machine          the machine whose paper load changed
+     * @param sheets           the change of the paper load
+     * @param currentPaperLoad the paper load after the change
+     */
+    @Override
+    public void onPaperLoaded(PrintingMachine machine, int sheets, int currentPaperLoad) {
+        Integer index = machineIndexes.get(machine);
+        if (index != null) {
+            append(new Event(PAPER, index, null, sheets, null));
+        }
+    }
+
+    /**
+     * Starts journaling machines added to the shop since the journal was opened.
+     *
+     * @param shop the changed shop
+     */
+    @Override
+    public void onShopChanged(PrintingShop shop) {
+        if (shop.getMachines().size() != machineIndexes.size()) {
+            attachMachines(shop.getMachines(), true);
+        }
+    }
+
+    /**
+     * Waits until every event queued so far has been committed to the journal.
+     *
+     * @throws IOException if the journal could not be written
+     */
+    public void flush() throws IOException {
+        long target = appendedEvents.get();
+        synchronized (this) {
+            while (committedEvents < target && failure == null && worker.isAlive()) {
+                try {
+                    wait(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while flushing the journal.", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Writes a new snapshot holding the events journaled so far and the current edition definitions,
+     * and starts an empty journal.
+     * Events queued before the call are committed first. The machines may keep printing meanwhile;
+     * their events go to the new journal. Call it periodically, for example when the journal has grown large.
+     *
+     * @throws IOException if the snapshot or the journal cannot be written or read back
+     */
+    public void compact() throws IOException {
+        flush();
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+            // The commit lock is held, so the replayed journal is exactly what is committed and the rest goes to the new one
+            PrintingShop committed = recover(snapshotPath.toString(), journalPath.toString());
+            // Edition changes are not journaled, so the editions are written as they are defined now
+            Map<UUID, Edition> definitions = new HashMap<>();
+            for (PrintingMachine machine : shop.getMachines()) {
+                for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+                    definitions.putIfAbsent(entry.getEdition().getId(), entry.getEdition());
+                }
+            }
+            startJournal(copyMachines(committed.getMachines(), definitions));
+        }
+    }
+
+    /**
+     * Writes the shop with the given machines to a new snapshot and replaces the journal with an empty one
+     * continuing it. Must be called while holding the commit lock.
+     *
+     * @param machines the machines to write to the snapshot, in the order of the shop
+     * @throws IOException if the snapshot or the journal cannot be written
+     */
+    private void startJournal(List<PrintingMachine> machines) throws IOException {
+        Path snapshotTemp = Paths.get(snapshotPath + ".tmp");
+        Path journalTemp = Paths.get(journalPath + ".tmp");
+        PrintingShopFileHandlerBinary.savePrintingShopToSnapshot(shop, machines, snapshotTemp.toString(), false);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putLong(checksum(snapshotTemp)).flip();
+        try (FileChannel created = FileChannel.open(journalTemp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            created.write(header);
+            created.force(true);
+        }
+        // The old journal does not match the new snapshot, so a crash between the two moves loses nothing
+        Files.move(snapshotTemp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (channel != null) {
+            channel.close();
+        }
+        Files.move(journalTemp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writtenEditions.clear();
+    }
+
+    /**
+     * Gets the current size of the journal file.
+     *
+     * @return the size of the journal in bytes
+     * @throws IOException if the size cannot be read
+     */
+    public synchronized long getJournalSize() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Stops journaling, commits the events already queued and closes the journal file.
+     *
+     * @throws IOException if the journal could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        detach();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            channel.close();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the shop and its machines.
+     */
+    private void detach() {
+        shop.removeShopListener(this);
+        for (PrintingMachine machine : machineIndexes.keySet()) {
+            machine.removePrintListener(this);
+        }
+    }
+
+    /**
+     * Copies machines with their paper load and copy counts. The editions are copied with their printed copies,
+     * so the copies hold still while the originals keep printing.
+     *
+     * @param machines    the machines to copy
+     * @param definitions editions whose title, pages, paper and price replace those of the copied editions with
+     *                    the same identifier
+     * @return the copies, in the same order
+     */
+    private static List<PrintingMachine> copyMachines(List<PrintingMachine> machines, Map<UUID, Edition> definitions) {
+        Map<UUID, Edition> editions = new HashMap<>();
+        List<PrintingMachine> copies = new ArrayList<>(machines.size());
+        for (PrintingMachine machine : machines) {
+            PrintingMachine copy = new PrintingMachine(machine.getMaxCapacity(), machine.getPagesPerMinute(), machine.isColorSupport());
+            copy.setCurrentPaperLoad(machine.getCurrentPaperLoad());
+            for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+                Edition edition = editions.computeIfAbsent(entry.getEdition().getId(),
+                        id -> copyEdition(definitions.getOrDefault(id, entry.getEdition()), entry.getEdition().getPrintedCopies()));
+                copy.getEditionRegistry().setCopies(edition, entry.getCopies());
+            }
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    /**
+     * Copies the definition of an edition, keeping its identifier.
+     *
+     * @param edition       the edition to copy
+     * @param printedCopies the number of printed copies of the copy
+     * @return the copy
+     */
+    private static Edition copyEdition(Edition edition, int printedCopies) {
+        Edition copy = PrintingShopFileHandlerRead.createEdition(edition.getClass().getSimpleName(), edition.getTitle(),
+                edition.getNumberOfPages(), edition.getPaper(), edition.getUnitPrice());
+        copy.setId(edition.getId());
+        copy.setPrintedCopies(printedCopies);
+        return copy;
+    }
+
+    /**
+     * Starts listening to the given machines of the shop that are not journaled yet.
+     *
+     * @param machines the machines of the shop, in their order in the shop
+     * @param added    whether the machines were added after the snapshot and have to be journaled themselves
+     */
+    private synchronized void attachMachines(List<PrintingMachine> machines, boolean added) {
+        for (int i = machineIndexes.size(); i < machines.size(); i++) {
+            PrintingMachine machine = machines.get(i);
+            machineIndexes.put(machine, i);
+            if (added) {
+                append(new Event(MACHINE, i, null, 0, new AddedMachine(machine)));
+            }
+            machine.addPrintListener(this);
+        }
+    }
+
+    /**
+     * Queues an event for the next batch.
+     *
+     * @param event the event
+     */
+    private void append(Event event) {
+        if (closed) {
+            return;
+        }
+        appendedEvents.incrementAndGet();
+        queue.add(event);
+    }
+
+    /**
+     * Takes events off the queue in batches and commits them until the journal is closed and the queue is empty.
+     */
+    private void commitLoop() {
+        List<Event> batch = new ArrayList<>();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Event first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Encodes a batch of events and appends it to the journal with a single write.
+     *
+     * @param batch the events to commit
+     * @throws IOException if the journal cannot be written
+     */
+    private synchronized void commit(List<Event> batch) throws IOException {
+        buffer.reset();
+        out.writeLong(0); // Room for the length and the checksum of the batch
+        for (Event event : batch) {
+            if (event.kind == MACHINE) {
+                writeMachine(event.machine, event.added);
+                continue;
+            }
+            if (event.kind == PRINT && writtenEditions.add(event.edition.getId())) {
+                writeEdition(event.edition);
+            }
+            out.writeByte(event.kind);
+            out.writeInt(event.machine);
+            if (event.kind == PRINT) {
+                out.writeLong(event.edition.getId().getMostSignificantBits());
+                out.writeLong(event.edition.getId().getLeastSignificantBits());
+            }
+            out.writeInt(event.value);
+        }
+        ByteBuffer frame = ByteBuffer.wrap(buffer.toByteArray());
+        int length = frame.remaining() - 8;
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), 8, length);
+        frame.putInt(0, length).putInt(4, (int) crc.getValue());
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        if (forceOnCommit) {
+            channel.force(false);
+        }
+        committedEvents += batch.size();
+        notifyAll();
+    }
+
+    /**
+     * Writes a machine added after the snapshot, preceded by the editions it printed before.
+     *
+     * @param index the position of the machine in the shop
+     * @param added the machine and its state when it was added
+     * @throws IOException if the machine cannot be encoded
+     */
+    private void writeMachine(int index, AddedMachine added) throws IOException {
+        for (Edition edition : added.editions) {
+            if (writtenEditions.add(edition.getId())) {
+                writeEdition(edition);
+            }
+        }
+        out.writeByte(MACHINE);
+        out.writeInt(index);
+        out.writeInt(added.machine.getMaxCapacity());
+        out.writeInt(added.machine.getPagesPerMinute());
+        out.writeBoolean(added.machine.isColorSupport());
+        out.writeInt(added.paperLoad);
+        out.writeInt(added.editions.size());
+        for (int i = 0; i < added.editions.size(); i++) {
+            out.writeLong(added.editions.get(i).getId().getMostSignificantBits());
+            out.writeLong(added.editions.get(i).getId().getLeastSignificantBits());
+            out.writeInt(added.copies[i]);
+        }
+    }
+
+    /**
+     * Writes the full definition of an edition.
+     *
+     * @param edition the edition
+     * @throws IOException if the edition cannot be encoded
+     */
+    private void writeEdition(Edition edition) throws IOException {
+        out.writeByte(EDITION);
+        out.writeLong(edition.getId().getMostSignificantBits());
+        out.writeLong(edition.getId().getLeastSignificantBits());
+        writeString(edition.getClass().getSimpleName());
+        writeString(edition.getTitle());
+        out.writeInt(edition.getNumberOfPages());
+        out.writeByte(edition.getPaper().getSize().ordinal());
+        out.writeByte(edition.getPaper().getType().ordinal());
+        out.writeDouble(edition.getPaper().getBasePrice());
+        out.writeDouble(edition.getUnitPrice());
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes.
+     *
+     * @param value the string
+     * @throws IOException if the string cannot be encoded
+     */
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written as its UTF-8 length and bytes.
+     *
+     * @param in the buffer to read from
+     * @return the string
+     */
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Calculates the checksum of a snapshot file.
+     *
+     * @param snapshot the path of the snapshot
+     * @return the checksum
+     * @throws IOException if the snapshot cannot be read
+     */
+    private static long checksum(Path snapshot) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(snapshot));
+        return crc.getValue();
+    }
+
+    /**
+     * Class representing a queued journal event.
+     */
+    private static final class Event {
+        private final byte kind;
+        private final int machine;
+        private final Edition edition;
+        private final int value;
+        private final AddedMachine added;
+
+        private Event(byte kind, int machine, Edition edition, int value, AddedMachine added) {
+            this.kind = kind;
+            this.machine = machine;
+            this.edition = edition;
+            this.value = value;
+            this.added = added;
+        }
+    }
+
+    /**
+     * Class representing a machine added after the snapshot together with its state when it was added.
+     */
+    private static final class AddedMachine {
+        private final PrintingMachine machine;
+        private final int paperLoad;
+        private final List<Edition> editions;
+        private final int[] copies;
+
+        private AddedMachine(PrintingMachine machine) {
+            this.machine = machine;
+            this.paperLoad = machine.getCurrentPaperLoad();
+            List<EditionRegistry.Entry> entries = new ArrayList<>(machine.getEditionRegistry().entries());
+            this.editions = new ArrayList<>(entries.size());
+            this.copies = new int[entries.size()];
+            for (int i = 0; i < copies.length; i++) {
+                editions.add(entries.get(i).getEdition());
+                copies[i] = entries.get(i).getCopies();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.project_printing_shop.printingShop;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class representing a customer order made of one or more print jobs.
+ */
+public class PrintOrder {
+    private final List<PrintJob> jobs;
+
+    /**
+     * Constructor for the PrintOrder class.
+     *
+     * @param jobs the print jobs of the order, must not be empty
+     * @throws IllegalArgumentException if the order has no jobs
+     */
+    public PrintOrder(List<PrintJob> jobs) {
+        if (jobs == null || jobs.isEmpty()) {
+            throw new IllegalArgumentException("An order must contain at least one print job.");
+        }
+        this.jobs = List.copyOf(jobs);
+    }
+
+    /**
+     * Constructor for a PrintOrder with a single print job.
+     *
+     * @param job the print job of the order
+     */
+    public PrintOrder(PrintJob job) {
+        this(Collections.singletonList(job));
+    }
+
+    /**
+     * Gets the print jobs of the order.
+     *
+     * @return an unmodifiable list of the print jobs
+     */
+    public List<PrintJob> getJobs() {
+        return jobs;
+    }
+
+    /**
+     * Returns a string representation of the order.
+     *
+     * @return a string representation of the order
+     */
+    @Override
+    public String toString() {
+        return "PrintOrder{" +
+                "jobs=" + jobs +
+                '}';
+    }
+}
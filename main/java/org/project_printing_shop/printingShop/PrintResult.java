@@ -0,0 +1,93 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.printable_items.Edition;
+
+/**
+ * Class representing the outcome of a single print run on a printing machine.
+ * A print run may cover any number of copies of one edition and is validated and accounted for as a whole.
+ */
+public class PrintResult {
+    private final Edition edition;
+    private final int copies;
+    private final int sheetsUsed;
+    private final double printingTime;
+    private final int totalCopies;
+
+    /**
+     * Constructor for the PrintResult class.
+     *
+     * @param edition      the edition that was printed
+     * @param copies       the number of copies printed in this run
+     * @param sheetsUsed   the number of sheets consumed by this run
+     * @param printingTime the estimated printing time of this run in minutes
+     * @param totalCopies  the total number of copies of the edition printed by the machine after this run
+     */
+    public PrintResult(Edition edition, int copies, int sheetsUsed, double printingTime, int totalCopies) {
+        this.edition = edition;
+        this.copies = copies;
+        this.sheetsUsed = sheetsUsed;
+        this.printingTime = printingTime;
+        this.totalCopies = totalCopies;
+    }
+
+    /**
+     * Gets the edition that was printed.
+     *
+     * @return the printed edition
+     */
+    public Edition getEdition() {
+        return edition;
+    }
+
+    /**
+     * Gets the number of copies printed in this run.
+     *
+     * @return the number of copies
+     */
+    public int getCopies() {
+        return copies;
+    }
+
+    /**
+     * Gets the number of sheets consumed by this run.
+     *
+     * @return the number of sheets used
+     */
+    public int getSheetsUsed() {
+        return sheetsUsed;
+    }
+
+    /**
+     * Gets the estimated printing time of this run.
+     *
+     * @return the printing time in minutes
+     */
+    public double getPrintingTime() {
+        return printingTime;
+    }
+
+    /**
+     * Gets the total number of copies of the edition printed by the machine after this run.
+     *
+     * @return the total number of copies
+     */
+    public int getTotalCopies() {
+        return totalCopies;
+    }
+
+    /**
+     * Returns a string representation of the print result.
+     *
+     * @return a string representation of the print result
+     */
+    @Override
+    public String toString() {
+        return "PrintResult{" +
+                "edition=" + edition.getTitle() +
+                ", copies=" + copies +
+                ", sheetsUsed=" + sheetsUsed +
+                ", printingTime=" + printingTime +
+                ", totalCopies=" + totalCopies +
+                '}';
+    }
+}
@@ -2,24 +2,40 @@ package org.project_printing_shop.printingShop;
 
 import org.project_printing_shop.exceptions.NoSuitableMachineException;
 import org.project_printing_shop.exceptions.UnsupportedColorException;
+import org.project_printing_shop.interfaces.PrintListener;
 import org.project_printing_shop.printable_items.Edition;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 /**
  * Class representing a printing machine in the printing shop.
  * This class provides functionality for loading paper, printing editions, and calculating printing time.
+ * A machine can be used by several threads at once: paper is reserved with an atomic compare-and-set
+ * and the copy counts are kept in striped counters, so printing threads never wait for each other.
+ * Each change only holds the machine's state lock shared until its listeners are notified; the lock is held
+ * exclusively while a consistent copy of the machine is taken, for example by a journal.
+ * A machine is marked dirty whenever its paper load or copy counts change, so incremental saves
+ * only write the machines changed since the last save.
  */
 public class PrintingMachine {
+    private static final PrintListener[] NO_LISTENERS = new PrintListener[0];
+
     protected int maxCapacity;
     protected int pagesPerMinute;
     protected boolean colorSupport;
-    protected List<Edition> printedEditions;
-    protected Map<Edition, Integer> editionCopies;
-    private int currentPaperLoad;
+    protected EditionRegistry editionRegistry;
+    private final AtomicInteger currentPaperLoad;
+    private volatile PrintListener[] listeners = NO_LISTENERS;
+    // Held shared from a change of the paper load or copy counts until its listeners are notified
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    // Whether the machine changed since it was last saved; new machines have never been saved
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
 
     /**
      * Constructor for the PrintingMachine class.
@@ -32,9 +48,8 @@ public class PrintingMachine {
         this.maxCapacity = maxCapacity;
         this.pagesPerMinute = pagesPerMinute;
         this.colorSupport = colorSupport;
-        this.printedEditions = new ArrayList<>();
-        this.editionCopies = new HashMap<>();
-        this.currentPaperLoad = 0;
+        this.editionRegistry = new EditionRegistry();
+        this.currentPaperLoad = new AtomicInteger();
     }
 
     /**
@@ -64,22 +79,33 @@ public class PrintingMachine {
         return colorSupport;
     }
 
+    /**
+     * Gets the registry of editions printed by the machine and their copy counts.
+     *
+     * @return the edition registry
+     */
+    public EditionRegistry getEditionRegistry() {
+        return editionRegistry;
+    }
+
     /**
      * Gets the list of editions printed by the machine.
+     * The list is a snapshot; use the edition registry to record printed editions.
      *
      * @return the list of printed editions
      */
     public List<Edition> getPrintedEditions() {
-        return printedEditions;
+        return editionRegistry.getEditions();
     }
 
     /**
      * Gets the map of edition copies.
+     * The map is a snapshot; use the edition registry to record printed editions.
      *
      * @return the map of edition copies
      */
     public Map<Edition, Integer> getEditionCopies() {
-        return editionCopies;
+        return editionRegistry.getCopiesByEdition();
     }
 
     /**
@@ -88,7 +114,7 @@ public class PrintingMachine {
      * @return the current paper load
      */
     public int getCurrentPaperLoad() {
-        return currentPaperLoad;
+        return currentPaperLoad.get();
     }
 
     /**
@@ -97,7 +123,71 @@ public class PrintingMachine {
      * @param currentPaperLoad the new current paper load
      */
     public void setCurrentPaperLoad(int currentPaperLoad) {
-        this.currentPaperLoad = currentPaperLoad;
+        stateLock.readLock().lock();
+        try {
+            int previous = this.currentPaperLoad.getAndSet(currentPaperLoad);
+            markDirty();
+            firePaperLoaded(currentPaperLoad - previous, currentPaperLoad);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the machine changed since it was last saved.
+     *
+     * @return true if the machine has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * Marks the machine as saved. Call it before the machine is written,
+     * so a change made while it is being written marks it dirty again.
+     *
+     * @return true if the machine had unsaved changes
+     */
+    public boolean clearDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    /**
+     * Marks the machine as changed since it was last saved.
+     */
+    public void markDirty() {
+        if (!dirty.get()) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Adds a listener that is notified about every print run of the machine.
+     * By default a machine has no listeners and prints silently.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addPrintListener(PrintListener listener) {
+        PrintListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a previously added print listener.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removePrintListener(PrintListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                PrintListener[] updated = new PrintListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
     }
 
     /**
@@ -107,10 +197,35 @@ public class PrintingMachine {
      * @throws IllegalArgumentException if loading the given number of sheets exceeds the machine's capacity
      */
     public void loadPaper(int sheets) {
-        if (currentPaperLoad + sheets > maxCapacity) {
-            throw new IllegalArgumentException("Cannot load paper, because the machine capacity is exceeded.");
+        stateLock.readLock().lock();
+        try {
+            int current;
+            do {
+                current = currentPaperLoad.get();
+                if (current + sheets > maxCapacity) {
+                    throw new IllegalArgumentException("Cannot load paper, because the machine capacity is exceeded.");
+                }
+            } while (!currentPaperLoad.compareAndSet(current, current + sheets));
+            markDirty();
+            firePaperLoaded(sheets, current + sheets);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Notifies the print listeners that the paper load changed.
+     *
+     * @param sheets           the change of the paper load
+     * @param currentPaperLoad the paper load after the change
+     */
+    private void firePaperLoaded(int sheets, int currentPaperLoad) {
+        if (sheets == 0) {
+            return;
+        }
+        for (PrintListener listener : listeners) {
+            listener.onPaperLoaded(this, sheets, currentPaperLoad);
         }
-        currentPaperLoad += sheets;
     }
 
     /**
@@ -122,25 +237,93 @@ public class PrintingMachine {
      * @throws NoSuitableMachineException if there is not enough paper to print the edition
      */
     public void printEdition(Edition edition, boolean isColor) throws UnsupportedColorException, NoSuitableMachineException {
+        printEdition(edition, isColor, 1);
+    }
+
+    /**
+     * Prints a number of copies of an edition as a single print run.
+     * Color support and paper are checked once for the whole run, and the paper for all copies is reserved up front,
+     * so a large order costs the same bookkeeping as a single copy.
+     *
+     * @param edition the edition to print
+     * @param isColor whether the printing is in color
+     * @param copies  the number of copies to print, must be positive
+     * @return the result of the print run
+     * @throws IllegalArgumentException   if the number of copies is not positive
+     * @throws UnsupportedColorException  if color printing is requested but the machine does not support it
+     * @throws NoSuitableMachineException if there is not enough paper to print all copies of the edition
+     */
+    public PrintResult printEdition(Edition edition, boolean isColor, int copies) throws UnsupportedColorException, NoSuitableMachineException {
+        if (copies <= 0) {
+            throw new IllegalArgumentException("The number of copies must be positive.");
+        }
         if (isColor && !colorSupport) {
-            throw new UnsupportedColorException("This machine does not support color printing.");
+            throw reject(edition, copies, new UnsupportedColorException("This machine does not support color printing."));
         }
-        int totalSheetsRequired = edition.getNumberOfPages();
-        if (currentPaperLoad < totalSheetsRequired) {
-            throw new NoSuitableMachineException("Not enough paper to print the publication.");
+        long totalSheetsRequired = (long) edition.getNumberOfPages() * copies;
+        int sheets = (int) totalSheetsRequired;
+        double printingTime = calculatePrintingTime(sheets);
+        int currentCopies;
+        stateLock.readLock().lock();
+        try {
+            int current;
+            do {
+                current = currentPaperLoad.get();
+                if (current < totalSheetsRequired) {
+                    throw reject(edition, copies, new NoSuitableMachineException("Not enough paper to print the publication."));
+                }
+            } while (!currentPaperLoad.compareAndSet(current, current - sheets));
+            edition.print(copies);
+            currentCopies = editionRegistry.addCopies(edition, copies);
+            markDirty();
+            for (PrintListener listener : listeners) {
+                listener.onEditionPrinted(this, edition, copies, currentCopies, printingTime);
+            }
+        } finally {
+            stateLock.readLock().unlock();
         }
-        double printingTime = calculatePrintingTime(totalSheetsRequired);
-        System.out.printf("Printing will take approximately %.2f minutes.%n", printingTime);
-        currentPaperLoad -= totalSheetsRequired;
-        edition.print();
-        if (!printedEditions.contains(edition)) {
-            printedEditions.add(edition);
+        return new PrintResult(edition, copies, sheets, printingTime, currentCopies);
+    }
+
+    /**
+     * Runs an action while none of the given machines is changing its paper load or copy counts.
+     * Every change is either made and reported to the listeners before the action, or made after it.
+     * The machines are locked in the given order, so the action must not wait for a printing thread.
+     *
+     * @param machines the machines to hold still
+     * @param action   the action to run
+     * @param <T>      the type of the action's result
+     * @return the result of the action
+     */
+    static <T> T whileUnchanged(List<PrintingMachine> machines, Supplier<T> action) {
+        int locked = 0;
+        try {
+            for (PrintingMachine machine : machines) {
+                machine.stateLock.writeLock().lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                machines.get(i).stateLock.writeLock().unlock();
+            }
         }
-        int currentCopies = editionCopies.getOrDefault(edition, 0);
-        currentCopies++;
-        editionCopies.put(edition, currentCopies);
-        edition.setPrintedCopies(currentCopies);
-        System.out.println("Printed publication: " + edition.getTitle() + ". Total copies: " + currentCopies);
+    }
+
+    /**
+     * Notifies the print listeners that a print run was refused.
+     *
+     * @param edition the edition that was to be printed
+     * @param copies  the number of copies that were requested
+     * @param reason  the exception explaining why the run was refused
+     * @param <E>     the type of the exception
+     * @return the exception, to be thrown by the caller
+     */
+    private <E extends Exception> E reject(Edition edition, int copies, E reason) {
+        for (PrintListener listener : listeners) {
+            listener.onPrintRejected(this, edition, copies, reason);
+        }
+        return reason;
     }
 
     /**
@@ -149,11 +332,7 @@ public class PrintingMachine {
      * @return the total number of printed pages
      */
     public int getTotalPrintedPages() {
-        int total = 0;
-        for (Edition ed : printedEditions) {
-            total += ed.getNumberOfPages() * editionCopies.get(ed);
-        }
-        return total;
+        return editionRegistry.getTotalPrintedPages();
     }
 
     /**
@@ -179,8 +358,8 @@ public class PrintingMachine {
         sb.append("Color Support: ").append(colorSupport).append("\n");
         sb.append("Current Paper Load: ").append(currentPaperLoad).append("\n");
         sb.append("Printed Editions: \n");
-        for (Map.Entry<Edition, Integer> entry : editionCopies.entrySet()) {
-            sb.append(entry.getKey().toString()).append(" = ").append(entry.getValue()).append(" copies\n");
+        for (EditionRegistry.Entry entry : editionRegistry.entries()) {
+            sb.append(entry.getEdition().toString()).append(" = ").append(entry.getCopies()).append(" copies\n");
         }
         return sb.toString();
     }
@@ -1,25 +1,52 @@
 package org.project_printing_shop.printingShop;
 
 import org.project_printing_shop.employees.EmployeeImpl;
+import org.project_printing_shop.employees.Manager;
 import org.project_printing_shop.exceptions.NoSuitableMachineException;
 import org.project_printing_shop.exceptions.UnsupportedColorException;
-import org.project_printing_shop.printable_items.Edition;
 import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.interfaces.PriceProvider;
+import org.project_printing_shop.interfaces.ShopListener;
+import org.project_printing_shop.printable_items.PaperPricingTable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Class representing a printing shop.
  * This class provides functionality for managing employees, machines, paper pricing, and calculating total sales and expenses.
+ * Income, expenses and profit are kept as running totals that are updated as copies are printed,
+ * employees are added and salaries or edition prices change, so reading them takes constant time.
+ * Shop listeners are notified whenever the sales, the employees or these totals change.
+ * Sales and the income of completed print jobs are credited to the revenue of every manager of the shop.
+ * The shop is marked dirty when its name, sales, employees or paper prices change; its machines and editions
+ * track their own changes, so incremental saves only write what changed since the last save.
  */
 public class PrintingShop {
+    private static final ShopListener[] NO_LISTENERS = new ShopListener[0];
+    private static final Manager[] NO_MANAGERS = new Manager[0];
+
     // Unique identifier for the printing shop
     private UUID id;
     private String name;
     protected List<EmployeeImpl> employees;
     protected List<PrintingMachine> machines;
-    private Map<PaperType, Double> paperPricing;
+    // Current version of the shop's paper prices, replaced as a whole when a price changes
+    private final AtomicReference<PaperPricingTable> pricing;
     private double totalSales;
+    private final PrintJobScheduler scheduler;
+    private final ShopLedger ledger;
+    private final ShopMetrics metrics;
+    private volatile ShopListener[] listeners = NO_LISTENERS;
+    // Managers credited with the shop's revenue, replaced as a whole when a manager is added
+    private volatile Manager[] managers = NO_MANAGERS;
+    // Whether the shop's own data changed since it was last saved; new shops have never been saved
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // Revisions of the editions written to the shop's files, by edition identifier
+    private final Map<UUID, Long> savedEditionRevisions = new ConcurrentHashMap<>();
 
     /**
      * Constructor for the PrintingShop class.
@@ -31,8 +58,11 @@ public class PrintingShop {
         this.name = name;
         this.employees = new ArrayList<>();
         this.machines = new ArrayList<>();
-        this.paperPricing = new HashMap<>();
+        this.pricing = new AtomicReference<>(PaperPricingTable.EMPTY);
         this.totalSales = 0.0;
+        this.scheduler = new PrintJobScheduler(this);
+        this.ledger = new ShopLedger(this::fireShopChanged);
+        this.metrics = new ShopMetrics();
     }
 
     /**
@@ -55,11 +85,31 @@ public class PrintingShop {
 
     /**
      * Gets the map of paper types to their prices.
+     * The map cannot be modified; use setPaperPricing or repriceCatalog to change the prices.
      *
-     * @return the map of paper pricing
+     * @return an unmodifiable map of the paper pricing
      */
     public Map<PaperType, Double> getPaperPricing() {
-        return paperPricing;
+        return pricing.get().getPrices();
+    }
+
+    /**
+     * Gets the current version of the shop's price per sheet for every combination of paper size and type.
+     * The table is an immutable snapshot, so it can be read without locking while the prices are being changed.
+     *
+     * @return the pricing table
+     */
+    public PaperPricingTable getPricingTable() {
+        return pricing.get();
+    }
+
+    /**
+     * Gets the shop's prices for costing editions, for example with Edition.calculatePrintingCosts.
+     *
+     * @return the current price provider of the shop
+     */
+    public PriceProvider getPriceProvider() {
+        return pricing.get();
     }
 
     /**
@@ -69,6 +119,7 @@ public class PrintingShop {
      */
     public void setId(UUID id) {
         this.id = id;
+        dirty.set(true);
     }
 
     /**
@@ -78,6 +129,7 @@ public class PrintingShop {
      */
     public void setName(String name) {
         this.name = name;
+        dirty.set(true);
     }
 
     /**
@@ -87,15 +139,37 @@ public class PrintingShop {
      */
     public void setTotalSales(double totalSales) {
         this.totalSales = totalSales;
+        dirty.set(true);
+        fireShopChanged();
     }
 
     /**
      * Sets the map of paper types to their prices.
      *
      * @param paperPricing the paper pricing map to set
+     * @throws IllegalArgumentException if a price is negative
      */
     public void setPaperPricing(Map<PaperType, Double> paperPricing) {
-        this.paperPricing = paperPricing;
+        repriceCatalog(paperPricing);
+    }
+
+    /**
+     * Replaces all paper prices of the shop at once.
+     * The new prices are published as one new version of the pricing table, so every reader sees
+     * either all old or all new prices, and the shop's paper costs are recalculated once.
+     *
+     * @param paperPricing the new prices by paper type; types without a price use the paper's own price
+     * @throws IllegalArgumentException if a price is negative
+     */
+    public void repriceCatalog(Map<PaperType, Double> paperPricing) {
+        PaperPricingTable current;
+        PaperPricingTable updated;
+        do {
+            current = pricing.get();
+            updated = current.withPrices(paperPricing);
+        } while (!pricing.compareAndSet(current, updated));
+        dirty.set(true);
+        ledger.setPricing(updated);
     }
 
     /**
@@ -105,15 +179,141 @@ public class PrintingShop {
      */
     public void addEmployee(EmployeeImpl employee) {
         employees.add(employee);
+        if (employee instanceof Manager) {
+            synchronized (this) {
+                Manager[] updated = Arrays.copyOf(managers, managers.length + 1);
+                updated[managers.length] = (Manager) employee;
+                managers = updated;
+            }
+        }
+        ledger.addEmployee(employee);
+        dirty.set(true);
+        fireShopChanged();
     }
 
     /**
      * Adds a printing machine to the printing shop.
+     * Copies the machine has already printed are included in the shop's totals.
      *
      * @param machine the printing machine to add
      */
     public void addMachine(PrintingMachine machine) {
         machines.add(machine);
+        ledger.addMachine(machine);
+        metrics.addMachine(machine);
+        fireShopChanged();
+    }
+
+    /**
+     * Checks whether the shop's own data, its name, sales, employees or paper prices, changed since it was last saved.
+     * Machines and editions track their changes themselves.
+     *
+     * @return true if the shop has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * Marks the shop's own data as saved. Call it before the shop is written,
+     * so a change made while it is being written marks it dirty again.
+     *
+     * @return true if the shop had unsaved changes
+     */
+    public boolean clearDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    /**
+     * Marks the shop's own data as changed since it was last saved.
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /**
+     * Gets the revisions of the editions written to the shop's files, by edition identifier.
+     * Editions can be shared with other shops, so the shop records which of their changes it has saved itself.
+     *
+     * @return the modifiable map of saved edition revisions
+     */
+    Map<UUID, Long> getSavedEditionRevisions() {
+        return savedEditionRevisions;
+    }
+
+    /**
+     * Gets the operational metrics of the shop and its machines.
+     *
+     * @return the shop metrics
+     */
+    public ShopMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Adds a listener that is notified whenever the sales, the employees or the financial totals of the shop change.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addShopListener(ShopListener listener) {
+        ShopListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a previously added shop listener.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeShopListener(ShopListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ShopListener[] updated = new ShopListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Notifies the shop listeners that the shop has changed.
+     */
+    protected void fireShopChanged() {
+        for (ShopListener listener : listeners) {
+            listener.onShopChanged(this);
+        }
+    }
+
+    /**
+     * Submits a print job to the shop.
+     * The job is routed to the machine that supports its color mode, has the paper for it
+     * and is expected to finish it first, and is printed on that machine's own worker thread.
+     *
+     * @param job the job to print
+     * @return a future completed with the result of the print run
+     * @throws NoSuitableMachineException if no machine of the shop can print the job
+     */
+    public CompletableFuture<PrintResult> submit(PrintJob job) throws NoSuitableMachineException {
+        return scheduler.submit(job);
+    }
+
+    /**
+     * Gets the scheduler that routes print jobs to the machines of the shop.
+     *
+     * @return the print job scheduler
+     */
+    PrintJobScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Stops the shop's print workers after the jobs already submitted have been printed.
+     */
+    public void shutdown() {
+        scheduler.shutdown();
     }
 
     /**
@@ -121,9 +321,21 @@ public class PrintingShop {
      *
      * @param type  the type of paper
      * @param price the price to set
+     * @throws IllegalArgumentException if the price is negative
      */
     public void setPaperPricing(PaperType type, double price) {
-        paperPricing.put(type, price);
+        PaperPricingTable current;
+        PaperPricingTable updated;
+        do {
+            current = pricing.get();
+            Double previous = current.getPrices().get(type);
+            if (previous != null && previous == price) {
+                return;
+            }
+            updated = current.withPrice(type, price);
+        } while (!pricing.compareAndSet(current, updated));
+        dirty.set(true);
+        ledger.setPricing(updated);
     }
 
     /**
@@ -133,7 +345,7 @@ public class PrintingShop {
      * @return the price for the specified type of paper
      */
     public double getPriceForPaper(PaperType type) {
-        return paperPricing.getOrDefault(type, 0.0);
+        return pricing.get().getPrices().getOrDefault(type, 0.0);
     }
 
     /**
@@ -142,39 +354,18 @@ public class PrintingShop {
      * @return the total salaries
      */
     public double calculateTotalSalaries() {
-        double totalSalaries = 0;
-        for (EmployeeImpl employee : employees) {
-            totalSalaries += employee.calculateSalary();
-        }
-        return totalSalaries;
+        return ledger.getTotalSalaries();
     }
 
     /**
      * Calculates the total cost of paper used by all printing machines in the printing shop.
+     * Sheets of a paper type the shop has a price for cost that price times the size multiplier;
+     * other sheets cost the price of their paper.
      *
      * @return the total paper cost
      */
     public double calculatePaperCosts() {
-        double totalPaperCost = 0.0;
-        for (PrintingMachine machine : machines) {
-            for (Map.Entry<Edition, Integer> entry : machine.getEditionCopies().entrySet()) {
-                Edition edition = entry.getKey();
-                int printedCopies = entry.getValue();
-                int pagesPerCopy = edition.getNumberOfPages();
-                double paperPricePerPage = edition.getPaper().calculatePrice();
-
-                // Debug statements
-                System.out.println("Edition: " + edition.getTitle());
-                System.out.println("Printed Copies: " + printedCopies);
-                System.out.println("Pages per Copy: " + pagesPerCopy);
-                System.out.println("Paper Price per Page: " + paperPricePerPage);
-                System.out.println("Subtotal: " + (printedCopies * pagesPerCopy * paperPricePerPage));
-
-                totalPaperCost += printedCopies * pagesPerCopy * paperPricePerPage;
-            }
-        }
-        System.out.println("Total Paper Cost: " + totalPaperCost);
-        return totalPaperCost;
+        return ledger.getTotalPaperCosts();
     }
 
     /**
@@ -188,27 +379,45 @@ public class PrintingShop {
 
     /**
      * Calculates the total income from all printed editions in the printing shop.
+     * The income of an edition is based on the copies printed on all machines of the shop together.
      *
      * @return the total income
      */
     public double calculateTotalIncome() {
-        double totalIncome = 0;
-        for (PrintingMachine machine : machines) {
-            for (Edition edition : machine.getPrintedEditions()) {
-                totalIncome += edition.calculateIncome();
-            }
-        }
-        return totalIncome;
+        return ledger.getTotalIncome();
+    }
+
+    /**
+     * Calculates the profit of the printing shop as the total income minus the total expenses.
+     *
+     * @return the profit
+     */
+    public double calculateProfit() {
+        return calculateTotalIncome() - calculateTotalExpenses();
     }
 
     /**
-     * Records a sale by adding the amount to the total sales.
+     * Records a sale by adding the amount to the total sales and to the revenue of the shop's managers.
      *
      * @param amount the amount of the sale
      */
     public void recordSale(double amount) {
         totalSales += amount;
+        dirty.set(true);
+        creditManagers(amount);
+        fireShopChanged();
+    }
 
+    /**
+     * Adds revenue to every manager of the shop.
+     * Does not lock, so it can be called from the print workers while sales are recorded.
+     *
+     * @param revenue the revenue to add
+     */
+    void creditManagers(double revenue) {
+        for (Manager manager : managers) {
+            manager.addRevenue(revenue);
+        }
     }
 
     /**
@@ -268,7 +477,7 @@ public class PrintingShop {
                 ", name='" + name + '\'' +
                 ", employees=" + employees +
                 ", machines=" + machines +
-                ", paperPricing=" + paperPricing +
+                ", paperPricing=" + getPaperPricing() +
                 ", totalSales=" + totalSales +
                 '}';
     }
@@ -0,0 +1,301 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.employees.EmployeeImpl;
+import org.project_printing_shop.employees.Manager;
+import org.project_printing_shop.employees.Operator;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Class responsible for saving and loading printing shops as compact binary snapshots.
+ * A snapshot starts with a magic number and a format version, followed by a table of all strings
+ * (names, titles, edition types) and then fixed-width records for the shop, its employees, its editions,
+ * its machines with their edition references and its paper pricing. Strings are stored once and referred to
+ * by their index, and snapshots are loaded through a memory-mapped file, so restoring a shop is close to
+ * a single sequential read. A snapshot is written to a temporary file that replaces the previous snapshot
+ * with an atomic move, so a crash while saving leaves the previous snapshot intact.
+ */
+public class PrintingShopFileHandlerBinary {
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final short VERSION = 1;
+    private static final byte OPERATOR = 0;
+    private static final byte MANAGER = 1;
+
+    /**
+     * Saves the PrintingShop data to a binary snapshot file, without forcing it to the storage device.
+     *
+     * @param shop     the printing shop instance to save
+     * @param filename the name of the file to write to
+     * @throws IOException if the file cannot be written; the previous snapshot is then left in place
+     */
+    public static void savePrintingShopToSnapshot(PrintingShop shop, String filename) throws IOException {
+        savePrintingShopToSnapshot(shop, filename, false);
+    }
+
+    /**
+     * Saves the PrintingShop data to a binary snapshot file.
+     * The snapshot is written to a temporary file next to the target, which then replaces the target
+     * with an atomic move, so readers and a crash see either the previous or the new snapshot.
+     *
+     * @param shop     the printing shop instance to save
+     * @param filename the name of the file to write to
+     * @param force    whether the file is forced to the storage device before it replaces the target
+     * @throws IOException if the file cannot be written; the previous snapshot is then left in place
+     */
+    public static void savePrintingShopToSnapshot(PrintingShop shop, String filename, boolean force) throws IOException {
+        savePrintingShopToSnapshot(shop, shop.getMachines(), filename, force);
+    }
+
+    /**
+     * Saves the PrintingShop data to a binary snapshot file with the given machines in place of the shop's own,
+     * for example the machines as restored from a journal.
+     *
+     * @param shop     the printing shop instance to save
+     * @param machines the machines to save with the shop
+     * @param filename the name of the file to write to
+     * @param force    whether the file is forced to the storage device before it replaces the target
+     * @throws IOException if the file cannot be written; the previous snapshot is then left in place
+     */
+    static void savePrintingShopToSnapshot(PrintingShop shop, List<PrintingMachine> machines, String filename, boolean force) throws IOException {
+        Path target = Paths.get(filename);
+        Path temp = Paths.get(filename + PrintingShopFileHandlerWrite.TEMP_SUFFIX);
+        try {
+            FileOutputStream file = new FileOutputStream(temp.toFile());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                writeSnapshot(shop, machines, out);
+                out.flush();
+                if (force) {
+                    file.getChannel().force(true);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (force) {
+                PrintingShopFileHandlerWrite.forceDirectory(target);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the PrintingShop data in the snapshot format.
+     *
+     * @param shop     the printing shop instance to write
+     * @param machines the machines to write with the shop
+     * @param out      the stream to write to; it is not closed
+     * @throws IOException if writing fails
+     */
+    private static void writeSnapshot(PrintingShop shop, List<PrintingMachine> machines, DataOutputStream out) throws IOException {
+        // Every distinct edition once, in the order the machines first refer to it
+        Map<UUID, Integer> indexById = new LinkedHashMap<>();
+        List<Edition> editions = new ArrayList<>();
+        for (PrintingMachine machine : machines) {
+            for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+                Edition edition = entry.getEdition();
+                if (!indexById.containsKey(edition.getId())) {
+                    indexById.put(edition.getId(), editions.size());
+                    editions.add(edition);
+                }
+            }
+        }
+
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        intern(strings, shop.getName());
+        for (EmployeeImpl employee : shop.getEmployees()) {
+            intern(strings, employee.getName());
+        }
+        for (Edition edition : editions) {
+            intern(strings, edition.getClass().getSimpleName());
+            intern(strings, edition.getTitle());
+        }
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        out.writeInt(strings.size());
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeLong(shop.getId().getMostSignificantBits());
+        out.writeLong(shop.getId().getLeastSignificantBits());
+        out.writeInt(strings.get(shop.getName()));
+        out.writeDouble(shop.getTotalSales());
+
+        out.writeInt(shop.getEmployees().size());
+        for (EmployeeImpl employee : shop.getEmployees()) {
+            boolean manager = employee instanceof Manager;
+            out.writeByte(manager ? MANAGER : OPERATOR);
+            out.writeInt(strings.get(employee.getName()));
+            out.writeDouble(employee.getBaseSalary());
+            out.writeDouble(manager ? ((Manager) employee).getBonusPercentage() : 0);
+            out.writeDouble(manager ? ((Manager) employee).getRevenueLimit() : 0);
+            out.writeDouble(manager ? ((Manager) employee).getCurrentRevenue() : 0);
+        }
+
+        out.writeInt(editions.size());
+        for (Edition edition : editions) {
+            out.writeLong(edition.getId().getMostSignificantBits());
+            out.writeLong(edition.getId().getLeastSignificantBits());
+            out.writeInt(strings.get(edition.getClass().getSimpleName()));
+            out.writeInt(strings.get(edition.getTitle()));
+            out.writeInt(edition.getNumberOfPages());
+            out.writeByte(edition.getPaper().getSize().ordinal());
+            out.writeByte(edition.getPaper().getType().ordinal());
+            out.writeDouble(edition.getPaper().getBasePrice());
+            out.writeDouble(edition.getUnitPrice());
+            out.writeInt(edition.getPrintedCopies());
+        }
+
+        out.writeInt(machines.size());
+        for (PrintingMachine machine : machines) {
+            out.writeInt(machine.getMaxCapacity());
+            out.writeInt(machine.getPagesPerMinute());
+            out.writeBoolean(machine.isColorSupport());
+            out.writeInt(machine.getCurrentPaperLoad());
+            List<EditionRegistry.Entry> entries = new ArrayList<>(machine.getEditionRegistry().entries());
+            out.writeInt(entries.size());
+            for (EditionRegistry.Entry entry : entries) {
+                out.writeInt(indexById.get(entry.getEdition().getId()));
+                out.writeInt(entry.getCopies());
+            }
+        }
+
+        out.writeInt(shop.getPaperPricing().size());
+        for (Map.Entry<PaperType, Double> pricing : shop.getPaperPricing().entrySet()) {
+            out.writeByte(pricing.getKey().ordinal());
+            out.writeDouble(pricing.getValue());
+        }
+    }
+
+    /**
+     * Loads a PrintingShop instance from a binary snapshot file.
+     *
+     * @param filename the name of the file to read from
+     * @return the loaded PrintingShop instance
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid snapshot
+     */
+    public static PrintingShop loadPrintingShopFromSnapshot(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readPrintingShop(in);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated printing shop snapshot: " + filename, e);
+        }
+    }
+
+    /**
+     * Reads a PrintingShop instance from a buffer holding a snapshot.
+     *
+     * @param in the buffer positioned at the start of the snapshot
+     * @return the loaded PrintingShop instance
+     * @throws IllegalArgumentException if the buffer does not hold a valid snapshot
+     */
+    private static PrintingShop readPrintingShop(ByteBuffer in) {
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a printing shop snapshot.");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+        }
+
+        String[] strings = new String[in.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        UUID shopId = new UUID(in.getLong(), in.getLong());
+        PrintingShop shop = new PrintingShop(strings[in.getInt()]);
+        shop.setId(shopId);
+        shop.setTotalSales(in.getDouble());
+
+        int employeeCount = in.getInt();
+        for (int i = 0; i < employeeCount; i++) {
+            byte type = in.get();
+            String name = strings[in.getInt()];
+            double baseSalary = in.getDouble();
+            double bonusPercentage = in.getDouble();
+            double revenueLimit = in.getDouble();
+            double currentRevenue = in.getDouble();
+            shop.addEmployee(type == MANAGER
+                    ? new Manager(name, baseSalary, bonusPercentage, revenueLimit, currentRevenue)
+                    : new Operator(name, baseSalary));
+        }
+
+        PaperSize[] sizes = PaperSize.values();
+        PaperType[] types = PaperType.values();
+        Edition[] editions = new Edition[in.getInt()];
+        for (int i = 0; i < editions.length; i++) {
+            UUID id = new UUID(in.getLong(), in.getLong());
+            String type = strings[in.getInt()];
+            String title = strings[in.getInt()];
+            int numberOfPages = in.getInt();
+            Paper paper = new Paper(sizes[in.get()], types[in.get()], in.getDouble());
+            double unitPrice = in.getDouble();
+            Edition edition = PrintingShopFileHandlerRead.createEdition(type, title, numberOfPages, paper, unitPrice);
+            edition.setPrintedCopies(in.getInt());
+            edition.setId(id);
+            editions[i] = edition;
+        }
+
+        int machineCount = in.getInt();
+        for (int i = 0; i < machineCount; i++) {
+            PrintingMachine machine = new PrintingMachine(in.getInt(), in.getInt(), in.get() != 0);
+            machine.setCurrentPaperLoad(in.getInt());
+            int references = in.getInt();
+            for (int r = 0; r < references; r++) {
+                Edition edition = editions[in.getInt()];
+                machine.getEditionRegistry().setCopies(edition, in.getInt());
+            }
+            shop.addMachine(machine);
+        }
+
+        int pricingCount = in.getInt();
+        for (int i = 0; i < pricingCount; i++) {
+            shop.setPaperPricing(types[in.get()], in.getDouble());
+        }
+        return shop;
+    }
+
+    /**
+     * Adds a string to the string table if it is not there yet.
+     *
+     * @param strings the string table, mapping each string to its index
+     * @param value   the string to add
+     */
+    private static void intern(Map<String, Integer> strings, String value) {
+        strings.putIfAbsent(value, strings.size());
+    }
+}
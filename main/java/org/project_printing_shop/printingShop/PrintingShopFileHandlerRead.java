@@ -8,96 +8,202 @@ import org.project_printing_shop.enums.PaperType;
 import org.project_printing_shop.printable_items.*;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Class responsible for reading printing shop data from a file.
  * This class contains methods to deserialize and reconstruct the PrintingShop objects from a text file.
  */
 public class PrintingShopFileHandlerRead {
+    private static final PaperSize[] PAPER_SIZES = PaperSize.values();
+    private static final PaperType[] PAPER_TYPES = PaperType.values();
 
     /**
      * Loads a PrintingShop instance from a file.
+     * Every line is scanned once by a cursor that decodes the fields in place, without splitting the line.
+     * Machines are added to the shop once the whole file has been read and their editions are resolved,
+     * so the shop's totals include the restored copies. Delta saves written next to the file are merged
+     * in the order they were saved, and the loaded shop is marked as saved.
      *
      * @param filename the name of the file to read from
      * @return the loaded PrintingShop instance
      */
     public static PrintingShop loadPrintingShopFromFile(String filename) {
-        PrintingShop shop = null;
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+        ParsedShop parsed = new ParsedShop();
+        ShopLineCursor cursor = new ShopLineCursor();
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename, StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                if (line.startsWith("PrintingShopID:")) {
-                    UUID id = UUID.fromString(line.split(":")[1].trim());
-                    shop = new PrintingShop("Default Shop");
-                    shop.setId(id);
-                } else if (line.startsWith("Name:")) {
-                    assert shop != null;
-                    shop.setName(line.split(":")[1].trim());
-                } else if (line.startsWith("Total Sales:")) {
-                    double totalSales = Double.parseDouble(line.split(":")[1].trim());
-                    assert shop != null;
-                    shop.setTotalSales(totalSales);
-                } else if (line.startsWith("Total Expenses:")) {
-                    double totalExpenses = Double.parseDouble(line.split(":")[1].trim());
-                    assert shop != null;
-                    shop.calculateTotalExpenses();
-                } else if (line.startsWith("Employee:")) {
-                    EmployeeImpl employee = deserializeEmployee(line.split("Employee: ")[1]);
-                    assert shop != null;
-                    shop.addEmployee(employee);
-                } else if (line.startsWith("Machine:")) {
-                    PrintingMachine machine = deserializeMachine(line.split("Machine: ")[1]);
-                    assert shop != null;
-                    shop.addMachine(machine);
-                } else if (line.startsWith("Edition:")) {
-                    String[] editionData = line.split("Edition: ")[1].split("=");
-                    if (editionData.length == 2) {
-                        Edition edition = deserializeEdition(editionData[0]);
-                        int copies = Integer.parseInt(editionData[1]);
-                        assert shop != null;
-                        for (PrintingMachine machine : shop.getMachines()) {
-                            if (!machine.getPrintedEditions().contains(edition)) {
-                                machine.getPrintedEditions().add(edition);
-                            }
-                            machine.getEditionCopies().put(edition, copies);
+                parsed.parseLine(cursor.reset(line));
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+        }
+        mergeDelta(parsed, filename, cursor);
+        return parsed.toPrintingShop();
+    }
+
+    /**
+     * Merges the delta saves of a shop file into the records parsed from the file, if there are any.
+     * Later records replace earlier ones: the shop data, the employees and the paper prices as a whole,
+     * machines by their position and editions by their identifier. A delta save is merged only once its end marker
+     * has been read, so a save that was interrupted is ignored as a whole, and only if it names the generation
+     * of the shop file, so a delta left behind by an earlier file is ignored too.
+     *
+     * @param parsed   the records parsed from the shop file
+     * @param filename the name of the shop file
+     * @param cursor   the cursor to parse the delta lines with
+     */
+    private static void mergeDelta(ParsedShop parsed, String filename, ShopLineCursor cursor) {
+        File delta = new File(filename + PrintingShopFileHandlerWrite.DELTA_SUFFIX);
+        if (!delta.exists()) {
+            return;
+        }
+        parsed.delta = true;
+        List<String> pending = new ArrayList<>();
+        boolean current = false;
+        try (BufferedReader reader = new BufferedReader(new FileReader(delta, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("Delta:")) {
+                    String generation = line.substring("Delta:".length()).trim();
+                    current = generation.equals(parsed.generation == null ? "" : parsed.generation);
+                    pending.clear();
+                } else if (line.equals(PrintingShopFileHandlerWrite.DELTA_END)) {
+                    if (current) {
+                        for (String record : pending) {
+                            parsed.parseLine(cursor.reset(record));
                         }
                     }
-                } else if (line.startsWith("Paper Pricing:")) {
-                    String[] parts = line.split(": ");
-                    if (parts.length == 2) {
-                        PaperType type = PaperType.valueOf(parts[0].split(":")[1].trim());
-                        double price = Double.parseDouble(parts[1].trim());
-                        assert shop != null;
-                        shop.setPaperPricing(type, price);
-                    }
+                    current = false;
+                    pending.clear();
+                } else {
+                    pending.add(line);
                 }
             }
         } catch (IOException e) {
             System.out.println("Error reading file: " + e.getMessage());
         }
-        return shop;
     }
 
     /**
-     * Deserializes an Employee object from a string.
+     * Loads a PrintingShop instance from a file, parsing its records on several threads.
+     * The file is read into memory and its header is parsed first. The employee, machine, edition and pricing
+     * records that follow are independent of each other, so they are split into line-aligned chunks that are
+     * parsed on the common fork-join pool and merged back in file order.
+     * The result is the same as that of loadPrintingShopFromFile; large files load faster on multi-core machines.
      *
-     * @param data the string data representing the employee
-     * @return the deserialized EmployeeImpl object
+     * @param filename the name of the file to read from
+     * @return the loaded PrintingShop instance
      */
-    private static EmployeeImpl deserializeEmployee(String data) {
-        String[] parts = data.split(", ");
-        if (parts.length < 3) {
-            throw new IllegalArgumentException("Invalid employee data format: " + data);
+    public static PrintingShop loadPrintingShopFromFileInParallel(String filename) {
+        String text;
+        try {
+            text = new String(Files.readAllBytes(Paths.get(filename)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+            return null;
         }
-        String[] employeeTypeAndName = parts[0].split(": ");
-        String employeeType = employeeTypeAndName[0].trim();
-        String name = employeeTypeAndName[1].trim();
-        double baseSalary = Double.parseDouble(parts[1].split(": ")[1].trim());
+        ParsedShop header = new ParsedShop();
+        ShopLineCursor cursor = new ShopLineCursor();
+        int position = 0;
+        while (position < text.length()) {
+            int lineEnd = lineEnd(text, position);
+            cursor.reset(text, position, trimLineBreak(text, position, lineEnd));
+            if (cursor.startsWith("Employee") || cursor.startsWith("Machine") || cursor.startsWith("Edition")) {
+                break;
+            }
+            header.parseLine(cursor);
+            position = Math.min(lineEnd + 1, text.length());
+        }
+        header.merge(ForkJoinPool.commonPool().invoke(new ParseTask(text, position, text.length())));
+        mergeDelta(header, filename, cursor);
+        return header.toPrintingShop();
+    }
+
+    /**
+     * Finds the end of the line starting at the given position.
+     *
+     * @param text  the text holding the line
+     * @param start the position where the line starts
+     * @return the position of the line feed ending the line, or the length of the text for the last line
+     */
+    private static int lineEnd(CharSequence text, int start) {
+        int end = start;
+        while (end < text.length() && text.charAt(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Excludes a carriage return written before the line feed from a line.
+     *
+     * @param text  the text holding the line
+     * @param start the position where the line starts
+     * @param end   the position of the line feed ending the line
+     * @return the position just past the last character of the line
+     */
+    private static int trimLineBreak(CharSequence text, int start, int end) {
+        return end > start && text.charAt(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    /**
+     * Registers the referenced editions on their machines and adds the machines to the shop.
+     * Editions listed with copies but referenced by no machine come from older files, which recorded
+     * the copies on every machine of the shop.
+     *
+     * @param shop         the printing shop
+     * @param machines     the machines in file order
+     * @param copies       the copies of each edition referenced by the machine at the same position
+     * @param editions     the editions read from the file, keyed by their identifiers
+     * @param legacyCopies the copies listed together with their editions in older files
+     */
+    private static void restoreMachines(PrintingShop shop, List<PrintingMachine> machines, List<Map<UUID, Integer>> copies,
+                                        Map<UUID, Edition> editions, Map<UUID, Integer> legacyCopies) {
+        for (Map<UUID, Integer> references : copies) {
+            legacyCopies.keySet().removeAll(references.keySet());
+        }
+        for (int i = 0; i < machines.size(); i++) {
+            PrintingMachine machine = machines.get(i);
+            EditionRegistry registry = machine.getEditionRegistry();
+            for (Map.Entry<UUID, Integer> reference : copies.get(i).entrySet()) {
+                Edition edition = editions.get(reference.getKey());
+                if (edition == null) {
+                    throw new IllegalArgumentException("Machine refers to unknown edition: " + reference.getKey());
+                }
+                registry.setCopies(edition, reference.getValue());
+            }
+            for (Map.Entry<UUID, Integer> legacy : legacyCopies.entrySet()) {
+                registry.setCopies(editions.get(legacy.getKey()), legacy.getValue());
+            }
+            shop.addMachine(machine);
+        }
+    }
+
+    /**
+     * Deserializes an Employee object from the rest of a line.
+     *
+     * @param cursor the cursor positioned at the employee data
+     * @return the deserialized EmployeeImpl object
+     * @throws IllegalArgumentException if the employee data is not in the expected format
+     */
+    private static EmployeeImpl deserializeEmployee(ShopLineCursor cursor) {
+        boolean manager = cursor.startsWith("Manager: ");
+        cursor.skipLabel();
+        String name = cursor.readText(", ");
+        cursor.skipLabel();
+        double baseSalary = cursor.readDouble();
 
-        if (employeeType.equals("Manager")) {
+        if (manager) {
             return new Manager(name, baseSalary, 0, 0, 0);
         } else {
             return new Operator(name, baseSalary);
@@ -105,76 +211,292 @@ public class PrintingShopFileHandlerRead {
     }
 
     /**
-     * Deserializes a PrintingMachine object from a string.
+     * Deserializes a PrintingMachine object from the rest of a line.
      *
-     * @param data the string data representing the printing machine
+     * @param cursor the cursor positioned at the machine data
+     * @param copies the map to fill with the copies of each edition the machine refers to
      * @return the deserialized PrintingMachine object
+     * @throws IllegalArgumentException if the machine data is not in the expected format
      */
-    private static PrintingMachine deserializeMachine(String data) {
-        String[] parts = data.split(", ");
-        int maxCapacity = Integer.parseInt(parts[0].split(": ")[1].trim());
-        int pagesPerMinute = Integer.parseInt(parts[1].split(": ")[1].trim());
-        boolean colorSupport = Boolean.parseBoolean(parts[2].split(": ")[1].trim());
-        int currentPaperLoad = Integer.parseInt(parts[3].split(": ")[1].trim());
+    private static PrintingMachine deserializeMachine(ShopLineCursor cursor, Map<UUID, Integer> copies) {
+        cursor.skipLabel();
+        int maxCapacity = cursor.readInt();
+        cursor.skipLabel();
+        int pagesPerMinute = cursor.readInt();
+        cursor.skipLabel();
+        boolean colorSupport = cursor.readBoolean();
+        cursor.skipLabel();
+        int currentPaperLoad = cursor.readInt();
 
         PrintingMachine machine = new PrintingMachine(maxCapacity, pagesPerMinute, colorSupport);
         machine.setCurrentPaperLoad(currentPaperLoad);
 
-        for (int i = 4; i < parts.length; i++) {
-            if (parts[i].startsWith("Edition: ")) {
-                String[] editionParts = parts[i].split("=");
-                if (editionParts.length == 2) {
-                    Edition edition = deserializeEdition(editionParts[0].replace("Edition: ", "").trim());
-                    int copies = Integer.parseInt(editionParts[1].trim());
-                    machine.getPrintedEditions().add(edition);
-                    machine.getEditionCopies().put(edition, copies);
-                }
+        while (cursor.skip(", Edition: ")) {
+            if (cursor.startsWith("Type: ")) {
+                // Older files list the whole edition on the machine; its copies are restored from the editions section
+                cursor.skipTo(", Edition: ");
+                continue;
             }
+            UUID id = cursor.readUuid();
+            cursor.expect("=");
+            copies.put(id, cursor.readInt());
         }
         return machine;
     }
 
     /**
-     * Deserializes an Edition object from a string.
+     * Deserializes an Edition object from a line, leaving the cursor after the edition data.
+     * Files written before editions had identifiers get an identifier derived from the edition's data,
+     * so repeated listings of the same edition still resolve to one instance.
+     *
+     * @param cursor   the cursor positioned at the edition data
+     * @param editions the editions read so far, keyed by their identifiers; the edition is added if it is new
+     * @param replace  whether the edition replaces an already known instance with the same identifier
+     * @return the deserialized Edition object, or the already known instance with the same identifier
+     * @throws IllegalArgumentException if the edition data is not in the expected format
+     */
+    private static Edition deserializeEdition(ShopLineCursor cursor, Map<UUID, Edition> editions, boolean replace) {
+        int start = cursor.position();
+        cursor.skipLabel();
+        String type = cursor.readText(", ");
+        cursor.skipLabel();
+        String title = cursor.readText(", Number of Pages: ");
+        int numberOfPages = cursor.readInt();
+        Paper paper = deserializePaper(cursor);
+        cursor.skipLabel();
+        double unitPrice = cursor.readDouble();
+        int dataEnd = cursor.position();
+        cursor.skipLabel();
+        int printedCopies = cursor.readInt();
+        UUID id = cursor.skip(", ID: ")
+                ? cursor.readUuid()
+                : UUID.nameUUIDFromBytes(cursor.slice(start, dataEnd).getBytes(StandardCharsets.UTF_8));
+
+        Edition known = editions.get(id);
+        if (known != null && !replace) {
+            return known;
+        }
+        Edition edition = createEdition(type, title, numberOfPages, paper, unitPrice);
+        edition.setPrintedCopies(printedCopies);
+        edition.setId(id);
+        editions.put(id, edition);
+        return edition;
+    }
+
+    /**
+     * Creates an edition of the type with the given simple class name.
      *
-     * @param data the string data representing the edition
-     * @return the deserialized Edition object
+     * @param type          the simple class name of the edition type
+     * @param title         the title of the edition
+     * @param numberOfPages the number of pages in the edition
+     * @param paper         the paper used for the edition
+     * @param unitPrice     the unit price of the edition
+     * @return the created edition
+     * @throws IllegalArgumentException if the edition type is unknown
      */
-    private static Edition deserializeEdition(String data) {
-        String[] parts = data.split(", ");
-        String type = parts[0].split(":")[1].trim();
-        String title = parts[1].split(":")[1].trim();
-        int numberOfPages = Integer.parseInt(parts[2].split(":")[1].trim());
-        Paper paper = deserializePaper(parts[3] + ", " + parts[4] + ", " + parts[5]);
-        double unitPrice = Double.parseDouble(parts[6].split(":")[1].trim());
-        int printedCopies = Integer.parseInt(parts[7].split(":")[1].trim());
-
-        Edition edition;
+    static Edition createEdition(String type, String title, int numberOfPages, Paper paper, double unitPrice) {
         if (type.equals("Poster")) {
-            edition = new Poster(title, numberOfPages, paper, unitPrice);
+            return new Poster(title, numberOfPages, paper, unitPrice);
         } else if (type.equals("Book")) {
-            edition = new Book(title, numberOfPages, paper, unitPrice);
+            return new Book(title, numberOfPages, paper, unitPrice);
         } else if (type.equals("Newspaper")) {
-            edition = new Newspaper(title, numberOfPages, paper, unitPrice);
+            return new Newspaper(title, numberOfPages, paper, unitPrice);
         } else {
             throw new IllegalArgumentException("Unknown edition type: " + type);
         }
-        edition.setPrintedCopies(printedCopies);
-        return edition;
     }
 
     /**
-     * Deserializes a Paper object from a string.
+     * Deserializes a Paper object from the size, type and base price fields of an edition.
      *
-     * @param data the string data representing the paper
+     * @param cursor the cursor positioned before the paper fields
      * @return the deserialized Paper object
+     * @throws IllegalArgumentException if the paper data is not in the expected format
      */
-    private static Paper deserializePaper(String data) {
-        String[] parts = data.split(", ");
-        PaperSize size = PaperSize.valueOf(parts[0].split(": ")[1].trim());
-        PaperType type = PaperType.valueOf(parts[1].split(": ")[1].trim());
-        double basePrice = Double.parseDouble(parts[2].split(": ")[1].trim());
+    private static Paper deserializePaper(ShopLineCursor cursor) {
+        cursor.skipLabel();
+        PaperSize size = cursor.readEnum(PAPER_SIZES);
+        cursor.skipLabel();
+        PaperType type = cursor.readEnum(PAPER_TYPES);
+        cursor.skipLabel();
+        double basePrice = cursor.readDouble();
 
         return new Paper(size, type, basePrice);
     }
+
+    /**
+     * Class holding the records parsed from a printing shop file, or from a part of one.
+     * Parts parsed separately are merged in file order before the shop is built.
+     */
+    private static final class ParsedShop {
+        private UUID id;
+        private String name = "Default Shop";
+        private double totalSales;
+        private final List<EmployeeImpl> employees = new ArrayList<>();
+        // Machines in file order, and the copies of each edition they reference
+        private final List<PrintingMachine> machines = new ArrayList<>();
+        private final List<Map<UUID, Integer>> machineCopies = new ArrayList<>();
+        // Editions read from the file, so every machine shares one instance per edition
+        private final Map<UUID, Edition> editions = new HashMap<>();
+        // Copies listed with their edition in files written before machines referenced editions by identifier
+        private final Map<UUID, Integer> legacyCopies = new LinkedHashMap<>();
+        private final Map<PaperType, Double> paperPricing = new LinkedHashMap<>();
+        // Generation of the shop file, which its delta saves repeat; null for files saved without one
+        private String generation;
+        // Whether the lines come from delta saves, whose records replace the ones read before
+        private boolean delta;
+
+        /**
+         * Parses one line of a printing shop file. Lines that hold no record are ignored.
+         *
+         * @param cursor the cursor positioned at the start of the line
+         * @throws IllegalArgumentException if a record is not in the expected format
+         */
+        void parseLine(ShopLineCursor cursor) {
+            if (!delta && cursor.skip(PrintingShopFileHandlerWrite.GENERATION)) {
+                generation = cursor.readRest();
+            } else if (cursor.skip("PrintingShopID:")) {
+                id = cursor.readUuid();
+            } else if (cursor.skip("Name:")) {
+                name = cursor.readRest();
+            } else if (cursor.skip("Total Sales:")) {
+                totalSales = cursor.readDouble();
+            } else if (cursor.skip("Employee: ")) {
+                employees.add(deserializeEmployee(cursor));
+            } else if (cursor.skip("Machine: ")) {
+                Map<UUID, Integer> copies = new LinkedHashMap<>();
+                machines.add(deserializeMachine(cursor, copies));
+                machineCopies.add(copies);
+            } else if (delta && cursor.skip("Machine ")) {
+                int index = cursor.readInt();
+                // A delta replaces a machine read before or appends the next one
+                if (index < 0 || index > machines.size()) {
+                    throw cursor.error("Machine index out of range");
+                }
+                cursor.expect(": ");
+                Map<UUID, Integer> copies = new LinkedHashMap<>();
+                PrintingMachine machine = deserializeMachine(cursor, copies);
+                if (index == machines.size()) {
+                    machines.add(machine);
+                    machineCopies.add(copies);
+                } else {
+                    machines.set(index, machine);
+                    machineCopies.set(index, copies);
+                }
+            } else if (delta && cursor.skip("Employees:")) {
+                employees.clear();
+            } else if (cursor.skip("Edition: ")) {
+                Edition edition = deserializeEdition(cursor, editions, delta);
+                if (cursor.skip("=")) {
+                    legacyCopies.put(edition.getId(), cursor.readInt());
+                }
+            } else if (cursor.skip("Paper Pricing: ") && !cursor.atEnd()) {
+                PaperType type = cursor.readEnum(PAPER_TYPES);
+                cursor.expect(": ");
+                paperPricing.put(type, cursor.readDouble());
+            } else if (delta && cursor.skip("Paper Pricing:")) {
+                paperPricing.clear();
+            }
+        }
+
+        /**
+         * Appends the records parsed from the part of the file that follows this one.
+         *
+         * @param next the records of the following part
+         */
+        void merge(ParsedShop next) {
+            if (next.id != null) {
+                id = next.id;
+                name = next.name;
+                totalSales = next.totalSales;
+            }
+            employees.addAll(next.employees);
+            machines.addAll(next.machines);
+            machineCopies.addAll(next.machineCopies);
+            for (Map.Entry<UUID, Edition> edition : next.editions.entrySet()) {
+                editions.putIfAbsent(edition.getKey(), edition.getValue());
+            }
+            legacyCopies.putAll(next.legacyCopies);
+            paperPricing.putAll(next.paperPricing);
+        }
+
+        /**
+         * Builds the printing shop from the parsed records.
+         *
+         * @return the printing shop, or null if no shop identifier was read
+         */
+        PrintingShop toPrintingShop() {
+            if (id == null) {
+                return null;
+            }
+            PrintingShop shop = new PrintingShop(name);
+            shop.setId(id);
+            shop.setTotalSales(totalSales);
+            for (EmployeeImpl employee : employees) {
+                shop.addEmployee(employee);
+            }
+            for (Map.Entry<PaperType, Double> pricing : paperPricing.entrySet()) {
+                shop.setPaperPricing(pricing.getKey(), pricing.getValue());
+            }
+            restoreMachines(shop, machines, machineCopies, editions, legacyCopies);
+            PrintingShopFileHandlerWrite.markSaved(shop);
+            return shop;
+        }
+    }
+
+    /**
+     * Class representing the parsing of a line-aligned part of a printing shop file on the fork-join pool.
+     * Parts larger than the threshold are split at a line break near their middle.
+     */
+    private static final class ParseTask extends RecursiveTask<ParsedShop> {
+        private static final long serialVersionUID = 1L;
+        // Parts smaller than this many characters are parsed on the current thread
+        private static final int THRESHOLD = 1 << 18;
+
+        private final String text;
+        private final int start;
+        private final int end;
+
+        /**
+         * Constructor for the ParseTask class.
+         *
+         * @param text  the text of the whole file
+         * @param start the position of the first line of the part
+         * @param end   the position just past the part, at a line break or the end of the text
+         */
+        ParseTask(String text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Parses the part, splitting it if it is large.
+         *
+         * @return the records parsed from the part
+         */
+        @Override
+        protected ParsedShop compute() {
+            if (end - start > THRESHOLD) {
+                int split = lineEnd(text, start + (end - start) / 2);
+                if (split < end) {
+                    ParseTask first = new ParseTask(text, start, split + 1);
+                    first.fork();
+                    ParsedShop second = new ParseTask(text, split + 1, end).compute();
+                    ParsedShop parsed = first.join();
+                    parsed.merge(second);
+                    return parsed;
+                }
+            }
+            ParsedShop parsed = new ParsedShop();
+            ShopLineCursor cursor = new ShopLineCursor();
+            int position = start;
+            while (position < end) {
+                int lineEnd = Math.min(lineEnd(text, position), end);
+                parsed.parseLine(cursor.reset(text, position, trimLineBreak(text, position, lineEnd)));
+                position = lineEnd + 1;
+            }
+            return parsed;
+        }
+    }
 }
@@ -2,72 +2,382 @@ package org.project_printing_shop.printingShop;
 
 import org.project_printing_shop.employees.EmployeeImpl;
 import org.project_printing_shop.employees.Manager;
+import org.project_printing_shop.enums.PaperType;
 import org.project_printing_shop.printable_items.Edition;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Class responsible for writing printing shop data to a file.
+ * The shop is streamed in a single pass: records are appended to one reusable buffer that is handed to the
+ * writer in large chunks. Machines refer to their editions by identifier, and every edition is written once
+ * in the printed editions section, however many machines printed it.
+ * Between full saves, delta saves append only the shop data, machines and editions changed since the last save
+ * to a side file next to the shop file, which is merged when the shop is loaded.
+ * Files are written through a file channel from a large direct buffer. A full save goes to a temporary file
+ * that is moved over the shop file atomically, and every delta save is closed by an end marker, so an interrupted
+ * save leaves the last complete state on disk and never a truncated file. Every full save starts with a new
+ * generation, which the delta saves made on top of it repeat, so deltas left over from an earlier file are ignored.
  */
 public class PrintingShopFileHandlerWrite {
+    // Buffered text is handed to the writer once it grows past this many characters
+    private static final int FLUSH_THRESHOLD = 8192;
+    // Size of the direct buffer the encoded text is written to the file from
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 20;
+    private static final ThreadLocal<ByteBuffer> CHANNEL_BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE));
+    /** Suffix of the side file holding the delta saves of a shop file. */
+    public static final String DELTA_SUFFIX = ".delta";
+    /** Suffix of the temporary file a full save is written to before it replaces the shop file. */
+    public static final String TEMP_SUFFIX = ".tmp";
+    /** Line closing every delta save; delta saves without it were interrupted and are ignored. */
+    static final String DELTA_END = "End Delta";
+    /** Label of the first line of a shop file, naming the generation its delta saves belong to. */
+    static final String GENERATION = "Generation:";
+
+    /**
+     * Saves the PrintingShop data to a file, without forcing it to the storage device.
+     *
+     * @param shop     the printing shop instance to save
+     * @param filename the name of the file to write to
+     * @throws IOException if the file cannot be written; the previous file is then left in place
+     */
+    public static void savePrintingShopToFile(PrintingShop shop, String filename) throws IOException {
+        savePrintingShopToFile(shop, filename, false);
+    }
 
     /**
      * Saves the PrintingShop data to a file.
+     * The shop is written to a temporary file next to the target, which then replaces the target with an atomic move,
+     * so readers and a crash see either the previous or the new file. The delta file of earlier saves is removed
+     * after the move; if it is left behind, it belongs to an earlier generation and is ignored when the shop is loaded.
+     * The shop is marked as saved; if the save fails it is marked as changed again.
      *
      * @param shop     the printing shop instance to save
      * @param filename the name of the file to write to
+     * @param force    whether the file is forced to the storage device before it replaces the target
+     * @throws IOException if the file cannot be written, in which case the previous file is left in place,
+     *                     or if the delta file of earlier saves cannot be removed
      */
-    public static void savePrintingShopToFile(PrintingShop shop, String filename) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            writer.write("PrintingShopID: " + shop.getId());
-            writer.newLine();
-            writer.write("Name: " + shop.getName());
-            writer.newLine();
-            writer.write("Total Sales: " + shop.getTotalSales());
-            writer.newLine();
-            writer.write("Total Expenses: " + shop.calculateTotalExpenses());
-            writer.newLine();
-
-            writer.write("Employees:");
-            writer.newLine();
-            for (EmployeeImpl employee : shop.getEmployees()) {
-                writer.write("Employee: " + serializeEmployee(employee));
-                writer.newLine();
+    public static void savePrintingShopToFile(PrintingShop shop, String filename, boolean force) throws IOException {
+        Path target = Paths.get(filename);
+        Path temp = Paths.get(filename + TEMP_SUFFIX);
+        markSaved(shop);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ChannelWriter writer = new ChannelWriter(channel);
+                writer.write(GENERATION + " " + UUID.randomUUID() + "\n");
+                writePrintingShop(shop, writer);
+                writer.close();
+                if (force) {
+                    channel.force(true);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (force) {
+                forceDirectory(target);
             }
+        } catch (IOException | RuntimeException e) {
+            markChanged(shop);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        Files.deleteIfExists(Paths.get(filename + DELTA_SUFFIX));
+    }
+
+    /**
+     * Saves the changes of the PrintingShop since its last save, without forcing them to the storage device.
+     *
+     * @param shop     the printing shop instance to save
+     * @param filename the name of the shop file
+     * @throws IOException if the changes cannot be written
+     */
+    public static void savePrintingShopDelta(PrintingShop shop, String filename) throws IOException {
+        savePrintingShopDelta(shop, filename, false);
+    }
 
-            writer.write("Machines:");
-            writer.newLine();
-            for (PrintingMachine machine : shop.getMachines()) {
-                writer.write("Machine: " + serializeMachine(machine));
-                writer.newLine();
+    /**
+     * Saves the changes of the PrintingShop since its last save by appending them to the delta file of the shop file.
+     * Only the shop data, machines and editions marked dirty are written, so the cost follows the size of the change.
+     * The delta is bound to the generation of the shop file it was saved on top of.
+     * If the shop file does not exist yet, the whole shop is saved instead. If the save fails, the shop is marked
+     * as changed again and the incomplete delta is ignored when the shop is loaded.
+     *
+     * @param shop     the printing shop instance to save
+     * @param filename the name of the shop file
+     * @param force    whether the delta is forced to the storage device
+     * @throws IOException if the changes cannot be written
+     */
+    public static void savePrintingShopDelta(PrintingShop shop, String filename, boolean force) throws IOException {
+        if (!Files.exists(Paths.get(filename))) {
+            savePrintingShopToFile(shop, filename, force);
+            return;
+        }
+        String generation = readGeneration(Paths.get(filename));
+        try (FileChannel channel = FileChannel.open(Paths.get(filename + DELTA_SUFFIX), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = channel.size();
+            channel.position(end);
+            ChannelWriter writer = new ChannelWriter(channel);
+            if (end > 0 && !endsWithLineBreak(channel, end)) {
+                // An earlier delta save was interrupted mid-line; start this one on a line of its own
+                writer.write('\n');
             }
+            writePrintingShopDelta(shop, writer, generation);
+            writer.close();
+            if (force) {
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            markChanged(shop);
+            throw e;
+        }
+    }
 
-            writer.write("Printed Editions:");
-            writer.newLine();
-            for (PrintingMachine machine : shop.getMachines()) {
-                for (Map.Entry<Edition, Integer> entry : machine.getEditionCopies().entrySet()) {
-                    writer.write("Edition: " + serializeEdition(entry.getKey()) + "=" + entry.getValue());
-                    writer.newLine();
-                }
+    /**
+     * Streams the changes of the PrintingShop since its last save to a writer and marks them as saved.
+     * Machines are written with their position in the shop, so a changed machine replaces the one at that position
+     * when the delta is merged. The employees and the paper prices are written as a whole when the shop's own data
+     * changed. An edition is written when this shop has not saved its current revision yet, even if another shop
+     * holding the edition already saved it.
+     *
+     * @param shop   the printing shop instance to write
+     * @param writer the writer to write to; it is not closed
+     * @throws IOException if writing fails
+     */
+    public static void writePrintingShopDelta(PrintingShop shop, Writer writer) throws IOException {
+        writePrintingShopDelta(shop, writer, null);
+    }
+
+    /**
+     * Streams the changes of the PrintingShop since its last save to a writer, bound to the generation
+     * of the shop file they are saved on top of, and marks them as saved.
+     *
+     * @param shop       the printing shop instance to write
+     * @param writer     the writer to write to; it is not closed
+     * @param generation the generation of the shop file, or null for a file without one
+     * @throws IOException if writing fails
+     */
+    static void writePrintingShopDelta(PrintingShop shop, Writer writer, String generation) throws IOException {
+        StringBuilder sb = new StringBuilder(FLUSH_THRESHOLD * 2);
+        char[] chunk = new char[FLUSH_THRESHOLD * 2];
+
+        sb.append("Delta:");
+        if (generation != null) {
+            sb.append(' ').append(generation);
+        }
+        sb.append('\n');
+        if (shop.clearDirty()) {
+            sb.append("PrintingShopID: ").append(shop.getId()).append('\n');
+            sb.append("Name: ").append(shop.getName()).append('\n');
+            sb.append("Total Sales: ").append(shop.getTotalSales()).append('\n');
+            sb.append("Employees:").append('\n');
+            for (EmployeeImpl employee : shop.getEmployees()) {
+                sb.append("Employee: ");
+                appendEmployee(sb, employee);
+                sb.append('\n');
+                chunk = flushIfFull(sb, writer, chunk);
+            }
+            sb.append("Paper Pricing:").append('\n');
+            for (Map.Entry<PaperType, Double> pricing : shop.getPaperPricing().entrySet()) {
+                sb.append("Paper Pricing: ").append(pricing.getKey()).append(": ").append(pricing.getValue().doubleValue()).append('\n');
             }
+        }
 
-            writer.write("Paper Pricing:");
-            writer.newLine();
-            shop.getPaperPricing().forEach((type, price) -> {
-                try {
-                    writer.write(type + ": " + price);
-                    writer.newLine();
-                } catch (IOException e) {
-                    System.err.println("Failed to write to file: " + e.getMessage());
+        // Flags are cleared before a record is written, so changes made meanwhile are kept for the next delta
+        Map<UUID, Edition> editions = new LinkedHashMap<>();
+        Map<UUID, Long> savedRevisions = shop.getSavedEditionRevisions();
+        int index = 0;
+        for (PrintingMachine machine : shop.getMachines()) {
+            boolean machineChanged = machine.clearDirty();
+            if (machineChanged) {
+                sb.append("Machine ").append(index).append(": ");
+                appendMachineHeader(sb, machine);
+            }
+            for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+                Edition edition = entry.getEdition();
+                if (!editions.containsKey(edition.getId())) {
+                    long revision = edition.getRevision();
+                    edition.clearDirty();
+                    Long saved = savedRevisions.put(edition.getId(), revision);
+                    if (saved == null || saved != revision) {
+                        editions.put(edition.getId(), edition);
+                    }
                 }
-            });
+                if (machineChanged) {
+                    sb.append(", Edition: ").append(edition.getId()).append('=').append(entry.getCopies());
+                }
+            }
+            if (machineChanged) {
+                sb.append('\n');
+                chunk = flushIfFull(sb, writer, chunk);
+            }
+            index++;
+        }
+
+        for (Edition edition : editions.values()) {
+            sb.append("Edition: ");
+            appendEdition(sb, edition);
+            sb.append('\n');
+            chunk = flushIfFull(sb, writer, chunk);
+        }
+        sb.append(DELTA_END).append('\n');
+        flush(sb, writer, chunk);
+    }
+
+    /**
+     * Marks a shop, its machines and their editions as saved.
+     *
+     * @param shop the printing shop
+     */
+    static void markSaved(PrintingShop shop) {
+        shop.clearDirty();
+        Map<UUID, Long> savedRevisions = shop.getSavedEditionRevisions();
+        savedRevisions.clear();
+        for (PrintingMachine machine : shop.getMachines()) {
+            machine.clearDirty();
+            for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+                Edition edition = entry.getEdition();
+                savedRevisions.put(edition.getId(), edition.getRevision());
+                edition.clearDirty();
+            }
+        }
+    }
+
+    /**
+     * Marks a shop, its machines and their editions as changed since the last save, after a save failed.
+     *
+     * @param shop the printing shop
+     */
+    private static void markChanged(PrintingShop shop) {
+        shop.markDirty();
+        shop.getSavedEditionRevisions().clear();
+        for (PrintingMachine machine : shop.getMachines()) {
+            machine.markDirty();
+            for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+                entry.getEdition().markDirty();
+            }
+        }
+    }
+
+    /**
+     * Reads the generation from the first line of a shop file.
+     *
+     * @param file the shop file
+     * @return the generation, or null if the file was saved without one
+     * @throws IOException if the file cannot be read
+     */
+    private static String readGeneration(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || !line.startsWith(GENERATION)) {
+                return null;
+            }
+            return line.substring(GENERATION.length()).trim();
+        }
+    }
 
+    /**
+     * Checks whether a file ends with a line break.
+     *
+     * @param channel the channel of the file
+     * @param size    the size of the file, at least 1
+     * @return true if the last byte of the file is a line feed
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean endsWithLineBreak(FileChannel channel, long size) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        return channel.read(last, size - 1) == 1 && last.get(0) == '\n';
+    }
+
+    /**
+     * Forces the directory entry of a moved file to the storage device.
+     * Not every platform can open a directory as a channel; there the move is left to the file system.
+     *
+     * @param file the moved file
+     */
+    static void forceDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
         } catch (IOException e) {
-            System.out.println("Failed to write to file: " + e.getMessage());
+            // Directories cannot be forced on this platform
+        }
+    }
+
+    /**
+     * Streams the PrintingShop data to a writer.
+     *
+     * @param shop   the printing shop instance to write
+     * @param writer the writer to write to; it is not closed
+     * @throws IOException if writing fails
+     */
+    public static void writePrintingShop(PrintingShop shop, Writer writer) throws IOException {
+        StringBuilder sb = new StringBuilder(FLUSH_THRESHOLD * 2);
+        char[] chunk = new char[FLUSH_THRESHOLD * 2];
+
+        sb.append("PrintingShopID: ").append(shop.getId()).append('\n');
+        sb.append("Name: ").append(shop.getName()).append('\n');
+        sb.append("Total Sales: ").append(shop.getTotalSales()).append('\n');
+        sb.append("Total Expenses: ").append(shop.calculateTotalExpenses()).append('\n');
+
+        sb.append("Employees:").append('\n');
+        for (EmployeeImpl employee : shop.getEmployees()) {
+            sb.append("Employee: ");
+            appendEmployee(sb, employee);
+            sb.append('\n');
+            chunk = flushIfFull(sb, writer, chunk);
+        }
+
+        // Editions are collected while the machines are written and then written once each
+        Map<UUID, Edition> editions = new LinkedHashMap<>();
+        sb.append("Machines:").append('\n');
+        for (PrintingMachine machine : shop.getMachines()) {
+            sb.append("Machine: ");
+            appendMachineHeader(sb, machine);
+            for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+                Edition edition = entry.getEdition();
+                editions.putIfAbsent(edition.getId(), edition);
+                sb.append(", Edition: ").append(edition.getId()).append('=').append(entry.getCopies());
+            }
+            sb.append('\n');
+            chunk = flushIfFull(sb, writer, chunk);
+        }
+
+        sb.append("Printed Editions:").append('\n');
+        for (Edition edition : editions.values()) {
+            sb.append("Edition: ");
+            appendEdition(sb, edition);
+            sb.append('\n');
+            chunk = flushIfFull(sb, writer, chunk);
         }
+
+        sb.append("Paper Pricing:").append('\n');
+        for (Map.Entry<PaperType, Double> pricing : shop.getPaperPricing().entrySet()) {
+            sb.append("Paper Pricing: ").append(pricing.getKey()).append(": ").append(pricing.getValue().doubleValue()).append('\n');
+        }
+        flush(sb, writer, chunk);
     }
 
     /**
@@ -77,29 +387,23 @@ public class PrintingShopFileHandlerWrite {
      * @return the serialized employee string
      */
     public static String serializeEmployee(EmployeeImpl employee) {
-        String employeeType = employee instanceof Manager ? "Manager" : "Operator";
-        String name = employee.getName();
-        double baseSalary = employee.getBaseSalary();
-        String result = employeeType + ": " + name + ", Base Salary: " + baseSalary + ", Salary: " + employee.calculateSalary();
-
-        System.out.println("Serialized employee: " + result);
-        return result;
+        StringBuilder sb = new StringBuilder();
+        appendEmployee(sb, employee);
+        return sb.toString();
     }
 
     /**
      * Serializes a PrintingMachine object to a string.
+     * The machine's editions are referenced by identifier.
      *
      * @param machine the machine to serialize
      * @return the serialized machine string
      */
     public static String serializeMachine(PrintingMachine machine) {
         StringBuilder sb = new StringBuilder();
-        sb.append("Max Capacity: ").append(machine.getMaxCapacity()).append(", ");
-        sb.append("Pages Per Minute: ").append(machine.getPagesPerMinute()).append(", ");
-        sb.append("Color Support: ").append(machine.isColorSupport()).append(", ");
-        sb.append("Current Paper Load: ").append(machine.getCurrentPaperLoad());
-        for (Map.Entry<Edition, Integer> entry : machine.getEditionCopies().entrySet()) {
-            sb.append(", Edition: ").append(serializeEdition(entry.getKey())).append("=").append(entry.getValue());
+        appendMachineHeader(sb, machine);
+        for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+            sb.append(", Edition: ").append(entry.getEdition().getId()).append('=').append(entry.getCopies());
         }
         return sb.toString();
     }
@@ -111,14 +415,179 @@ public class PrintingShopFileHandlerWrite {
      * @return the serialized edition string
      */
     public static String serializeEdition(Edition edition) {
-        return "Type: " + edition.getClass().getSimpleName() + ", " +
-                "Title: " + edition.getTitle() + ", " +
-                "Number of Pages: " + edition.getNumberOfPages() + ", " +
-                "Size: " + edition.getPaper().getSize() + ", " +
-                "Type: " + edition.getPaper().getType() + ", " +
-                "Base Price: " + edition.getPaper().getBasePrice() + ", " +
-                "Unit Price: " + edition.getUnitPrice() + ", " +
-                "Printed Copies: " + edition.getPrintedCopies();
+        StringBuilder sb = new StringBuilder();
+        appendEdition(sb, edition);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the data of an employee to a buffer.
+     *
+     * @param sb       the buffer to append to
+     * @param employee the employee
+     */
+    private static void appendEmployee(StringBuilder sb, EmployeeImpl employee) {
+        sb.append(employee instanceof Manager ? "Manager" : "Operator").append(": ").append(employee.getName())
+                .append(", Base Salary: ").append(employee.getBaseSalary())
+                .append(", Salary: ").append(employee.calculateSalary());
+    }
+
+    /**
+     * Appends the data of a machine, without its editions, to a buffer.
+     *
+     * @param sb      the buffer to append to
+     * @param machine the machine
+     */
+    private static void appendMachineHeader(StringBuilder sb, PrintingMachine machine) {
+        sb.append("Max Capacity: ").append(machine.getMaxCapacity())
+                .append(", Pages Per Minute: ").append(machine.getPagesPerMinute())
+                .append(", Color Support: ").append(machine.isColorSupport())
+                .append(", Current Paper Load: ").append(machine.getCurrentPaperLoad());
     }
-}
 
+    /**
+     * Appends the data of an edition to a buffer.
+     *
+     * @param sb      the buffer to append to
+     * @param edition the edition
+     */
+    private static void appendEdition(StringBuilder sb, Edition edition) {
+        sb.append("Type: ").append(edition.getClass().getSimpleName())
+                .append(", Title: ").append(edition.getTitle())
+                .append(", Number of Pages: ").append(edition.getNumberOfPages())
+                .append(", Size: ").append(edition.getPaper().getSize())
+                .append(", Type: ").append(edition.getPaper().getType())
+                .append(", Base Price: ").append(edition.getPaper().getBasePrice())
+                .append(", Unit Price: ").append(edition.getUnitPrice())
+                .append(", Printed Copies: ").append(edition.getPrintedCopies())
+                .append(", ID: ").append(edition.getId());
+    }
+
+    /**
+     * Hands the buffered text to the writer once the buffer has grown past the flush threshold.
+     *
+     * @param sb     the buffer
+     * @param writer the writer
+     * @param chunk  the reusable character array used for the transfer
+     * @return the character array to use for the next transfer
+     * @throws IOException if writing fails
+     */
+    private static char[] flushIfFull(StringBuilder sb, Writer writer, char[] chunk) throws IOException {
+        return sb.length() < FLUSH_THRESHOLD ? chunk : flush(sb, writer, chunk);
+    }
+
+    /**
+     * Hands the buffered text to the writer and empties the buffer.
+     *
+     * @param sb     the buffer
+     * @param writer the writer
+     * @param chunk  the reusable character array used for the transfer
+     * @return the character array to use for the next transfer, grown if a single record did not fit
+     * @throws IOException if writing fails
+     */
+    private static char[] flush(StringBuilder sb, Writer writer, char[] chunk) throws IOException {
+        if (chunk.length < sb.length()) {
+            chunk = new char[sb.length()];
+        }
+        sb.getChars(0, sb.length(), chunk, 0);
+        writer.write(chunk, 0, sb.length());
+        sb.setLength(0);
+        return chunk;
+    }
+
+    /**
+     * Class representing a writer that encodes text as UTF-8 into a direct buffer and writes it to a file channel
+     * whenever the buffer is full. Closing the writer writes out the rest of the buffer but leaves the channel open.
+     */
+    private static final class ChannelWriter extends Writer {
+        private final FileChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer;
+        // The high surrogate ending the previous write, encoded together with the next character
+        private final CharBuffer pending = CharBuffer.allocate(2);
+
+        /**
+         * Constructor for the ChannelWriter class.
+         *
+         * @param channel the channel to write to, positioned where the text goes
+         */
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = CHANNEL_BUFFERS.get();
+            this.buffer.clear();
+        }
+
+        /**
+         * Encodes characters into the buffer, writing the buffer out whenever it is full.
+         *
+         * @param chars  the characters
+         * @param offset the index of the first character to write
+         * @param length the number of characters to write
+         * @throws IOException if the channel cannot be written
+         */
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (pending.position() > 0 && length > 0) {
+                pending.put(chars[offset]).flip();
+                encode(pending, false);
+                pending.clear();
+                offset++;
+                length--;
+            }
+            CharBuffer in = CharBuffer.wrap(chars, offset, length);
+            encode(in, false);
+            if (in.hasRemaining()) {
+                pending.put(in.get());
+            }
+        }
+
+        /**
+         * Writes the buffered bytes to the channel.
+         *
+         * @throws IOException if the channel cannot be written
+         */
+        @Override
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Finishes the encoding and writes the buffered bytes to the channel.
+         *
+         * @throws IOException if the channel cannot be written
+         */
+        @Override
+        public void close() throws IOException {
+            pending.flip();
+            encode(pending, true);
+            while (encoder.flush(buffer).isOverflow()) {
+                flush();
+            }
+            flush();
+        }
+
+        /**
+         * Encodes characters into the buffer, writing the buffer out whenever it is full.
+         *
+         * @param in         the characters to encode
+         * @param endOfInput whether no characters follow
+         * @throws IOException if the characters cannot be encoded or the channel cannot be written
+         */
+        private void encode(CharBuffer in, boolean endOfInput) throws IOException {
+            while (true) {
+                CoderResult result = encoder.encode(in, buffer, endOfInput);
+                if (result.isOverflow()) {
+                    flush();
+                } else if (result.isUnderflow()) {
+                    return;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+    }
+}
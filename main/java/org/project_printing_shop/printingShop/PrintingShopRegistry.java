@@ -0,0 +1,321 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.enums.ShopRanking;
+import org.project_printing_shop.interfaces.ShopListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class representing a registry of many printing shops that can be ranked against each other.
+ * For every ranking measure the registry keeps the shops in a sorted index. The registry listens to its shops,
+ * and a change of a shop's sales, employees or totals only flags the shop and queues it once, without a lock,
+ * so printing in registered shops is never serialized on the registry. The next top-N, rank or percentile query
+ * moves the queued shops within the indexes and then reads the indexes directly instead of sorting all shops again.
+ */
+public class PrintingShopRegistry implements ShopListener {
+    private static final ShopRanking[] RANKINGS = ShopRanking.values();
+
+    // Entries are added and removed under the registry's lock but looked up without it by the change listener
+    private final Map<PrintingShop, Entry> entries;
+    // Shops changed since the indexes were last brought up to date, each queued at most once
+    private final Queue<Entry> changed;
+    private final RankingIndex[] indexes;
+
+    /**
+     * Constructor for an empty PrintingShopRegistry.
+     */
+    public PrintingShopRegistry() {
+        this.entries = new ConcurrentHashMap<>();
+        this.changed = new ConcurrentLinkedQueue<>();
+        this.indexes = new RankingIndex[RANKINGS.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = new RankingIndex();
+        }
+    }
+
+    /**
+     * Adds a shop to the registry.
+     *
+     * @param shop the shop to add
+     * @return true if the shop was added, false if it already was in the registry
+     */
+    public synchronized boolean addShop(PrintingShop shop) {
+        if (entries.containsKey(shop)) {
+            return false;
+        }
+        Entry entry = new Entry(shop);
+        entries.put(shop, entry);
+        shop.addShopListener(this);
+        // Read after the listener is attached, so a change made meanwhile is queued and not lost
+        entry.values = valuesOf(shop);
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i].insert(entry.values[i], shop);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a shop from the registry.
+     *
+     * @param shop the shop to remove
+     * @return true if the shop was removed, false if it was not in the registry
+     */
+    public synchronized boolean removeShop(PrintingShop shop) {
+        Entry entry = entries.remove(shop);
+        if (entry == null) {
+            return false;
+        }
+        shop.removeShopListener(this);
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i].remove(entry.values[i], shop);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a shop is in the registry.
+     *
+     * @param shop the shop to check
+     * @return true if the shop is in the registry, false otherwise
+     */
+    public synchronized boolean contains(PrintingShop shop) {
+        return entries.containsKey(shop);
+    }
+
+    /**
+     * Gets the number of shops in the registry.
+     *
+     * @return the number of shops
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the shops in the registry.
+     *
+     * @return a new list of the shops
+     */
+    public synchronized List<PrintingShop> getShops() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    /**
+     * Gets the shops ranking highest by a measure.
+     *
+     * @param ranking the measure to rank the shops by
+     * @param count   the maximum number of shops to return
+     * @return a new list of at most count shops, the highest ranking first
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public synchronized List<PrintingShop> getTop(ShopRanking ranking, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of shops cannot be negative.");
+        }
+        applyChanges();
+        RankingIndex index = indexes[ranking.ordinal()];
+        int limit = Math.min(count, index.size);
+        List<PrintingShop> top = new ArrayList<>(limit);
+        for (int i = index.size - 1; i >= index.size - limit; i--) {
+            top.add(index.shops[i]);
+        }
+        return top;
+    }
+
+    /**
+     * Gets the rank of a shop by a measure. Shops with equal values share the best of their ranks.
+     *
+     * @param shop    the shop
+     * @param ranking the measure to rank the shops by
+     * @return the rank of the shop, where 1 is the highest
+     * @throws IllegalArgumentException if the shop is not in the registry
+     */
+    public synchronized int getRank(PrintingShop shop, ShopRanking ranking) {
+        Entry entry = entries.get(shop);
+        if (entry == null) {
+            throw new IllegalArgumentException("The shop is not in the registry.");
+        }
+        applyChanges();
+        RankingIndex index = indexes[ranking.ordinal()];
+        return index.size - index.upperBound(entry.values[ranking.ordinal()]) + 1;
+    }
+
+    /**
+     * Gets the value of a measure at a percentile of the shops, using the nearest-rank method.
+     *
+     * @param ranking    the measure to rank the shops by
+     * @param percentile the percentile, from 0 to 100
+     * @return the value at the percentile, or NaN if the registry is empty
+     * @throws IllegalArgumentException if the percentile is outside the range from 0 to 100
+     */
+    public synchronized double getPercentile(ShopRanking ranking, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+        }
+        applyChanges();
+        RankingIndex index = indexes[ranking.ordinal()];
+        if (index.size == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * index.size);
+        return index.values[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Queues a changed shop to be moved within the indexes by the next query.
+     * Runs on the thread that changed the shop, so it takes no lock; once a shop is queued,
+     * further changes before the next query cost a single read of its flag.
+     *
+     * @param shop the changed shop
+     */
+    @Override
+    public void onShopChanged(PrintingShop shop) {
+        Entry entry = entries.get(shop);
+        if (entry != null && !entry.queued.get() && entry.queued.compareAndSet(false, true)) {
+            changed.add(entry);
+        }
+    }
+
+    /**
+     * Moves the shops changed since the last query to their new positions in the indexes.
+     * A shop is unflagged before its values are read, so a change made while it is being moved queues it again.
+     */
+    private void applyChanges() {
+        Entry entry;
+        while ((entry = changed.poll()) != null) {
+            entry.queued.set(false);
+            if (entries.get(entry.shop) != entry) {
+                continue;
+            }
+            double[] updated = valuesOf(entry.shop);
+            for (int i = 0; i < indexes.length; i++) {
+                if (Double.compare(entry.values[i], updated[i]) != 0) {
+                    indexes[i].remove(entry.values[i], entry.shop);
+                    indexes[i].insert(updated[i], entry.shop);
+                }
+            }
+            entry.values = updated;
+        }
+    }
+
+    /**
+     * Reads the current values of all ranking measures of a shop.
+     *
+     * @param shop the shop
+     * @return the values, in the order of the ranking measures
+     */
+    private static double[] valuesOf(PrintingShop shop) {
+        double[] values = new double[RANKINGS.length];
+        values[ShopRanking.TOTAL_SALES.ordinal()] = shop.getTotalSales();
+        values[ShopRanking.NUMBER_OF_EMPLOYEES.ordinal()] = shop.getEmployees().size();
+        values[ShopRanking.PROFIT.ordinal()] = shop.calculateProfit();
+        return values;
+    }
+
+    /**
+     * Class representing a registered shop and the values it is currently indexed by.
+     */
+    private static final class Entry {
+        private final PrintingShop shop;
+        private final AtomicBoolean queued = new AtomicBoolean();
+        // Values in the order of the ranking measures; read and written only under the registry's lock
+        private double[] values;
+
+        private Entry(PrintingShop shop) {
+            this.shop = shop;
+        }
+    }
+
+    /**
+     * Class representing the shops sorted by the value of one ranking measure, lowest first.
+     * Values and shops are kept in parallel arrays; a shop is moved with a binary search and one array copy.
+     */
+    private static final class RankingIndex {
+        private double[] values = new double[16];
+        private PrintingShop[] shops = new PrintingShop[16];
+        private int size;
+
+        /**
+         * Inserts a shop after all shops with a lower or equal value.
+         *
+         * @param value the value of the shop
+         * @param shop  the shop
+         */
+        void insert(double value, PrintingShop shop) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                shops = Arrays.copyOf(shops, size * 2);
+            }
+            int position = upperBound(value);
+            System.arraycopy(values, position, values, position + 1, size - position);
+            System.arraycopy(shops, position, shops, position + 1, size - position);
+            values[position] = value;
+            shops[position] = shop;
+            size++;
+        }
+
+        /**
+         * Removes a shop indexed with the given value.
+         *
+         * @param value the value the shop is indexed with
+         * @param shop  the shop
+         */
+        void remove(double value, PrintingShop shop) {
+            int position = lowerBound(value);
+            while (shops[position] != shop) {
+                position++;
+            }
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            System.arraycopy(shops, position + 1, shops, position, size - position - 1);
+            size--;
+            shops[size] = null;
+        }
+
+        /**
+         * Finds the position of the first shop with a value not lower than the given one.
+         *
+         * @param value the value
+         * @return the position
+         */
+        int lowerBound(double value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (Double.compare(values[middle], value) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Finds the position of the first shop with a value higher than the given one.
+         *
+         * @param value the value
+         * @return the position
+         */
+        int upperBound(double value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (Double.compare(values[middle], value) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
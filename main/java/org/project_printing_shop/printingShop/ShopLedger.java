@@ -0,0 +1,238 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.employees.EmployeeImpl;
+import org.project_printing_shop.interfaces.EditionListener;
+import org.project_printing_shop.interfaces.PrintListener;
+import org.project_printing_shop.interfaces.SalaryListener;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printable_items.PaperPricingTable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Class keeping the running financial totals of a printing shop.
+ * The ledger listens to the shop's machines, employees and printed editions and updates its totals
+ * as copies are printed, salaries change or editions are repriced, so reading them never rescans the shop.
+ * Income is calculated per edition from the copies printed on all machines of the shop.
+ * Paper costs use the shop's pricing table. The printed sheets are also summed per pricing slot,
+ * so a change of the shop's paper prices recalculates one sum per slot rather than every edition.
+ * After every change of the totals the ledger runs a callback, outside its own lock.
+ */
+class ShopLedger implements PrintListener, SalaryListener, EditionListener {
+    private final Map<UUID, EditionTotals> editions;
+    private double totalSalaries;
+    private double totalIncome;
+    private double totalPaperCosts;
+    private PaperPricingTable pricing;
+    // Sheets printed and their cost at the papers' own prices, by pricing slot
+    private final long[] slotSheets;
+    private final double[] slotPaperCosts;
+    private final Runnable onChange;
+
+    /**
+     * Constructor for an empty ShopLedger.
+     *
+     * @param onChange the callback to run after the totals changed
+     */
+    ShopLedger(Runnable onChange) {
+        this.editions = new HashMap<>();
+        this.pricing = PaperPricingTable.EMPTY;
+        this.slotSheets = new long[PaperPricingTable.SLOTS];
+        this.slotPaperCosts = new double[PaperPricingTable.SLOTS];
+        this.onChange = onChange;
+    }
+
+    /**
+     * Switches to a new version of the pricing table and recalculates the paper costs.
+     * Versions older than the current one are ignored, so concurrent repricings cannot leave an outdated table in use.
+     *
+     * @param pricing the new pricing table
+     */
+    void setPricing(PaperPricingTable pricing) {
+        synchronized (this) {
+            if (pricing.getVersion() <= this.pricing.getVersion()) {
+                return;
+            }
+            this.pricing = pricing;
+            double paperCosts = 0;
+            for (int slot = 0; slot < PaperPricingTable.SLOTS; slot++) {
+                if (slotSheets[slot] != 0) {
+                    paperCosts += pricing.calculateCost(slot, slotSheets[slot], slotPaperCosts[slot]);
+                }
+            }
+            totalPaperCosts = paperCosts;
+        }
+        onChange.run();
+    }
+
+    /**
+     * Starts tracking a machine, including the copies it printed before it was added.
+     * The machine should not be printing while it is being added.
+     *
+     * @param machine the machine to track
+     */
+    synchronized void addMachine(PrintingMachine machine) {
+        for (EditionRegistry.Entry entry : machine.getEditionRegistry().entries()) {
+            addCopies(entry.getEdition(), entry.getCopies());
+        }
+        machine.addPrintListener(this);
+    }
+
+    /**
+     * Starts tracking an employee's salary.
+     *
+     * @param employee the employee to track
+     */
+    synchronized void addEmployee(EmployeeImpl employee) {
+        totalSalaries += employee.calculateSalary();
+        employee.addSalaryListener(this);
+    }
+
+    /**
+     * Gets the total salaries of the tracked employees.
+     *
+     * @return the total salaries
+     */
+    synchronized double getTotalSalaries() {
+        return totalSalaries;
+    }
+
+    /**
+     * Gets the total income from the printed editions.
+     *
+     * @return the total income
+     */
+    synchronized double getTotalIncome() {
+        return totalIncome;
+    }
+
+    /**
+     * Gets the total cost of the paper used for the printed editions.
+     *
+     * @return the total paper costs
+     */
+    synchronized double getTotalPaperCosts() {
+        return totalPaperCosts;
+    }
+
+    /**
+     * Adds the copies of a completed print run to the totals.
+     *
+     * @param machine      the machine that printed the edition
+     * @param edition      the printed edition
+     * @param copies       the number of copies printed in this run
+     * @param totalCopies  the total number of copies of the edition printed by the machine after this run
+     * @param printingTime the estimated printing time of this run in minutes
+     */
+    @Override
+    public void onEditionPrinted(PrintingMachine machine, Edition edition, int copies, int totalCopies, double printingTime) {
+        synchronized (this) {
+            addCopies(edition, copies);
+        }
+        onChange.run();
+    }
+
+    /**
+     * Updates the totals after an employee's salary changed.
+     *
+     * @param employee  the employee whose salary changed
+     * @param oldSalary the salary before the change
+     * @param newSalary the salary after the change
+     */
+    @Override
+    public void onSalaryChanged(EmployeeImpl employee, double oldSalary, double newSalary) {
+        synchronized (this) {
+            totalSalaries += newSalary - oldSalary;
+        }
+        onChange.run();
+    }
+
+    /**
+     * Recalculates the contribution of an edition after its pages, paper or price changed.
+     *
+     * @param edition the changed edition
+     */
+    @Override
+    public void onEditionChanged(Edition edition) {
+        synchronized (this) {
+            EditionTotals totals = editions.get(edition.getId());
+            if (totals == null) {
+                return;
+            }
+            update(totals);
+        }
+        onChange.run();
+    }
+
+    /**
+     * Adds printed copies of an edition and updates its contribution to the totals.
+     *
+     * @param edition the edition
+     * @param copies  the number of copies to add
+     */
+    private void addCopies(Edition edition, int copies) {
+        EditionTotals totals = editions.get(edition.getId());
+        if (totals == null) {
+            totals = new EditionTotals(edition);
+            editions.put(edition.getId(), totals);
+            edition.addEditionListener(this);
+        }
+        totals.copies += copies;
+        update(totals);
+    }
+
+    /**
+     * Recalculates the income and paper costs of an edition and applies the difference to the totals.
+     *
+     * @param totals the totals of the edition
+     */
+    private void update(EditionTotals totals) {
+        Edition edition = totals.edition;
+        double income = edition.calculateIncome(totals.copies);
+        totalIncome += income - totals.income;
+        totals.income = income;
+
+        addSheets(totals.slot, -totals.sheets, -totals.paperCosts);
+        Paper paper = edition.getPaper();
+        totals.slot = PaperPricingTable.slotOf(paper);
+        totals.sheets = totals.copies * edition.getNumberOfPages();
+        totals.paperCosts = totals.sheets * paper.calculatePrice();
+        addSheets(totals.slot, totals.sheets, totals.paperCosts);
+    }
+
+    /**
+     * Adds printed sheets to a pricing slot and their cost to the paper costs.
+     *
+     * @param slot       the pricing slot of the sheets
+     * @param sheets     the number of sheets, negative to remove sheets
+     * @param paperCosts the cost of the sheets at their papers' own prices
+     */
+    private void addSheets(int slot, long sheets, double paperCosts) {
+        if (sheets == 0) {
+            return;
+        }
+        slotSheets[slot] += sheets;
+        slotPaperCosts[slot] += paperCosts;
+        totalPaperCosts += pricing.calculateCost(slot, sheets, paperCosts);
+    }
+
+    /**
+     * Class holding the copies of one edition and its current contribution to the totals.
+     */
+    private static final class EditionTotals {
+        private final Edition edition;
+        private long copies;
+        private double income;
+        private int slot;
+        private long sheets;
+        // Cost of the sheets at the paper's own price
+        private double paperCosts;
+
+        private EditionTotals(Edition edition) {
+            this.edition = edition;
+        }
+    }
+}
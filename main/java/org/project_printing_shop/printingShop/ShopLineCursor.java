@@ -0,0 +1,430 @@
+package org.project_printing_shop.printingShop;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Class representing a cursor over one line of the printing shop text format.
+ * The cursor scans the line from left to right exactly once and decodes numbers, booleans, enums and
+ * identifiers in place, so parsing a record does not split the line or create substrings for its fields.
+ * Only free text such as names and titles is copied out.
+ */
+final class ShopLineCursor {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Largest mantissa that a double holds exactly
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private CharSequence text;
+    private int lineStart;
+    private int position;
+    private int end;
+
+    /**
+     * Points the cursor at the start of a whole line.
+     *
+     * @param line the line to scan
+     * @return this cursor
+     */
+    ShopLineCursor reset(CharSequence line) {
+        return reset(line, 0, line.length());
+    }
+
+    /**
+     * Points the cursor at a line held in a larger character sequence.
+     *
+     * @param text  the text holding the line
+     * @param start the index of the first character of the line
+     * @param end   the index just past the last character of the line
+     * @return this cursor
+     */
+    ShopLineCursor reset(CharSequence text, int start, int end) {
+        this.text = text;
+        this.lineStart = start;
+        this.position = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * Checks whether the whole line has been consumed.
+     *
+     * @return true if the cursor is at the end of the line
+     */
+    boolean atEnd() {
+        return position >= end;
+    }
+
+    /**
+     * Gets the current position of the cursor in the underlying text.
+     *
+     * @return the current position
+     */
+    int position() {
+        return position;
+    }
+
+    /**
+     * Checks whether the line continues with the given literal, without consuming it.
+     *
+     * @param literal the literal to look for
+     * @return true if the literal follows at the current position
+     */
+    boolean startsWith(String literal) {
+        int length = literal.length();
+        if (end - position < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(position + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Consumes the given literal if the line continues with it.
+     *
+     * @param literal the literal to consume
+     * @return true if the literal was consumed
+     */
+    boolean skip(String literal) {
+        if (!startsWith(literal)) {
+            return false;
+        }
+        position += literal.length();
+        return true;
+    }
+
+    /**
+     * Consumes the given literal.
+     *
+     * @param literal the literal to consume
+     * @throws IllegalArgumentException if the line does not continue with the literal
+     */
+    void expect(String literal) {
+        if (!skip(literal)) {
+            throw error("Expected '" + literal + "'");
+        }
+    }
+
+    /**
+     * Skips a field label by consuming everything up to and including the next ": ".
+     *
+     * @throws IllegalArgumentException if the rest of the line has no label separator
+     */
+    void skipLabel() {
+        for (int i = position; i + 1 < end; i++) {
+            if (text.charAt(i) == ':' && text.charAt(i + 1) == ' ') {
+                position = i + 2;
+                return;
+            }
+        }
+        throw error("Expected a field label");
+    }
+
+    /**
+     * Reads free text up to the given terminator, which is consumed as well.
+     *
+     * @param terminator the literal ending the text
+     * @return the text, with surrounding whitespace removed
+     * @throws IllegalArgumentException if the terminator does not occur in the rest of the line
+     */
+    String readText(String terminator) {
+        int start = position;
+        int length = terminator.length();
+        for (int i = position; i + length <= end; i++) {
+            if (text.charAt(i) == terminator.charAt(0) && regionMatches(i, terminator)) {
+                position = i + length;
+                return text.subSequence(start, i).toString().trim();
+            }
+        }
+        throw error("Expected '" + terminator + "'");
+    }
+
+    /**
+     * Moves the cursor to the next occurrence of the given literal without consuming it,
+     * or to the end of the line if the literal does not occur in the rest of the line.
+     *
+     * @param literal the literal to move to
+     */
+    void skipTo(String literal) {
+        int length = literal.length();
+        for (int i = position; i + length <= end; i++) {
+            if (text.charAt(i) == literal.charAt(0) && regionMatches(i, literal)) {
+                position = i;
+                return;
+            }
+        }
+        position = end;
+    }
+
+    /**
+     * Copies a part of the line that has already been scanned.
+     *
+     * @param from the position of the first character
+     * @param to   the position just past the last character
+     * @return the copied text
+     */
+    String slice(int from, int to) {
+        return text.subSequence(from, to).toString();
+    }
+
+    /**
+     * Reads the rest of the line as text.
+     *
+     * @return the rest of the line, with surrounding whitespace removed
+     */
+    String readRest() {
+        String rest = text.subSequence(position, end).toString().trim();
+        position = end;
+        return rest;
+    }
+
+    /**
+     * Reads a decimal integer.
+     *
+     * @return the integer value
+     * @throws IllegalArgumentException if no valid integer follows
+     */
+    int readInt() {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("Integer out of range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a decimal long integer.
+     *
+     * @return the long value
+     * @throws IllegalArgumentException if no valid integer follows
+     */
+    long readLong() {
+        skipSpaces();
+        boolean negative = skip("-");
+        int start = position;
+        long value = 0;
+        while (position < end) {
+            int digit = text.charAt(position) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                throw error("Integer out of range");
+            }
+            value = value * 10 + digit;
+            position++;
+        }
+        if (position == start) {
+            throw error("Expected an integer");
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads a decimal floating point number as written by Double.toString.
+     * Numbers with up to 15 significant digits and a small exponent are decoded exactly in place;
+     * anything else falls back to Double.parseDouble.
+     *
+     * @return the double value
+     * @throws IllegalArgumentException if no valid number follows
+     */
+    double readDouble() {
+        skipSpaces();
+        int start = position;
+        boolean negative = skip("-");
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean exact = true;
+        boolean fraction = false;
+        while (position < end) {
+            char c = text.charAt(position);
+            if (c >= '0' && c <= '9') {
+                if (mantissa == 0 && c == '0') {
+                    if (fraction) {
+                        scale--;
+                    }
+                } else if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (fraction) {
+                        scale--;
+                    }
+                } else {
+                    exact = false;
+                    if (!fraction) {
+                        scale++;
+                    }
+                }
+                position++;
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+                position++;
+            } else {
+                break;
+            }
+        }
+        if (position == start || (position == start + 1 && negative)) {
+            return readDoubleFallback(start);
+        }
+        if (position < end && (text.charAt(position) == 'E' || text.charAt(position) == 'e')) {
+            position++;
+            scale += (int) readLong();
+        }
+        if (position < end && Character.isLetter(text.charAt(position))) {
+            return readDoubleFallback(start);
+        }
+        if (!exact || mantissa >= MAX_EXACT_MANTISSA || scale < -22 || scale > 22) {
+            return Double.parseDouble(text.subSequence(start, position).toString());
+        }
+        double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads a boolean written as true or false.
+     *
+     * @return the boolean value
+     * @throws IllegalArgumentException if no boolean follows
+     */
+    boolean readBoolean() {
+        skipSpaces();
+        if (skip("true")) {
+            return true;
+        }
+        if (skip("false")) {
+            return false;
+        }
+        throw error("Expected a boolean");
+    }
+
+    /**
+     * Reads an enum constant by its name.
+     *
+     * @param values the constants of the enum
+     * @param <E>    the enum type
+     * @return the constant whose name follows
+     * @throws IllegalArgumentException if no constant name follows
+     */
+    <E extends Enum<E>> E readEnum(E[] values) {
+        skipSpaces();
+        E match = null;
+        for (E value : values) {
+            String name = value.name();
+            if (startsWith(name) && (match == null || name.length() > match.name().length())) {
+                int after = position + name.length();
+                if (after == end || !Character.isJavaIdentifierPart(text.charAt(after))) {
+                    match = value;
+                }
+            }
+        }
+        if (match == null) {
+            throw error("Expected one of " + Arrays.toString(values));
+        }
+        position += match.name().length();
+        return match;
+    }
+
+    /**
+     * Reads a UUID in its standard 36 character form.
+     *
+     * @return the UUID
+     * @throws IllegalArgumentException if no valid UUID follows
+     */
+    UUID readUuid() {
+        skipSpaces();
+        if (end - position < 36) {
+            throw error("Expected a UUID");
+        }
+        long mostSignificant = readHex(8);
+        expect("-");
+        mostSignificant = (mostSignificant << 16) | readHex(4);
+        expect("-");
+        mostSignificant = (mostSignificant << 16) | readHex(4);
+        expect("-");
+        long leastSignificant = readHex(4);
+        expect("-");
+        leastSignificant = (leastSignificant << 48) | readHex(12);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Reads a fixed number of hexadecimal digits.
+     *
+     * @param count the number of digits
+     * @return the value of the digits
+     * @throws IllegalArgumentException if a character is not a hexadecimal digit
+     */
+    private long readHex(int count) {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = Character.digit(text.charAt(position++), 16);
+            if (digit < 0) {
+                throw error("Expected a hexadecimal digit");
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a number the fast path cannot handle, such as NaN or Infinity.
+     *
+     * @param start the position where the number starts
+     * @return the double value
+     * @throws IllegalArgumentException if no valid number follows
+     */
+    private double readDoubleFallback(int start) {
+        position = start;
+        while (position < end && text.charAt(position) != ',' && text.charAt(position) != '=') {
+            position++;
+        }
+        try {
+            return Double.parseDouble(text.subSequence(start, position).toString().trim());
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Expected a number");
+        }
+    }
+
+    /**
+     * Checks whether the literal occurs at the given position.
+     *
+     * @param at      the position to check
+     * @param literal the literal
+     * @return true if the literal occurs at the position
+     */
+    private boolean regionMatches(int at, String literal) {
+        for (int i = 1; i < literal.length(); i++) {
+            if (text.charAt(at + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips spaces at the current position.
+     */
+    private void skipSpaces() {
+        while (position < end && text.charAt(position) == ' ') {
+            position++;
+        }
+    }
+
+    /**
+     * Creates an exception describing a parse error at the current position.
+     *
+     * @param message the description of the error
+     * @return the exception
+     */
+    IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at column " + (position - lineStart) + ": " + text.subSequence(lineStart, end));
+    }
+}
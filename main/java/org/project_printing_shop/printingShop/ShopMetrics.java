@@ -0,0 +1,165 @@
+package org.project_printing_shop.printingShop;
+
+import org.project_printing_shop.interfaces.PrintListener;
+import org.project_printing_shop.printable_items.Edition;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class collecting the operational metrics of a printing shop and its machines.
+ * The metrics listen to the shop's machines and count printed pages, copies and print runs per machine,
+ * rejected print runs by the type of the exception, and the latency of jobs routed by the shop's scheduler.
+ * All updates are striped counters, so recording costs the printing threads almost nothing,
+ * and snapshots can be exported while the machines keep printing. Taking a snapshot changes no state,
+ * so any number of exporters can take snapshots independently and compute rates between their own snapshots.
+ */
+public class ShopMetrics implements PrintListener {
+    private final Map<PrintingMachine, MachineCounters> countersByMachine;
+    private final List<MachineCounters> machines;
+    // Jobs the shop refused before they reached a machine
+    private final Map<Class<? extends Exception>, LongAdder> shopRejections;
+    private final LatencyHistogram jobLatency;
+
+    /**
+     * Constructor for ShopMetrics tracking no machines.
+     */
+    public ShopMetrics() {
+        this.countersByMachine = new ConcurrentHashMap<>();
+        this.machines = new CopyOnWriteArrayList<>();
+        this.shopRejections = new ConcurrentHashMap<>();
+        this.jobLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Starts collecting the metrics of a machine.
+     *
+     * @param machine the machine to track
+     */
+    public void addMachine(PrintingMachine machine) {
+        MachineCounters counters = new MachineCounters(machine);
+        if (countersByMachine.putIfAbsent(machine, counters) == null) {
+            machines.add(counters);
+            machine.addPrintListener(this);
+        }
+    }
+
+    /**
+     * Counts the pages, copies and run of a completed print run.
+     *
+     * @param machine      the machine that printed the edition
+     * @param edition      the printed edition
+     * @param copies       the number of copies printed in this run
+     * @param totalCopies  the total number of copies of the edition printed by the machine after this run
+     * @param printingTime the estimated printing time of this run in minutes
+     */
+    @Override
+    public void onEditionPrinted(PrintingMachine machine, Edition edition, int copies, int totalCopies, double printingTime) {
+        MachineCounters counters = countersByMachine.get(machine);
+        if (counters != null) {
+            counters.pages.add((long) edition.getNumberOfPages() * copies);
+            counters.copies.add(copies);
+            counters.runs.increment();
+        }
+    }
+
+    /**
+     * Counts a print run refused by a machine.
+     *
+     * @param machine the machine that refused the print run
+     * @param edition the edition that was to be printed
+     * @param copies  the number of copies that were requested
+     * @param reason  the exception that is thrown to the caller
+     */
+    @Override
+    public void onPrintRejected(PrintingMachine machine, Edition edition, int copies, Exception reason) {
+        MachineCounters counters = countersByMachine.get(machine);
+        if (counters != null) {
+            increment(counters.rejections, reason);
+        }
+    }
+
+    /**
+     * Counts a job the shop refused before it reached any machine.
+     *
+     * @param reason the exception that is thrown to the caller
+     */
+    public void recordRejection(Exception reason) {
+        increment(shopRejections, reason);
+    }
+
+    /**
+     * Records the time a job took from its submission to the end of its print run.
+     *
+     * @param nanos the latency of the job in nanoseconds
+     */
+    public void recordJobLatency(long nanos) {
+        jobLatency.record(nanos);
+    }
+
+    /**
+     * Takes a snapshot of the cumulative metrics. Printing rates are computed from two snapshots
+     * with MetricsSnapshot.MachineSnapshot.getPagesPerSecond.
+     *
+     * @return the snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        long now = System.nanoTime();
+        List<MetricsSnapshot.MachineSnapshot> machineSnapshots = new ArrayList<>(machines.size());
+        Map<String, Long> rejections = countsByName(shopRejections);
+        for (MachineCounters counters : machines) {
+            Map<String, Long> machineRejections = countsByName(counters.rejections);
+            for (Map.Entry<String, Long> rejection : machineRejections.entrySet()) {
+                rejections.merge(rejection.getKey(), rejection.getValue(), Long::sum);
+            }
+            machineSnapshots.add(new MetricsSnapshot.MachineSnapshot(counters.machine, counters.pages.sum(), counters.copies.sum(),
+                    counters.runs.sum(), counters.trackedSince, now, counters.machine.getCurrentPaperLoad(), machineRejections));
+        }
+        return new MetricsSnapshot(now, machineSnapshots, rejections, jobLatency.snapshot());
+    }
+
+    /**
+     * Increments the counter of the exception's type.
+     *
+     * @param counters the counters by exception type
+     * @param reason   the exception
+     */
+    private static void increment(Map<Class<? extends Exception>, LongAdder> counters, Exception reason) {
+        counters.computeIfAbsent(reason.getClass(), type -> new LongAdder()).increment();
+    }
+
+    /**
+     * Reads counters by exception type into counts by the simple name of the exception type.
+     *
+     * @param counters the counters by exception type
+     * @return a new map of counts by exception name
+     */
+    private static Map<String, Long> countsByName(Map<Class<? extends Exception>, LongAdder> counters) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<Class<? extends Exception>, LongAdder> counter : counters.entrySet()) {
+            counts.merge(counter.getKey().getSimpleName(), counter.getValue().sum(), Long::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Class holding the counters of one machine.
+     */
+    private static final class MachineCounters {
+        private final PrintingMachine machine;
+        private final LongAdder pages = new LongAdder();
+        private final LongAdder copies = new LongAdder();
+        private final LongAdder runs = new LongAdder();
+        private final Map<Class<? extends Exception>, LongAdder> rejections = new ConcurrentHashMap<>();
+        private final long trackedSince = System.nanoTime();
+
+        private MachineCounters(PrintingMachine machine) {
+            this.machine = machine;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.project_printing_shop.printingShop;
+
+/**
+ * Class representing one order of an order stream replayed by a FleetSimulator.
+ * Only what the simulation needs is kept: when the order arrives, how many sheets it prints and whether in color.
+ */
+public final class SimulatedOrder {
+    private final double arrivalMinute;
+    private final long sheets;
+    private final boolean color;
+
+    /**
+     * Constructor for the SimulatedOrder class.
+     *
+     * @param arrivalMinute the minute the order arrives, counted from the start of the simulation
+     * @param sheets        the number of sheets the order prints
+     * @param color         whether the order is printed in color
+     * @throws IllegalArgumentException if the arrival minute is negative or the number of sheets is not positive
+     */
+    public SimulatedOrder(double arrivalMinute, long sheets, boolean color) {
+        if (!(arrivalMinute >= 0)) {
+            throw new IllegalArgumentException("The arrival minute cannot be negative.");
+        }
+        if (sheets <= 0) {
+            throw new IllegalArgumentException("The number of sheets must be positive.");
+        }
+        this.arrivalMinute = arrivalMinute;
+        this.sheets = sheets;
+        this.color = color;
+    }
+
+    /**
+     * Constructor for a SimulatedOrder replaying a recorded print job.
+     *
+     * @param arrivalMinute the minute the job arrived, counted from the start of the simulation
+     * @param job           the recorded print job
+     */
+    public SimulatedOrder(double arrivalMinute, PrintJob job) {
+        this(arrivalMinute, job.getSheetsRequired(), job.isColor());
+    }
+
+    /**
+     * Gets the minute the order arrives.
+     *
+     * @return the arrival minute
+     */
+    public double getArrivalMinute() {
+        return arrivalMinute;
+    }
+
+    /**
+     * Gets the number of sheets the order prints.
+     *
+     * @return the number of sheets
+     */
+    public long getSheets() {
+        return sheets;
+    }
+
+    /**
+     * Checks if the order is printed in color.
+     *
+     * @return true if the order is printed in color, false otherwise
+     */
+    public boolean isColor() {
+        return color;
+    }
+
+    /**
+     * Returns a string representation of the order.
+     *
+     * @return a string representation of the order
+     */
+    @Override
+    public String toString() {
+        return "SimulatedOrder{" +
+                "arrivalMinute=" + arrivalMinute +
+                ", sheets=" + sheets +
+                ", color=" + color +
+                '}';
+    }
+}
@@ -0,0 +1,219 @@
+package org.project_printing_shop.printingShop;
+
+import java.util.Arrays;
+
+/**
+ * Class representing the outcome of a FleetSimulator run: throughput, queue wait and the utilization of every machine.
+ * The simulated period runs from minute 0 until the last order is finished. Machines are numbered in the order
+ * of the simulated fleet.
+ */
+public class SimulationReport {
+    private final int completedOrders;
+    private final int rejectedOrders;
+    private final long sheetsPrinted;
+    private final double simulatedMinutes;
+    private final double[] sortedWaits;
+    private final double[] printingMinutes;
+    private final int[] reloads;
+    private final double reloadMinutes;
+    private final int[] jobs;
+
+    /**
+     * Constructor for the SimulationReport class.
+     *
+     * @param completedOrders  the number of orders printed
+     * @param rejectedOrders   the number of orders no machine of the fleet could print
+     * @param sheetsPrinted    the number of sheets printed
+     * @param simulatedMinutes the minute the last order was finished
+     * @param sortedWaits      the queue wait of every printed order in minutes, sorted lowest first
+     * @param printingMinutes  the minutes each machine spent printing
+     * @param reloads          the number of paper reloads of each machine
+     * @param reloadMinutes    the minutes a machine stands idle during a reload
+     * @param jobs             the number of orders printed by each machine
+     */
+    SimulationReport(int completedOrders, int rejectedOrders, long sheetsPrinted, double simulatedMinutes, double[] sortedWaits,
+                     double[] printingMinutes, int[] reloads, double reloadMinutes, int[] jobs) {
+        this.completedOrders = completedOrders;
+        this.rejectedOrders = rejectedOrders;
+        this.sheetsPrinted = sheetsPrinted;
+        this.simulatedMinutes = simulatedMinutes;
+        this.sortedWaits = sortedWaits;
+        this.printingMinutes = printingMinutes;
+        this.reloads = reloads;
+        this.reloadMinutes = reloadMinutes;
+        this.jobs = jobs;
+    }
+
+    /**
+     * Gets the number of orders printed.
+     *
+     * @return the number of printed orders
+     */
+    public int getCompletedOrders() {
+        return completedOrders;
+    }
+
+    /**
+     * Gets the number of orders no machine of the fleet could print.
+     *
+     * @return the number of rejected orders
+     */
+    public int getRejectedOrders() {
+        return rejectedOrders;
+    }
+
+    /**
+     * Gets the number of sheets printed.
+     *
+     * @return the number of printed sheets
+     */
+    public long getSheetsPrinted() {
+        return sheetsPrinted;
+    }
+
+    /**
+     * Gets the length of the simulated period.
+     *
+     * @return the minute the last order was finished
+     */
+    public double getSimulatedMinutes() {
+        return simulatedMinutes;
+    }
+
+    /**
+     * Gets the number of orders printed per hour of the simulated period.
+     *
+     * @return the order throughput per hour, 0 if nothing was printed
+     */
+    public double getOrdersPerHour() {
+        return simulatedMinutes > 0 ? completedOrders * 60 / simulatedMinutes : 0;
+    }
+
+    /**
+     * Gets the number of sheets printed per hour of the simulated period.
+     *
+     * @return the sheet throughput per hour, 0 if nothing was printed
+     */
+    public double getSheetsPerHour() {
+        return simulatedMinutes > 0 ? sheetsPrinted * 60 / simulatedMinutes : 0;
+    }
+
+    /**
+     * Gets the average time an order waited between its arrival and the start of its machine.
+     *
+     * @return the mean queue wait in minutes, 0 if nothing was printed
+     */
+    public double getMeanWaitMinutes() {
+        double total = 0;
+        for (double wait : sortedWaits) {
+            total += wait;
+        }
+        return sortedWaits.length > 0 ? total / sortedWaits.length : 0;
+    }
+
+    /**
+     * Gets the longest time an order waited for a machine.
+     *
+     * @return the longest queue wait in minutes, 0 if nothing was printed
+     */
+    public double getMaxWaitMinutes() {
+        return sortedWaits.length > 0 ? sortedWaits[sortedWaits.length - 1] : 0;
+    }
+
+    /**
+     * Gets the queue wait at a percentile of the printed orders, using the nearest-rank method.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the queue wait in minutes at the percentile, or NaN if nothing was printed
+     * @throws IllegalArgumentException if the percentile is outside the range from 0 to 100
+     */
+    public double getWaitPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+        }
+        if (sortedWaits.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedWaits.length);
+        return sortedWaits[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Gets the number of machines in the simulated fleet.
+     *
+     * @return the number of machines
+     */
+    public int getMachineCount() {
+        return jobs.length;
+    }
+
+    /**
+     * Gets the number of orders printed by a machine.
+     *
+     * @param machine the number of the machine
+     * @return the number of orders
+     */
+    public int getJobs(int machine) {
+        return jobs[machine];
+    }
+
+    /**
+     * Gets the number of times a machine stopped for paper.
+     *
+     * @param machine the number of the machine
+     * @return the number of reloads
+     */
+    public int getReloads(int machine) {
+        return reloads[machine];
+    }
+
+    /**
+     * Gets the share of the simulated period a machine spent printing.
+     *
+     * @param machine the number of the machine
+     * @return the utilization, from 0 to 1
+     */
+    public double getUtilization(int machine) {
+        return simulatedMinutes > 0 ? printingMinutes[machine] / simulatedMinutes : 0;
+    }
+
+    /**
+     * Gets the share of the simulated period a machine stood idle for paper reloads.
+     *
+     * @param machine the number of the machine
+     * @return the share of reload time, from 0 to 1
+     */
+    public double getReloadShare(int machine) {
+        return simulatedMinutes > 0 ? reloads[machine] * reloadMinutes / simulatedMinutes : 0;
+    }
+
+    /**
+     * Gets the average utilization of all machines of the fleet.
+     *
+     * @return the average utilization, from 0 to 1
+     */
+    public double getFleetUtilization() {
+        if (printingMinutes.length == 0 || simulatedMinutes <= 0) {
+            return 0;
+        }
+        return Arrays.stream(printingMinutes).sum() / (printingMinutes.length * simulatedMinutes);
+    }
+
+    /**
+     * Returns a string representation of the report.
+     *
+     * @return a string representation of the report
+     */
+    @Override
+    public String toString() {
+        return "SimulationReport{" +
+                "completedOrders=" + completedOrders +
+                ", rejectedOrders=" + rejectedOrders +
+                ", simulatedMinutes=" + simulatedMinutes +
+                ", ordersPerHour=" + getOrdersPerHour() +
+                ", meanWaitMinutes=" + getMeanWaitMinutes() +
+                ", p95WaitMinutes=" + getWaitPercentile(95) +
+                ", fleetUtilization=" + getFleetUtilization() +
+                '}';
+    }
+}
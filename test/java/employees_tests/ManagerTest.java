@@ -4,6 +4,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.project_printing_shop.employees.Manager;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Test class for Manager.
  * This class contains unit tests for validating the behavior of the Manager class.
@@ -136,4 +139,65 @@ class ManagerTest {
         Manager manager = new Manager("Marina", 1000, 10, 5000, 6000);
         assertEquals(1100, manager.calculateSalary());
     }
+
+    /**
+     * Test to verify that added revenue counts towards the bonus and that the salary listeners
+     * are notified only when the revenue crosses the revenue limit.
+     */
+    @Test
+    public void testAddRevenueNotifiesOnlyWhenCrossingLimit() {
+        Manager manager = new Manager("Marina", 1000, 10, 5000, 0);
+        List<Double> salaries = new ArrayList<>();
+        manager.addSalaryListener((employee, oldSalary, newSalary) -> salaries.add(newSalary));
+
+        manager.addRevenue(3000);
+        manager.addRevenue(2000);
+        assertEquals(1000, manager.calculateSalary());
+        assertTrue(salaries.isEmpty());
+
+        manager.addRevenue(1);
+        manager.addRevenue(1000);
+        assertEquals(6001, manager.getCurrentRevenue());
+        assertEquals(1100, manager.calculateSalary());
+        assertEquals(List.of(1100.0), salaries);
+
+        manager.setCurrentRevenue(0);
+        assertEquals(List.of(1100.0, 1000.0), salaries);
+        assertThrows(IllegalArgumentException.class, () -> manager.addRevenue(-1));
+    }
+
+    /**
+     * Tests that the last salary reported to the listeners matches the salary of the manager
+     * when revenue is added and reset from several threads at once.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the threads
+     */
+    @Test
+    public void testBonusFollowsRevenueUnderConcurrentUpdates() throws InterruptedException {
+        Manager manager = new Manager("Marina", 1000, 10, 5000, 0);
+        double[] lastSalary = {1000};
+        manager.addSalaryListener((employee, oldSalary, newSalary) -> lastSalary[0] = newSalary);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 20_000; j++) {
+                    manager.addRevenue(1000);
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            for (int j = 0; j < 20_000; j++) {
+                manager.setCurrentRevenue(0);
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(manager.calculateSalary(), lastSalary[0]);
+        assertEquals(manager.getCurrentRevenue() > 5000 ? 1100 : 1000, manager.calculateSalary());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package employees_tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.employees.Manager;
+import org.project_printing_shop.employees.Operator;
+import org.project_printing_shop.employees.PayrollEngine;
+
+import java.util.Arrays;
+
+/**
+ * Test class for the PayrollEngine class.
+ * This class contains unit tests to validate the column-wise payroll computation.
+ */
+class PayrollEngineTest {
+
+    /**
+     * Test to verify that the payroll matches the salaries calculated by the employees.
+     */
+    @Test
+    void testRecomputeMatchesCalculatedSalaries() {
+        PayrollEngine payroll = new PayrollEngine();
+        double expected = 0;
+        for (int i = 0; i < 100; i++) {
+            Manager manager = new Manager("Manager " + i, 2000 + i, 10 + i % 5, 5000, i * 100);
+            Operator operator = new Operator("Operator " + i, 1500 + i);
+            payroll.addEmployees(Arrays.asList(manager, operator));
+            expected += manager.calculateSalary() + operator.calculateSalary();
+        }
+        assertEquals(200, payroll.size());
+        assertEquals(expected, payroll.getTotalSalaries(), 1e-6);
+        assertEquals(expected, payroll.recompute(), 1e-6);
+    }
+
+    /**
+     * Test to verify that a change of a manager's current revenue updates only that manager's salary.
+     */
+    @Test
+    void testIncrementalRevenueUpdate() {
+        PayrollEngine payroll = new PayrollEngine();
+        Manager manager = new Manager("John", 2000, 10, 5000, 1000);
+        Operator operator = new Operator("Jane", 1500);
+        payroll.addEmployee(manager);
+        payroll.addEmployee(operator);
+        assertEquals(3500, payroll.getTotalSalaries());
+
+        manager.setCurrentRevenue(6000);
+        assertEquals(2200, payroll.getSalary(manager));
+        assertEquals(3700, payroll.getTotalSalaries());
+
+        manager.setCurrentRevenue(1000);
+        assertEquals(3500, payroll.getTotalSalaries());
+    }
+
+    /**
+     * Test to verify adding an employee twice and removing employees.
+     */
+    @Test
+    void testAddAndRemoveEmployees() {
+        PayrollEngine payroll = new PayrollEngine();
+        Manager manager = new Manager("John", 2000, 10, 5000, 6000);
+        Operator operator = new Operator("Jane", 1500);
+        assertTrue(payroll.addEmployee(manager));
+        assertTrue(payroll.addEmployee(operator));
+        assertFalse(payroll.addEmployee(manager));
+
+        assertTrue(payroll.removeEmployee(manager));
+        assertFalse(payroll.removeEmployee(manager));
+        assertEquals(1, payroll.size());
+        assertEquals(1500, payroll.getTotalSalaries());
+        assertEquals(1500, payroll.getSalary(operator));
+        assertThrows(IllegalArgumentException.class, () -> payroll.getSalary(manager));
+
+        manager.setCurrentRevenue(0);
+        assertEquals(1500, payroll.getTotalSalaries());
+    }
+}
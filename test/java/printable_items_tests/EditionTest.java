@@ -204,4 +204,19 @@ public class EditionTest {
         edition.setPrintedCopies(50);
         assertEquals(50, edition.getPrintedCopies());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to verify that editions are equal exactly when their identifiers are equal.
+     * Ensures that an edition restored with the same identifier matches the original, including its hash code.
+     */
+    @Test
+    public void testEqualsAndHashCodeById() {
+        Edition original = new Book("Java Programming", 300, standardPaper, 15.00);
+        Edition restored = new Book("Java Programming", 300, standardPaper, 15.00);
+        assertNotEquals(original, restored);
+
+        restored.setId(original.getId());
+        assertEquals(original, restored);
+        assertEquals(original.hashCode(), restored.hashCode());
+    }
+}
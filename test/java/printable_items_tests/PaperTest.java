@@ -67,4 +67,16 @@ class PaperTest {
         Paper paper = new Paper(PaperSize.A4, PaperType.STANDARD, 1000.0);
         assertEquals(1000.0 * 1.5, paper.calculatePrice());
     }
+
+    /**
+     * Test to verify the size multipliers used to scale paper prices.
+     */
+    @Test
+    public void testGetSizeMultiplier() {
+        assertEquals(4.0, Paper.getSizeMultiplier(PaperSize.A1));
+        assertEquals(3.0, Paper.getSizeMultiplier(PaperSize.A2));
+        assertEquals(2.0, Paper.getSizeMultiplier(PaperSize.A3));
+        assertEquals(1.5, Paper.getSizeMultiplier(PaperSize.A4));
+        assertEquals(1.0, Paper.getSizeMultiplier(PaperSize.A5));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package printable_items_tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printable_items.VolumeDiscountTable;
+
+/**
+ * Test class for the VolumeDiscountTable class.
+ * This class contains unit tests to validate the tiered income calculation.
+ */
+class VolumeDiscountTableTest {
+
+    /**
+     * Test to verify that the default table keeps the discount of 10% beyond 100 copies.
+     */
+    @Test
+    void testDefaultTable() {
+        VolumeDiscountTable table = VolumeDiscountTable.DEFAULT;
+        assertEquals(0.0, table.calculateIncome(5.0, 0));
+        assertEquals(250.0, table.calculateIncome(5.0, 50));
+        assertEquals(500.0, table.calculateIncome(5.0, 100));
+        assertEquals(100 * 5.0 + 50 * 5.0 * 0.90, table.calculateIncome(5.0, 150));
+    }
+
+    /**
+     * Test to verify the income across several tiers, including copy counts on the tier boundaries.
+     */
+    @Test
+    void testMultipleTiers() {
+        VolumeDiscountTable table = new VolumeDiscountTable(new long[]{0, 10, 100, 1000}, new double[]{1.0, 0.9, 0.8, 0.5});
+        assertEquals(4, table.getTierCount());
+        assertEquals(10.0, table.calculateIncome(1.0, 10), 1e-9);
+        assertEquals(10.9, table.calculateIncome(1.0, 11), 1e-9);
+        assertEquals(10 + 90 * 0.9, table.calculateIncome(1.0, 100), 1e-9);
+        assertEquals(10 + 90 * 0.9 + 900 * 0.8, table.calculateIncome(1.0, 1000), 1e-9);
+        assertEquals((10 + 90 * 0.9 + 900 * 0.8 + 4000 * 0.5) * 2, table.calculateIncome(2.0, 5000), 1e-9);
+    }
+
+    /**
+     * Test to verify that invalid tiers are rejected.
+     */
+    @Test
+    void testInvalidTiers() {
+        assertThrows(IllegalArgumentException.class, () -> new VolumeDiscountTable(new long[0], new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeDiscountTable(new long[]{0, 10}, new double[]{1.0}));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeDiscountTable(new long[]{5}, new double[]{1.0}));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeDiscountTable(new long[]{0, 10, 10}, new double[]{1.0, 0.9, 0.8}));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeDiscountTable(new long[]{0, 10}, new double[]{1.0, -0.1}));
+    }
+
+    /**
+     * Test to verify that an edition calculates its income with its own discount table.
+     */
+    @Test
+    void testEditionUsesDiscountTable() {
+        Book book = new Book("Title", 100, new Paper(PaperSize.A4, PaperType.STANDARD, 0.10), 5.0);
+        assertSame(VolumeDiscountTable.DEFAULT, book.getDiscountTable());
+        book.setDiscountTable(VolumeDiscountTable.NONE);
+        assertEquals(150 * 5.0, book.calculateIncome(150));
+        assertThrows(IllegalArgumentException.class, () -> book.setDiscountTable(null));
+    }
+}
@@ -0,0 +1,89 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.exceptions.UnsupportedColorException;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printingShop.AsyncPrintLogger;
+import org.project_printing_shop.printingShop.PrintingMachine;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the AsyncPrintLogger class.
+ * This class contains unit tests to validate that print events are written by the background thread.
+ */
+public class AsyncPrintLoggerTest {
+
+    /**
+     * Tests that all queued print events are written once the logger is closed.
+     *
+     * @throws UnsupportedColorException  if the machine does not support color printing
+     * @throws NoSuitableMachineException if there is not enough paper
+     */
+    @Test
+    public void testEventsWrittenOnClose() throws UnsupportedColorException, NoSuitableMachineException {
+        StringWriter out = new StringWriter();
+        PrintingMachine machine = new PrintingMachine(1000, 10, true);
+        Book book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        machine.loadPaper(1000);
+
+        try (AsyncPrintLogger logger = new AsyncPrintLogger(out)) {
+            machine.addPrintListener(logger);
+            machine.printEdition(book, false, 5);
+            machine.printEdition(book, false);
+        }
+
+        String log = out.toString();
+        assertTrue(log.contains("Printed publication: Test Book. Copies: 5. Total copies: 5"));
+        assertTrue(log.contains("Printed publication: Test Book. Copies: 1. Total copies: 6"));
+    }
+
+    /**
+     * Tests that events arriving after the logger is closed are dropped and counted.
+     */
+    @Test
+    public void testEventsDroppedAfterClose() {
+        AsyncPrintLogger logger = new AsyncPrintLogger(new StringWriter());
+        logger.close();
+        Book book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        logger.onEditionPrinted(null, book, 1, 1, 1.0);
+        assertEquals(1, logger.getDroppedEvents());
+    }
+
+    /**
+     * Tests that events the writer fails to write are counted as dropped.
+     */
+    @Test
+    public void testEventsDroppedWhenWriterFails() {
+        Writer failing = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Disk full");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        AsyncPrintLogger logger = new AsyncPrintLogger(failing);
+        Book book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        for (int i = 0; i < 3; i++) {
+            logger.onEditionPrinted(null, book, 1, i + 1, 1.0);
+        }
+        logger.close();
+        assertEquals(3, logger.getDroppedEvents());
+    }
+}
@@ -0,0 +1,77 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printable_items.Poster;
+import org.project_printing_shop.printingShop.EditionRegistry;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the EditionRegistry class.
+ * This class contains unit tests to validate the membership checks and copy counts of the registry.
+ */
+public class EditionRegistryTest {
+
+    private EditionRegistry registry;
+    private Edition book;
+    private Edition poster;
+
+    /**
+     * Sets up the test environment before each test.
+     * Initializes an empty registry, a book and a poster.
+     */
+    @BeforeEach
+    public void setUp() {
+        registry = new EditionRegistry();
+        Paper paper = new Paper(PaperSize.A4, PaperType.STANDARD, 0.1);
+        book = new Book("Test Book", 100, paper, 10.0);
+        poster = new Poster("Test Poster", 2, paper, 5.0);
+    }
+
+    /**
+     * Tests that adding copies registers the edition once and accumulates its copy count.
+     */
+    @Test
+    public void testAddCopies() {
+        assertFalse(registry.contains(book));
+        assertEquals(3, registry.addCopies(book, 3));
+        assertEquals(5, registry.addCopies(book, 2));
+        assertTrue(registry.contains(book));
+        assertEquals(5, registry.getCopies(book));
+        assertEquals(1, registry.size());
+    }
+
+    /**
+     * Tests that the registry keeps the editions in the order they were first registered.
+     */
+    @Test
+    public void testInsertionOrder() {
+        registry.addCopies(poster, 1);
+        registry.addCopies(book, 1);
+        registry.addCopies(poster, 1);
+        List<Edition> editions = registry.getEditions();
+        assertEquals(2, editions.size());
+        assertSame(poster, editions.get(0));
+        assertSame(book, editions.get(1));
+    }
+
+    /**
+     * Tests that setting copies overrides the count and the total printed pages reflect all editions.
+     */
+    @Test
+    public void testSetCopiesAndTotalPages() {
+        registry.addCopies(book, 4);
+        registry.setCopies(book, 2);
+        registry.setCopies(poster, 10);
+        assertEquals(2, registry.getCopies(book));
+        assertEquals(220, registry.getTotalPrintedPages());
+    }
+}
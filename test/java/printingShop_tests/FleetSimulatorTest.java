@@ -0,0 +1,96 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.printingShop.FleetSimulator;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+import org.project_printing_shop.printingShop.SimulatedOrder;
+import org.project_printing_shop.printingShop.SimulationReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the FleetSimulator class.
+ * This class contains unit tests to validate the simulated queue wait, throughput and utilization of a fleet of machines.
+ */
+public class FleetSimulatorTest {
+
+    /**
+     * Tests that orders queue for a busy machine and that wait, throughput and utilization follow from the machine's speed.
+     */
+    @Test
+    public void testOrdersQueueForBusyMachine() {
+        FleetSimulator simulator = new FleetSimulator(List.of(new PrintingMachine(1000, 10, false)), 5);
+        SimulationReport report = simulator.run(List.of(
+                new SimulatedOrder(30, 50, false),
+                new SimulatedOrder(0, 100, false),
+                new SimulatedOrder(0, 100, false)));
+        assertEquals(3, report.getCompletedOrders());
+        assertEquals(250, report.getSheetsPrinted());
+        assertEquals(35, report.getSimulatedMinutes(), 0.001);
+        assertEquals(10, report.getMaxWaitMinutes(), 0.001);
+        assertEquals(10.0 / 3, report.getMeanWaitMinutes(), 0.001);
+        assertEquals(0, report.getWaitPercentile(50), 0.001);
+        assertEquals(25.0 / 35, report.getUtilization(0), 0.001);
+        assertEquals(3 * 60 / 35.0, report.getOrdersPerHour(), 0.001);
+    }
+
+    /**
+     * Tests that a machine stops for the reload time whenever its tray runs out of paper.
+     */
+    @Test
+    public void testReloadsWhenTrayRunsOut() {
+        FleetSimulator simulator = new FleetSimulator(List.of(new PrintingMachine(100, 10, false)), 5);
+        SimulationReport report = simulator.run(List.of(
+                new SimulatedOrder(0, 250, false),
+                new SimulatedOrder(0, 50, false)));
+        assertEquals(2, report.getReloads(0));
+        assertEquals(40, report.getSimulatedMinutes(), 0.001);
+        assertEquals(10.0 / 40, report.getReloadShare(0), 0.001);
+    }
+
+    /**
+     * Tests that color orders only go to color machines, that black and white orders use a color machine
+     * when it finishes them sooner, and that color orders are rejected by a fleet without color support.
+     */
+    @Test
+    public void testOrdersRoutedByColorSupport() {
+        PrintingShop shop = new PrintingShop("Test Shop");
+        shop.addMachine(new PrintingMachine(1000, 100, false));
+        shop.addMachine(new PrintingMachine(1000, 10, true));
+        SimulationReport report = new FleetSimulator(shop, 5).run(List.of(
+                new SimulatedOrder(0, 100, true),
+                new SimulatedOrder(1, 1000, false),
+                new SimulatedOrder(10, 10, false)));
+        assertEquals(1, report.getJobs(0));
+        assertEquals(2, report.getJobs(1));
+        assertEquals(0, report.getMaxWaitMinutes(), 0.001);
+
+        SimulationReport monoOnly = new FleetSimulator(List.of(new PrintingMachine(1000, 100, false)), 5)
+                .run(List.of(new SimulatedOrder(0, 10, true)));
+        assertEquals(0, monoOnly.getCompletedOrders());
+        assertEquals(1, monoOnly.getRejectedOrders());
+    }
+
+    /**
+     * Tests that a month of synthetic orders is simulated for a large fleet, and that the same seed replays the same month.
+     */
+    @Test
+    public void testMonthOfSyntheticOrders() {
+        List<PrintingMachine> fleet = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            fleet.add(new PrintingMachine(5000, 50 + i % 50, i % 4 == 0));
+        }
+        FleetSimulator simulator = new FleetSimulator(fleet, 3);
+        List<SimulatedOrder> orders = FleetSimulator.generateOrders(42, 200_000, 200_000 / 43_200.0, 2000, 0.25);
+        SimulationReport report = simulator.run(orders);
+        assertEquals(200_000, report.getCompletedOrders());
+        assertEquals(0, report.getRejectedOrders());
+        assertTrue(report.getFleetUtilization() > 0 && report.getFleetUtilization() <= 1);
+        assertEquals(report.getMeanWaitMinutes(),
+                simulator.run(FleetSimulator.generateOrders(42, 200_000, 200_000 / 43_200.0, 2000, 0.25)).getMeanWaitMinutes());
+    }
+}
@@ -0,0 +1,105 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.employees.Manager;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printingShop.MetricsSnapshot;
+import org.project_printing_shop.printingShop.OrderExecutor;
+import org.project_printing_shop.printingShop.PrintJob;
+import org.project_printing_shop.printingShop.PrintOrder;
+import org.project_printing_shop.printingShop.PrintResult;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the OrderExecutor class.
+ * This class contains unit tests to validate that many small orders are printed against the shop's machines.
+ */
+public class OrderExecutorTest {
+
+    /**
+     * Tests that all jobs of many concurrent orders are printed exactly once.
+     *
+     * @throws Exception if an order fails
+     */
+    @Test
+    public void testManyOrdersArePrinted() throws Exception {
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingMachine first = new PrintingMachine(10000, 50, true);
+        PrintingMachine second = new PrintingMachine(10000, 50, true);
+        first.loadPaper(10000);
+        second.loadPaper(10000);
+        shop.addMachine(first);
+        shop.addMachine(second);
+        Paper paper = new Paper(PaperSize.A5, PaperType.STANDARD, 0.1);
+        Edition flyer = new Book("Flyer", 1, paper, 1.0);
+        Edition card = new Book("Card", 2, paper, 1.0);
+
+        List<CompletableFuture<List<PrintResult>>> orders = new ArrayList<>();
+        try (OrderExecutor executor = new OrderExecutor(shop, 2)) {
+            for (int i = 0; i < 1000; i++) {
+                orders.add(executor.submit(new PrintOrder(List.of(new PrintJob(flyer, 3, false), new PrintJob(card, 2, true)))));
+            }
+            for (CompletableFuture<List<PrintResult>> order : orders) {
+                assertEquals(2, order.get().size());
+            }
+        }
+
+        assertEquals(3000, flyer.getPrintedCopies());
+        assertEquals(2000, card.getPrintedCopies());
+        assertEquals(20000 - 3000 - 4000, first.getCurrentPaperLoad() + second.getCurrentPaperLoad());
+    }
+
+    /**
+     * Tests that an order no machine can print fails with a NoSuitableMachineException as the cause.
+     */
+    @Test
+    public void testOrderFailsWithoutSuitableMachine() {
+        PrintingShop shop = new PrintingShop("Test Shop");
+        shop.addMachine(new PrintingMachine(100, 10, false));
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+
+        try (OrderExecutor executor = new OrderExecutor(shop, 1)) {
+            CompletableFuture<List<PrintResult>> order = executor.submit(new PrintOrder(new PrintJob(book, 1, true)));
+            ExecutionException exception = assertThrows(ExecutionException.class, order::get);
+            assertTrue(exception.getCause() instanceof NoSuitableMachineException);
+        }
+        assertEquals(1, shop.getMetrics().snapshot().getRejections(NoSuitableMachineException.class));
+    }
+
+    /**
+     * Tests that printed orders feed the managers' revenue and the job latency metrics like jobs submitted to the shop.
+     *
+     * @throws Exception if an order fails
+     */
+    @Test
+    public void testOrdersAreAccountedLikeShopJobs() throws Exception {
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingMachine machine = new PrintingMachine(1000, 10, false);
+        machine.loadPaper(1000);
+        shop.addMachine(machine);
+        Manager manager = new Manager("Jane", 1000, 10, 40, 0);
+        shop.addEmployee(manager);
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+
+        try (OrderExecutor executor = new OrderExecutor(shop, 1)) {
+            executor.submit(new PrintOrder(List.of(new PrintJob(book, 2, false), new PrintJob(book, 3, false)))).get();
+        }
+
+        assertEquals(50, manager.getCurrentRevenue(), 0.001);
+        MetricsSnapshot snapshot = shop.getMetrics().snapshot();
+        assertEquals(2, snapshot.getJobLatency().getCount());
+    }
+}
@@ -0,0 +1,160 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.exceptions.UnsupportedColorException;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printingShop.PaperLoadPlan;
+import org.project_printing_shop.printingShop.PaperLoadPlanner;
+import org.project_printing_shop.printingShop.PrintJob;
+import org.project_printing_shop.printingShop.PrintResult;
+import org.project_printing_shop.printingShop.PrintingMachine;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PaperLoadPlanner class.
+ * This class contains unit tests to validate how print jobs are packed into tray loads of a machine.
+ */
+public class PaperLoadPlannerTest {
+
+    private PaperLoadPlanner planner;
+    private PrintingMachine machine;
+    private Edition book;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates an empty black and white machine holding 1000 sheets and a book of 10 pages.
+     */
+    @BeforeEach
+    public void setUp() {
+        planner = new PaperLoadPlanner(5);
+        machine = new PrintingMachine(1000, 100, false);
+        book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+    }
+
+    /**
+     * Tests that jobs are packed into as few tray loads as their paper allows,
+     * where printing them in their given order would need an extra reload.
+     *
+     * @throws Exception if the jobs cannot be planned
+     */
+    @Test
+    public void testJobsPackedIntoFewestLoads() throws Exception {
+        PaperLoadPlan plan = planner.plan(machine, List.of(
+                new PrintJob(book, 60, false),
+                new PrintJob(book, 50, false),
+                new PrintJob(book, 40, false),
+                new PrintJob(book, 30, false),
+                new PrintJob(book, 20, false)));
+        assertEquals(2, plan.getLoads().size());
+        assertEquals(2, plan.getReloadCount());
+        assertEquals(10, plan.getIdleMinutes(), 0.001);
+        assertEquals(2000, plan.getSheetsToLoad());
+        for (PaperLoadPlan.TrayLoad load : plan.getLoads()) {
+            assertEquals(1000, load.getSheetsUsed());
+        }
+    }
+
+    /**
+     * Tests that a job needing more paper than the tray holds is split by copies over several loads.
+     *
+     * @throws Exception if the job cannot be planned
+     */
+    @Test
+    public void testLargeJobSplitOverLoads() throws Exception {
+        PaperLoadPlan plan = planner.plan(machine, List.of(new PrintJob(book, 250, false)));
+        assertEquals(3, plan.getReloadCount());
+        int copies = 0;
+        for (PaperLoadPlan.TrayLoad load : plan.getLoads()) {
+            assertTrue(load.getSheetsUsed() <= machine.getMaxCapacity());
+            for (PrintJob job : load.getJobs()) {
+                copies += job.getCopies();
+            }
+        }
+        assertEquals(250, copies);
+    }
+
+    /**
+     * Tests that a load fitting the paper already in the machine is printed first, without a reload.
+     *
+     * @throws Exception if the jobs cannot be planned
+     */
+    @Test
+    public void testPaperInMachineUsedFirst() throws Exception {
+        machine.loadPaper(300);
+        PaperLoadPlan plan = planner.plan(machine, List.of(
+                new PrintJob(book, 80, false),
+                new PrintJob(book, 30, false)));
+        assertEquals(2, plan.getLoads().size());
+        assertEquals(0, plan.getLoads().get(0).getSheetsToLoad());
+        assertEquals(1, plan.getReloadCount());
+        assertEquals(800, plan.getSheetsToLoad());
+    }
+
+    /**
+     * Tests that executing a plan loads the paper and prints every copy.
+     *
+     * @throws Exception if the plan cannot be executed
+     */
+    @Test
+    public void testExecutePrintsAllCopies() throws Exception {
+        PaperLoadPlan plan = planner.plan(machine, List.of(
+                new PrintJob(book, 70, false),
+                new PrintJob(book, 70, false)));
+        List<PrintResult> results = plan.execute();
+        int copies = 0;
+        for (PrintResult result : results) {
+            copies += result.getCopies();
+        }
+        assertEquals(140, copies);
+        assertEquals(140, book.getPrintedCopies());
+        assertEquals(1400, machine.getTotalPrintedPages());
+        assertEquals(0, machine.getCurrentPaperLoad());
+    }
+
+    /**
+     * Tests that a job of an edition without pages goes whole into the first load and needs no paper of its own.
+     *
+     * @throws Exception if the jobs cannot be planned or executed
+     */
+    @Test
+    public void testJobWithoutPagesJoinsFirstLoad() throws Exception {
+        Edition blank = new Book("Blank Book", 0, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        PrintJob blankJob = new PrintJob(blank, 30, false);
+
+        PaperLoadPlan alone = planner.plan(machine, List.of(blankJob));
+        assertEquals(1, alone.getLoads().size());
+        assertEquals(List.of(blankJob), alone.getLoads().get(0).getJobs());
+        assertEquals(0, alone.getReloadCount());
+
+        PaperLoadPlan plan = planner.plan(machine, List.of(
+                new PrintJob(book, 60, false),
+                blankJob,
+                new PrintJob(book, 50, false)));
+        assertEquals(2, plan.getLoads().size());
+        assertEquals(1100, plan.getSheetsToLoad());
+        assertTrue(plan.getLoads().get(0).getJobs().contains(blankJob));
+        plan.execute();
+        assertEquals(30, blank.getPrintedCopies());
+        assertEquals(110, book.getPrintedCopies());
+    }
+
+    /**
+     * Tests that jobs the machine cannot print are rejected when planning.
+     */
+    @Test
+    public void testUnprintableJobsRejected() {
+        assertThrows(UnsupportedColorException.class, () -> planner.plan(machine, List.of(new PrintJob(book, 1, true))));
+        Edition thick = new Book("Thick Book", 2000, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        assertThrows(NoSuitableMachineException.class, () -> planner.plan(machine, List.of(new PrintJob(thick, 1, false))));
+        assertThrows(IllegalArgumentException.class, () -> new PaperLoadPlanner(-1));
+    }
+}
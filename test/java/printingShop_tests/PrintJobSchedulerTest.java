@@ -0,0 +1,161 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.employees.Manager;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.interfaces.PrintListener;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printingShop.PrintJob;
+import org.project_printing_shop.printingShop.PrintResult;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PrintJobScheduler class.
+ * This class contains unit tests to validate how print jobs submitted to a PrintingShop are routed to its machines.
+ */
+public class PrintJobSchedulerTest {
+
+    private PrintingShop shop;
+    private PrintingMachine colorMachine;
+    private PrintingMachine fastMonoMachine;
+    private Edition book;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates a shop with a slow color machine and a fast black and white machine, both fully loaded.
+     */
+    @BeforeEach
+    public void setUp() {
+        shop = new PrintingShop("Test Shop");
+        colorMachine = new PrintingMachine(1000, 10, true);
+        fastMonoMachine = new PrintingMachine(1000, 100, false);
+        colorMachine.loadPaper(1000);
+        fastMonoMachine.loadPaper(1000);
+        shop.addMachine(colorMachine);
+        shop.addMachine(fastMonoMachine);
+        book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+    }
+
+    /**
+     * Stops the shop's workers after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        shop.shutdown();
+    }
+
+    /**
+     * Tests that a color job is routed to the machine with color support.
+     *
+     * @throws Exception if the job cannot be submitted or printed
+     */
+    @Test
+    public void testColorJobGoesToColorMachine() throws Exception {
+        PrintResult result = shop.submit(new PrintJob(book, 5, true)).get();
+        assertEquals(5, result.getCopies());
+        assertEquals(950, colorMachine.getCurrentPaperLoad());
+        assertEquals(1000, fastMonoMachine.getCurrentPaperLoad());
+    }
+
+    /**
+     * Tests that the paper promised to a queued job is released in full when its edition's number of pages
+     * changes before it is printed, so later jobs can use all the paper left in the machine.
+     *
+     * @throws Exception if the jobs cannot be submitted or printed
+     */
+    @Test
+    public void testPromisedPaperReleasedAsReserved() throws Exception {
+        Edition pamphlet = new Book("Test Pamphlet", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        CountDownLatch blocking = new CountDownLatch(1);
+        colorMachine.addPrintListener(new PrintListener() {
+            @Override
+            public void onEditionPrinted(PrintingMachine machine, Edition edition, int copies, int totalCopies, double printingTime) {
+                if (edition == book) {
+                    try {
+                        blocking.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        CompletableFuture<PrintResult> first = shop.submit(new PrintJob(book, 1, true));
+        CompletableFuture<PrintResult> queued = shop.submit(new PrintJob(pamphlet, 10, true));
+        pamphlet.setNumberOfPages(5);
+        blocking.countDown();
+        first.get();
+        queued.get();
+        assertEquals(940, colorMachine.getCurrentPaperLoad());
+
+        PrintResult rest = shop.submit(new PrintJob(pamphlet, 188, true)).get();
+        assertEquals(188, rest.getCopies());
+        assertEquals(0, colorMachine.getCurrentPaperLoad());
+    }
+
+    /**
+     * Tests that the income of a printed job is credited to the managers of the shop.
+     *
+     * @throws Exception if the job cannot be submitted or printed
+     */
+    @Test
+    public void testJobIncomeCreditedToManagers() throws Exception {
+        Manager manager = new Manager("Jane", 1000, 10, 40, 0);
+        shop.addEmployee(manager);
+        shop.submit(new PrintJob(book, 5, false)).get();
+        assertEquals(50, manager.getCurrentRevenue(), 0.001);
+        assertEquals(1100, shop.calculateTotalSalaries(), 0.001);
+    }
+
+    /**
+     * Tests that a black and white job is routed to the faster machine.
+     *
+     * @throws Exception if the job cannot be submitted or printed
+     */
+    @Test
+    public void testMonoJobGoesToFasterMachine() throws Exception {
+        shop.submit(new PrintJob(book, 5, false)).get();
+        assertEquals(950, fastMonoMachine.getCurrentPaperLoad());
+        assertEquals(1000, colorMachine.getCurrentPaperLoad());
+    }
+
+    /**
+     * Tests that jobs spill over to other machines once the paper of a machine is promised to queued jobs.
+     *
+     * @throws Exception if a job cannot be submitted or printed
+     */
+    @Test
+    public void testJobsSpreadWhenPaperIsPromised() throws Exception {
+        List<CompletableFuture<PrintResult>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(shop.submit(new PrintJob(book, 10, false)));
+        }
+        for (CompletableFuture<PrintResult> result : results) {
+            result.get();
+        }
+        assertEquals(0, colorMachine.getCurrentPaperLoad());
+        assertEquals(0, fastMonoMachine.getCurrentPaperLoad());
+        assertEquals(200, book.getPrintedCopies());
+    }
+
+    /**
+     * Tests that a job no machine can print is rejected with a NoSuitableMachineException.
+     */
+    @Test
+    public void testNoSuitableMachine() {
+        assertThrows(NoSuitableMachineException.class, () -> shop.submit(new PrintJob(book, 101, true)));
+    }
+}
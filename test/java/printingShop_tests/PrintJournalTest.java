@@ -0,0 +1,256 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printable_items.Poster;
+import org.project_printing_shop.printingShop.PrintJournal;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PrintJournal class.
+ * This class contains unit tests to validate journaling machine events and recovering a shop from them.
+ */
+public class PrintJournalTest {
+    private static final String SNAPSHOT_FILE = "test_journal.snapshot";
+    private static final String JOURNAL_FILE = "test_journal.journal";
+
+    /**
+     * Creates a shop with one machine that has already printed a book.
+     *
+     * @param book the book to print
+     * @return the shop
+     * @throws Exception if the book cannot be printed
+     */
+    private PrintingShop createShop(Edition book) throws Exception {
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingMachine machine = new PrintingMachine(1000, 10, true);
+        machine.loadPaper(500);
+        machine.printEdition(book, false, 2);
+        shop.addMachine(machine);
+        return shop;
+    }
+
+    /**
+     * Tests that print runs and paper loads after the snapshot, including those of a new edition and a new machine,
+     * are restored by replaying the journal.
+     *
+     * @throws Exception if there is an error printing, writing or reading the files
+     */
+    @Test
+    public void testRecoverReplaysJournal() throws Exception {
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        Edition poster = new Poster("Test Poster", 1, new Paper(PaperSize.A1, PaperType.GLOSSY, 0.05), 5.0);
+        PrintingShop shop = createShop(book);
+        PrintJournal journal = PrintJournal.open(shop, SNAPSHOT_FILE, JOURNAL_FILE, false);
+        PrintingMachine machine = shop.getMachines().get(0);
+        machine.printEdition(book, false, 3);
+        machine.loadPaper(200);
+        machine.printEdition(poster, true, 7);
+        PrintingMachine added = new PrintingMachine(100, 5, false);
+        shop.addMachine(added);
+        added.loadPaper(50);
+        added.printEdition(poster, false, 4);
+        journal.flush();
+
+        PrintingShop recovered = PrintJournal.recover(SNAPSHOT_FILE, JOURNAL_FILE);
+        journal.close();
+
+        assertEquals(2, recovered.getMachines().size());
+        PrintingMachine recoveredMachine = recovered.getMachines().get(0);
+        assertEquals(machine.getCurrentPaperLoad(), recoveredMachine.getCurrentPaperLoad());
+        assertEquals(5, recoveredMachine.getEditionRegistry().getCopies(book.getId()));
+        assertEquals(7, recoveredMachine.getEditionRegistry().getCopies(poster.getId()));
+        assertEquals(46, recovered.getMachines().get(1).getCurrentPaperLoad());
+        assertEquals(4, recovered.getMachines().get(1).getEditionRegistry().getCopies(poster.getId()));
+        assertEquals(shop.calculateTotalIncome(), recovered.calculateTotalIncome(), 0.001);
+        assertEquals(shop.calculatePaperCosts(), recovered.calculatePaperCosts(), 0.001);
+
+        new File(SNAPSHOT_FILE).delete();
+        new File(JOURNAL_FILE).delete();
+    }
+
+    /**
+     * Tests that compaction moves the journaled events into the snapshot and empties the journal.
+     *
+     * @throws Exception if there is an error printing, writing or reading the files
+     */
+    @Test
+    public void testCompactEmptiesJournal() throws Exception {
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        PrintingShop shop = createShop(book);
+        try (PrintJournal journal = PrintJournal.open(shop, SNAPSHOT_FILE, JOURNAL_FILE, true)) {
+            long emptySize = journal.getJournalSize();
+            shop.getMachines().get(0).printEdition(book, false, 3);
+            journal.flush();
+            assertTrue(journal.getJournalSize() > emptySize);
+
+            journal.compact();
+            assertEquals(emptySize, journal.getJournalSize());
+        }
+
+        PrintingShop recovered = PrintJournal.recover(SNAPSHOT_FILE, JOURNAL_FILE);
+        assertEquals(5, recovered.getMachines().get(0).getEditionRegistry().getCopies(book.getId()));
+        assertEquals(450, recovered.getMachines().get(0).getCurrentPaperLoad());
+
+        new File(SNAPSHOT_FILE).delete();
+        new File(JOURNAL_FILE).delete();
+    }
+
+    /**
+     * Tests that compacting while the machines print neither loses nor repeats a print run.
+     *
+     * @throws Exception if there is an error printing, writing or reading the files
+     */
+    @Test
+    public void testCompactWhilePrinting() throws Exception {
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        Edition poster = new Poster("Test Poster", 1, new Paper(PaperSize.A1, PaperType.GLOSSY, 0.05), 5.0);
+        PrintingShop shop = createShop(book);
+        PrintingMachine machine = new PrintingMachine(1_000_000, 100, false);
+        machine.loadPaper(1_000_000);
+        shop.addMachine(machine);
+        try (PrintJournal journal = PrintJournal.open(shop, SNAPSHOT_FILE, JOURNAL_FILE, false)) {
+            List<Thread> printers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                printers.add(new Thread(() -> {
+                    try {
+                        for (int j = 0; j < 200_000; j++) {
+                            machine.printEdition(poster, false, 1);
+                        }
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+            for (Thread printer : printers) {
+                printer.start();
+            }
+            while (printers.stream().anyMatch(Thread::isAlive)) {
+                journal.compact();
+            }
+            for (Thread printer : printers) {
+                printer.join();
+            }
+        }
+
+        PrintingShop recovered = PrintJournal.recover(SNAPSHOT_FILE, JOURNAL_FILE);
+        PrintingMachine recoveredMachine = recovered.getMachines().get(1);
+        assertEquals(machine.getEditionRegistry().getCopies(poster.getId()), recoveredMachine.getEditionRegistry().getCopies(poster.getId()));
+        assertEquals(machine.getCurrentPaperLoad(), recoveredMachine.getCurrentPaperLoad());
+
+        new File(SNAPSHOT_FILE).delete();
+        new File(JOURNAL_FILE).delete();
+    }
+
+    /**
+     * Tests that compacting keeps the changes made to an edition since the journal was opened.
+     *
+     * @throws Exception if there is an error printing, writing or reading the files
+     */
+    @Test
+    public void testCompactKeepsEditionChanges() throws Exception {
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        PrintingShop shop = createShop(book);
+        try (PrintJournal journal = PrintJournal.open(shop, SNAPSHOT_FILE, JOURNAL_FILE, false)) {
+            shop.getMachines().get(0).printEdition(book, false, 3);
+            book.setUnitPrice(12.5);
+            book.setNumberOfPages(8);
+            journal.compact();
+        }
+
+        PrintingShop recovered = PrintJournal.recover(SNAPSHOT_FILE, JOURNAL_FILE);
+        Edition recoveredBook = recovered.getMachines().get(0).getEditionRegistry().getEdition(book.getId());
+        assertEquals(12.5, recoveredBook.getUnitPrice());
+        assertEquals(8, recoveredBook.getNumberOfPages());
+        assertEquals(5, recovered.getMachines().get(0).getEditionRegistry().getCopies(book.getId()));
+        assertEquals(book.getPrintedCopies(), recoveredBook.getPrintedCopies());
+
+        new File(SNAPSHOT_FILE).delete();
+        new File(JOURNAL_FILE).delete();
+    }
+
+    /**
+     * Tests that opening the journal while the machines print neither loses nor repeats a print run.
+     *
+     * @throws Exception if there is an error printing, writing or reading the files
+     */
+    @Test
+    public void testOpenWhilePrinting() throws Exception {
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        Edition poster = new Poster("Test Poster", 1, new Paper(PaperSize.A1, PaperType.GLOSSY, 0.05), 5.0);
+        PrintingShop shop = createShop(book);
+        PrintingMachine machine = new PrintingMachine(1_000_000, 100, false);
+        shop.addMachine(machine);
+        for (int round = 0; round < 10; round++) {
+            machine.loadPaper(1_000_000 - machine.getCurrentPaperLoad());
+            List<Thread> printers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                printers.add(new Thread(() -> {
+                    try {
+                        for (int j = 0; j < 20_000; j++) {
+                            machine.printEdition(poster, false, 1);
+                        }
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+            for (Thread printer : printers) {
+                printer.start();
+            }
+            try (PrintJournal journal = PrintJournal.open(shop, SNAPSHOT_FILE, JOURNAL_FILE, false)) {
+                for (Thread printer : printers) {
+                    printer.join();
+                }
+            }
+
+            PrintingShop recovered = PrintJournal.recover(SNAPSHOT_FILE, JOURNAL_FILE);
+            PrintingMachine recoveredMachine = recovered.getMachines().get(1);
+            assertEquals(machine.getEditionRegistry().getCopies(poster.getId()), recoveredMachine.getEditionRegistry().getCopies(poster.getId()));
+            assertEquals(machine.getCurrentPaperLoad(), recoveredMachine.getCurrentPaperLoad());
+            assertEquals(poster.getPrintedCopies(), recoveredMachine.getEditionRegistry().getEdition(poster.getId()).getPrintedCopies());
+        }
+
+        new File(SNAPSHOT_FILE).delete();
+        new File(JOURNAL_FILE).delete();
+    }
+
+    /**
+     * Tests that a batch torn by a crash is ignored while the batches before it are replayed.
+     *
+     * @throws Exception if there is an error printing, writing or reading the files
+     */
+    @Test
+    public void testRecoverIgnoresTornBatch() throws Exception {
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        PrintingShop shop = createShop(book);
+        try (PrintJournal journal = PrintJournal.open(shop, SNAPSHOT_FILE, JOURNAL_FILE, false)) {
+            PrintingMachine machine = shop.getMachines().get(0);
+            machine.printEdition(book, false, 3);
+            journal.flush();
+            machine.printEdition(book, false, 4);
+            journal.flush();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(JOURNAL_FILE, "rw")) {
+            file.setLength(file.length() - 2);
+        }
+
+        PrintingShop recovered = PrintJournal.recover(SNAPSHOT_FILE, JOURNAL_FILE);
+        assertEquals(5, recovered.getMachines().get(0).getEditionRegistry().getCopies(book.getId()));
+
+        new File(SNAPSHOT_FILE).delete();
+        new File(JOURNAL_FILE).delete();
+    }
+}
@@ -4,11 +4,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.project_printing_shop.exceptions.NoSuitableMachineException;
 import org.project_printing_shop.exceptions.UnsupportedColorException;
+import org.project_printing_shop.interfaces.PrintListener;
 import org.project_printing_shop.printable_items.Book;
 import org.project_printing_shop.printable_items.Edition;
 import org.project_printing_shop.printable_items.Paper;
 import org.project_printing_shop.enums.PaperSize;
 import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.printingShop.PrintResult;
 import org.project_printing_shop.printingShop.PrintingMachine;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -99,6 +101,120 @@ public class PrintingMachineTest {
         });
     }
 
+    /**
+     * Tests the batch printEdition method of the PrintingMachine class.
+     * Ensures that all copies are printed in one run and the paper load and copy counts are updated once.
+     */
+    @Test
+    public void testPrintEditionBatch() {
+        machine.loadPaper(1000);
+        try {
+            PrintResult result = machine.printEdition(book, false, 7);
+            assertEquals(7, result.getCopies());
+            assertEquals(700, result.getSheetsUsed());
+            assertEquals(70, result.getPrintingTime());
+            assertEquals(7, result.getTotalCopies());
+            assertEquals(7, book.getPrintedCopies());
+            assertEquals(300, machine.getCurrentPaperLoad());
+            assertEquals(700, machine.getTotalPrintedPages());
+        } catch (UnsupportedColorException | NoSuitableMachineException e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the batch printEdition method of the PrintingMachine class when there is not enough paper for all copies.
+     * Ensures that nothing is printed and no paper is consumed when the batch does not fit.
+     */
+    @Test
+    public void testPrintEditionBatchNotEnoughPaper() {
+        machine.loadPaper(500);
+        assertThrows(NoSuitableMachineException.class, () -> {
+            machine.printEdition(book, false, 6);
+        });
+        assertEquals(500, machine.getCurrentPaperLoad());
+        assertEquals(0, book.getPrintedCopies());
+    }
+
+    /**
+     * Tests the batch printEdition method of the PrintingMachine class with an invalid number of copies.
+     * Ensures that an IllegalArgumentException is thrown when the number of copies is not positive.
+     */
+    @Test
+    public void testPrintEditionBatchInvalidCopies() {
+        machine.loadPaper(500);
+        assertThrows(IllegalArgumentException.class, () -> {
+            machine.printEdition(book, false, 0);
+        });
+    }
+
+    /**
+     * Tests that print listeners added to the PrintingMachine are notified about each print run.
+     * Ensures that a removed listener is no longer notified.
+     */
+    @Test
+    public void testPrintListenerNotified() {
+        machine.loadPaper(1000);
+        int[] notifiedCopies = new int[1];
+        PrintListener listener = new PrintListener() {
+            @Override
+            public void onEditionPrinted(PrintingMachine printingMachine, Edition edition, int copies, int totalCopies, double printingTime) {
+                notifiedCopies[0] += copies;
+            }
+        };
+        machine.addPrintListener(listener);
+        try {
+            machine.printEdition(book, false, 3);
+            machine.removePrintListener(listener);
+            machine.printEdition(book, false, 2);
+        } catch (UnsupportedColorException | NoSuitableMachineException e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+        assertEquals(3, notifiedCopies[0]);
+    }
+
+    /**
+     * Tests concurrent printing on one PrintingMachine from several threads.
+     * Ensures that no paper reservation or copy count is lost and that printing stops exactly when the paper runs out.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the threads
+     */
+    @Test
+    public void testConcurrentPrinting() throws InterruptedException {
+        PrintingMachine sharedMachine = new PrintingMachine(10000, 100, false);
+        Edition leaflet = new Book("Leaflet", 1, new Paper(PaperSize.A5, PaperType.STANDARD, 0.1), 1.0);
+        sharedMachine.loadPaper(10000);
+        int threads = 4;
+        int[] rejected = new int[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < 3000; i++) {
+                    try {
+                        sharedMachine.printEdition(leaflet, false);
+                    } catch (NoSuitableMachineException e) {
+                        rejected[index]++;
+                    } catch (UnsupportedColorException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        int totalRejected = 0;
+        for (int count : rejected) {
+            totalRejected += count;
+        }
+        assertEquals(0, sharedMachine.getCurrentPaperLoad());
+        assertEquals(10000, sharedMachine.getEditionRegistry().getCopies(leaflet));
+        assertEquals(10000, leaflet.getPrintedCopies());
+        assertEquals(2000, totalRejected);
+    }
+
     /**
      * Tests the getTotalPrintedPages method of the PrintingMachine class.
      * Ensures that the total printed pages are correctly calculated.
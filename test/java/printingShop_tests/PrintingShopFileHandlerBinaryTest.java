@@ -0,0 +1,117 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.employees.Manager;
+import org.project_printing_shop.employees.Operator;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printable_items.Poster;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+import org.project_printing_shop.printingShop.PrintingShopFileHandlerBinary;
+import org.project_printing_shop.printingShop.PrintingShopFileHandlerWrite;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PrintingShopFileHandlerBinary class.
+ * This class contains unit tests to validate saving and loading printing shops as binary snapshots.
+ */
+public class PrintingShopFileHandlerBinaryTest {
+
+    /**
+     * Tests that a shop saved as a snapshot is restored with its employees, editions, machines and pricing.
+     *
+     * @throws Exception if there is an error printing, writing or reading the snapshot
+     */
+    @Test
+    public void testSaveAndLoadSnapshot() throws Exception {
+        String testFilename = "test_printingshop.snapshot";
+        PrintingShop shop = new PrintingShop("Test Shop");
+        shop.setTotalSales(5000.0);
+        shop.setPaperPricing(PaperType.GLOSSY, 0.05);
+        shop.addEmployee(new Manager("Jane", 5000, 10, 10000, 12000));
+        shop.addEmployee(new Operator("John", 3000));
+        Edition book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        Edition poster = new Poster("Test Poster", 1, new Paper(PaperSize.A1, PaperType.GLOSSY, 0.05), 5.0);
+        PrintingMachine first = new PrintingMachine(1000, 10, true);
+        PrintingMachine second = new PrintingMachine(500, 20, false);
+        first.loadPaper(1000);
+        second.loadPaper(500);
+        first.printEdition(book, false, 3);
+        first.printEdition(poster, true, 7);
+        second.printEdition(book, false, 4);
+        shop.addMachine(first);
+        shop.addMachine(second);
+
+        PrintingShopFileHandlerBinary.savePrintingShopToSnapshot(shop, testFilename);
+        PrintingShop loaded = PrintingShopFileHandlerBinary.loadPrintingShopFromSnapshot(testFilename);
+
+        assertEquals(shop.getId(), loaded.getId());
+        assertEquals("Test Shop", loaded.getName());
+        assertEquals(5000.0, loaded.getTotalSales(), 0.001);
+        assertEquals(0.05, loaded.getPriceForPaper(PaperType.GLOSSY), 0.0001);
+        assertEquals(2, loaded.getEmployees().size());
+        assertEquals(8500, loaded.calculateTotalSalaries(), 0.001);
+        assertEquals(2, loaded.getMachines().size());
+        PrintingMachine loadedFirst = loaded.getMachines().get(0);
+        assertEquals(963, loadedFirst.getCurrentPaperLoad());
+        assertEquals(3, loadedFirst.getEditionRegistry().getCopies(book.getId()));
+        assertEquals(7, loadedFirst.getEditionRegistry().getCopies(poster.getId()));
+        assertSame(loadedFirst.getEditionRegistry().getEdition(book.getId()),
+                loaded.getMachines().get(1).getEditionRegistry().getEdition(book.getId()));
+        assertEquals(shop.calculateTotalIncome(), loaded.calculateTotalIncome(), 0.001);
+        assertEquals(shop.calculatePaperCosts(), loaded.calculatePaperCosts(), 0.001);
+
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that a failed save throws and leaves the previous snapshot in place.
+     *
+     * @throws IOException if there is an error writing or reading the test files
+     */
+    @Test
+    public void testFailedSaveKeepsPreviousSnapshot() throws IOException {
+        String testFilename = "test_failed_save.snapshot";
+        File blocker = new File(testFilename + PrintingShopFileHandlerWrite.TEMP_SUFFIX);
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingShopFileHandlerBinary.savePrintingShopToSnapshot(shop, testFilename, true);
+        byte[] saved = Files.readAllBytes(Paths.get(testFilename));
+
+        shop.setName("Renamed Shop");
+        assertTrue(blocker.mkdir());
+        assertThrows(IOException.class, () -> PrintingShopFileHandlerBinary.savePrintingShopToSnapshot(shop, testFilename));
+        assertArrayEquals(saved, Files.readAllBytes(Paths.get(testFilename)));
+        assertEquals("Test Shop", PrintingShopFileHandlerBinary.loadPrintingShopFromSnapshot(testFilename).getName());
+
+        blocker.delete();
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that a file which is not a snapshot is rejected.
+     *
+     * @throws IOException if there is an error creating the test file
+     */
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        String testFilename = "test_not_a_snapshot.txt";
+        try (FileWriter writer = new FileWriter(testFilename)) {
+            writer.write("PrintingShopID: 123e4567-e89b-12d3-a456-426614174000\n");
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> PrintingShopFileHandlerBinary.loadPrintingShopFromSnapshot(testFilename));
+
+        new File(testFilename).delete();
+    }
+}
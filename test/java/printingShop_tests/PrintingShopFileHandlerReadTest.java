@@ -1,15 +1,26 @@
 package printingShop_tests;
 
 import org.junit.jupiter.api.Test;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printingShop.PrintingMachine;
 import org.project_printing_shop.printingShop.PrintingShop;
 import org.project_printing_shop.printingShop.PrintingShopFileHandlerRead;
+import org.project_printing_shop.printingShop.PrintingShopFileHandlerWrite;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test class for the PrintingShopFileHandlerRead class.
@@ -37,6 +48,205 @@ public class PrintingShopFileHandlerReadTest {
         new File(testFilename).delete();
     }
 
+    /**
+     * Tests that a saved and reloaded shop keeps the identity and copy counts of its editions.
+     * Ensures that an edition listed both on its machine and in the printed editions section is not counted twice.
+     *
+     * @throws Exception if there is an error printing, writing or reading the test file
+     */
+    @Test
+    public void testSaveAndLoadKeepsEditionIdentity() throws Exception {
+        String testFilename = "test_printingshop_roundtrip.txt";
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingMachine machine = new PrintingMachine(1000, 10, true);
+        Book book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        machine.loadPaper(1000);
+        machine.printEdition(book, false, 5);
+        shop.addMachine(machine);
+
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        PrintingShop loaded = PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename);
+
+        assertNotNull(loaded);
+        PrintingMachine loadedMachine = loaded.getMachines().get(0);
+        assertEquals(1, loadedMachine.getEditionRegistry().size());
+        assertTrue(loadedMachine.getEditionRegistry().contains(book));
+        assertEquals(5, loadedMachine.getEditionRegistry().getCopies(book.getId()));
+        assertEquals(50, loadedMachine.getTotalPrintedPages());
+        assertEquals(shop.calculateTotalIncome(), loaded.calculateTotalIncome(), 0.001);
+
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that a file written by the original writer, which lists every edition in full on its machine
+     * as well as in the printed editions section, still loads with the sequential and the parallel loader.
+     *
+     * @throws IOException if there is an error writing the test file
+     */
+    @Test
+    public void testLoadFileWithInlineMachineEditions() throws IOException {
+        String testFilename = "test_printingshop_inline.txt";
+        String edition = "Type: Book, Title: Test Book, Number of Pages: 10, Size: A4, Type: STANDARD, Base Price: 0.1, Unit Price: 10.0, Printed Copies: 3";
+        try (FileWriter writer = new FileWriter(testFilename)) {
+            writer.write("PrintingShopID: 123e4567-e89b-12d3-a456-426614174000\n");
+            writer.write("Name: Test Shop\n");
+            writer.write("Total Sales: 5000.0\n");
+            writer.write("Total Expenses: 3000.0\n");
+            writer.write("Employees:\n");
+            writer.write("Employee: Operator: Ann, Base Salary: 1000.0, Salary: 1000.0\n");
+            writer.write("Machines:\n");
+            writer.write("Machine: Max Capacity: 1000, Pages Per Minute: 10, Color Support: true, Current Paper Load: 470, Edition: " + edition + "=3\n");
+            writer.write("Printed Editions:\n");
+            writer.write("Edition: " + edition + "=3\n");
+            writer.write("Paper Pricing:\n");
+            writer.write("STANDARD: 0.1\n");
+        }
+
+        for (PrintingShop shop : new PrintingShop[]{PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename),
+                PrintingShopFileHandlerRead.loadPrintingShopFromFileInParallel(testFilename)}) {
+            assertNotNull(shop);
+            assertEquals(1, shop.getEmployees().size());
+            PrintingMachine machine = shop.getMachines().get(0);
+            assertEquals(470, machine.getCurrentPaperLoad());
+            assertEquals(1, machine.getEditionRegistry().size());
+            assertEquals("Test Book", machine.getPrintedEditions().get(0).getTitle());
+            assertEquals(30, machine.getTotalPrintedPages());
+        }
+
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that a delta save referring to a machine beyond the ones already read is rejected with the offending line.
+     *
+     * @throws IOException if there is an error writing the test files
+     */
+    @Test
+    public void testDeltaMachineIndexOutOfRange() throws IOException {
+        String testFilename = "test_printingshop_bad_delta.txt";
+        String deltaFilename = testFilename + PrintingShopFileHandlerWrite.DELTA_SUFFIX;
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingMachine machine = new PrintingMachine(1000, 10, true);
+        shop.addMachine(machine);
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        String generation = Files.readAllLines(Paths.get(testFilename)).get(0).substring("Generation: ".length());
+        String record = "Machine 3: " + PrintingShopFileHandlerWrite.serializeMachine(machine);
+        Files.write(Paths.get(deltaFilename), ("Delta: " + generation + "\n" + record + "\nEnd Delta\n").getBytes());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename));
+        assertTrue(e.getMessage().contains(record));
+
+        new File(deltaFilename).delete();
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that an edition printed on two machines is restored as one instance shared by both machines,
+     * and that the shop's paper pricing survives the save and load.
+     *
+     * @throws Exception if there is an error printing, writing or reading the test file
+     */
+    @Test
+    public void testSaveAndLoadSharedEditionAndPricing() throws Exception {
+        String testFilename = "test_printingshop_shared.txt";
+        PrintingShop shop = new PrintingShop("Test Shop");
+        shop.setPaperPricing(PaperType.GLOSSY, 0.05);
+        Book book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        PrintingMachine first = new PrintingMachine(1000, 10, true);
+        PrintingMachine second = new PrintingMachine(1000, 10, false);
+        first.loadPaper(1000);
+        second.loadPaper(1000);
+        first.printEdition(book, false, 3);
+        second.printEdition(book, false, 4);
+        shop.addMachine(first);
+        shop.addMachine(second);
+
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        PrintingShop loaded = PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename);
+
+        assertNotNull(loaded);
+        assertEquals(3, loaded.getMachines().get(0).getEditionRegistry().getCopies(book.getId()));
+        assertEquals(4, loaded.getMachines().get(1).getEditionRegistry().getCopies(book.getId()));
+        assertSame(loaded.getMachines().get(0).getEditionRegistry().getEdition(book.getId()),
+                loaded.getMachines().get(1).getEditionRegistry().getEdition(book.getId()));
+        assertEquals(0.05, loaded.getPriceForPaper(PaperType.GLOSSY), 0.0001);
+        assertEquals(70, loaded.calculateTotalIncome(), 0.001);
+
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that edition lines written before editions had identifiers are still loaded.
+     * Ensures that a title containing a comma is read whole and that the listed copies are restored on the machine.
+     *
+     * @throws IOException if there is an error creating the test file
+     */
+    @Test
+    public void testLoadLegacyEditionLines() throws IOException {
+        String testFilename = "test_printingshop_legacy.txt";
+        try (FileWriter writer = new FileWriter(testFilename)) {
+            writer.write("PrintingShopID: 123e4567-e89b-12d3-a456-426614174000\n");
+            writer.write("Name: Test Shop\n");
+            writer.write("Machine: Max Capacity: 1000, Pages Per Minute: 10, Color Support: false, Current Paper Load: 500\n");
+            writer.write("Edition: Type: Book, Title: Tales, Old and New, Number of Pages: 10, Size: A4, Type: STANDARD, Base Price: 0.1, Unit Price: 10.0, Printed Copies: 2=2\n");
+        }
+
+        PrintingShop shop = PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename);
+
+        assertNotNull(shop);
+        PrintingMachine machine = shop.getMachines().get(0);
+        assertEquals(500, machine.getCurrentPaperLoad());
+        assertEquals(1, machine.getEditionRegistry().size());
+        assertEquals("Tales, Old and New", machine.getPrintedEditions().get(0).getTitle());
+        assertEquals(20, machine.getTotalPrintedPages());
+
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that loading a file in parallel gives the same shop as loading it on one thread.
+     * Ensures that a file large enough to be split into several chunks keeps its machines in order
+     * and resolves editions referenced from other chunks.
+     *
+     * @throws Exception if there is an error printing, writing or reading the test file
+     */
+    @Test
+    public void testLoadInParallelMatchesSequentialLoad() throws Exception {
+        String testFilename = "test_printingshop_parallel.txt";
+        PrintingShop shop = new PrintingShop("Test Shop");
+        shop.setTotalSales(5000);
+        shop.setPaperPricing(PaperType.GLOSSY, 0.05);
+        for (int m = 0; m < 200; m++) {
+            PrintingMachine machine = new PrintingMachine(100000, 10 + m, m % 2 == 0);
+            machine.loadPaper(100000);
+            for (int e = 0; e < 20; e++) {
+                machine.printEdition(new Book("Book " + m + "-" + e, 1 + e, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0), false, 1 + m % 7);
+            }
+            shop.addMachine(machine);
+        }
+
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        PrintingShop sequential = PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename);
+        PrintingShop parallel = PrintingShopFileHandlerRead.loadPrintingShopFromFileInParallel(testFilename);
+
+        assertNotNull(parallel);
+        assertEquals(sequential.getId(), parallel.getId());
+        assertEquals("Test Shop", parallel.getName());
+        assertEquals(5000, parallel.getTotalSales(), 0.001);
+        assertEquals(0.05, parallel.getPriceForPaper(PaperType.GLOSSY), 0.0001);
+        assertEquals(200, parallel.getMachines().size());
+        for (int m = 0; m < 200; m++) {
+            assertEquals(10 + m, parallel.getMachines().get(m).getPagesPerMinute());
+            assertEquals(sequential.getMachines().get(m).getTotalPrintedPages(), parallel.getMachines().get(m).getTotalPrintedPages());
+        }
+        assertEquals(sequential.calculateTotalIncome(), parallel.calculateTotalIncome(), 0.001);
+        assertEquals(shop.calculateTotalIncome(), parallel.calculateTotalIncome(), 0.001);
+
+        new File(testFilename).delete();
+    }
+
     /**
      * Creates a test file with the specified filename.
      *
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.project_printing_shop.employees.Manager;
 import org.project_printing_shop.printingShop.PrintingMachine;
 import org.project_printing_shop.printingShop.PrintingShop;
+import org.project_printing_shop.printingShop.PrintingShopFileHandlerRead;
 import org.project_printing_shop.printingShop.PrintingShopFileHandlerWrite;
 import org.project_printing_shop.printable_items.Book;
 import org.project_printing_shop.printable_items.Paper;
@@ -14,8 +15,14 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -46,6 +53,7 @@ public class PrintingShopFileHandlerWriteTest {
         PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
 
         try (BufferedReader reader = new BufferedReader(new FileReader(testFilename))) {
+            assertTrue(reader.readLine().startsWith("Generation: "));
             assertEquals("PrintingShopID: " + shop.getId(), reader.readLine());
             assertEquals("Name: Test Shop", reader.readLine());
             assertEquals("Total Sales: 5000.0", reader.readLine());
@@ -53,4 +61,203 @@ public class PrintingShopFileHandlerWriteTest {
 
         new File(testFilename).delete();
     }
+
+    /**
+     * Tests that a delta save writes only the changed machine and edition, and that loading merges it.
+     *
+     * @throws Exception if there is an error printing, writing or reading the test files
+     */
+    @Test
+    public void testSavePrintingShopDelta() throws Exception {
+        String testFilename = "test_delta.txt";
+        String deltaFilename = testFilename + PrintingShopFileHandlerWrite.DELTA_SUFFIX;
+        PrintingShop shop = new PrintingShop("Test Shop");
+        Book book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        PrintingMachine first = new PrintingMachine(1000, 10, true);
+        PrintingMachine second = new PrintingMachine(1000, 10, false);
+        first.loadPaper(500);
+        second.loadPaper(500);
+        first.printEdition(book, false, 2);
+        second.printEdition(book, false, 1);
+        shop.addMachine(first);
+        shop.addMachine(second);
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        assertFalse(shop.isDirty());
+        assertFalse(first.isDirty());
+        assertFalse(book.isDirty());
+
+        second.printEdition(book, false, 4);
+        assertTrue(second.isDirty());
+        assertFalse(first.isDirty());
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(shop, testFilename);
+        shop.setTotalSales(250.0);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(shop, testFilename);
+
+        String generation = Files.readAllLines(Paths.get(testFilename)).get(0).substring("Generation: ".length());
+        List<String> delta = Files.readAllLines(Paths.get(deltaFilename));
+        assertEquals(List.of("Delta: " + generation,
+                "Machine 1: " + PrintingShopFileHandlerWrite.serializeMachine(second),
+                "Edition: " + PrintingShopFileHandlerWrite.serializeEdition(book),
+                "End Delta",
+                "Delta: " + generation,
+                "PrintingShopID: " + shop.getId(),
+                "Name: Test Shop",
+                "Total Sales: 250.0",
+                "Employees:",
+                "Paper Pricing:",
+                "End Delta"), delta);
+
+        PrintingShop loaded = PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename);
+        assertEquals(250.0, loaded.getTotalSales(), 0.001);
+        assertEquals(2, loaded.getMachines().get(0).getEditionRegistry().getCopies(book.getId()));
+        assertEquals(5, loaded.getMachines().get(1).getEditionRegistry().getCopies(book.getId()));
+        assertEquals(450, loaded.getMachines().get(1).getCurrentPaperLoad());
+        assertEquals(7, loaded.getMachines().get(1).getEditionRegistry().getEdition(book.getId()).getPrintedCopies());
+        assertEquals(shop.calculateTotalIncome(), loaded.calculateTotalIncome(), 0.001);
+        assertFalse(loaded.isDirty());
+
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        assertFalse(new File(deltaFilename).exists());
+
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that a delta save writes an edition shared with another shop, even after the other shop's delta save
+     * marked the edition as saved.
+     *
+     * @throws Exception if there is an error printing, writing or reading the test files
+     */
+    @Test
+    public void testDeltaWritesEditionSharedBetweenShops() throws Exception {
+        String firstFilename = "test_shared_delta_a.txt";
+        String secondFilename = "test_shared_delta_b.txt";
+        PrintingShop firstShop = new PrintingShop("Shop A");
+        PrintingShop secondShop = new PrintingShop("Shop B");
+        PrintingMachine firstMachine = new PrintingMachine(1000, 10, false);
+        PrintingMachine secondMachine = new PrintingMachine(1000, 10, false);
+        firstMachine.loadPaper(500);
+        secondMachine.loadPaper(500);
+        firstShop.addMachine(firstMachine);
+        secondShop.addMachine(secondMachine);
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(firstShop, firstFilename);
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(secondShop, secondFilename);
+
+        Book book = new Book("Shared Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        firstMachine.printEdition(book, false, 2);
+        secondMachine.printEdition(book, false, 3);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(firstShop, firstFilename);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(secondShop, secondFilename);
+        PrintingShop loaded = PrintingShopFileHandlerRead.loadPrintingShopFromFile(secondFilename);
+        assertEquals(3, loaded.getMachines().get(0).getEditionRegistry().getCopies(book.getId()));
+
+        book.setUnitPrice(12.5);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(firstShop, firstFilename);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(secondShop, secondFilename);
+        loaded = PrintingShopFileHandlerRead.loadPrintingShopFromFile(secondFilename);
+        assertEquals(12.5, loaded.getMachines().get(0).getEditionRegistry().getEdition(book.getId()).getUnitPrice(), 0.001);
+
+        new File(firstFilename + PrintingShopFileHandlerWrite.DELTA_SUFFIX).delete();
+        new File(secondFilename + PrintingShopFileHandlerWrite.DELTA_SUFFIX).delete();
+        new File(firstFilename).delete();
+        new File(secondFilename).delete();
+    }
+
+    /**
+     * Tests that a delta save keeps a changed shop identifier.
+     *
+     * @throws Exception if there is an error writing or reading the test files
+     */
+    @Test
+    public void testDeltaKeepsShopId() throws Exception {
+        String testFilename = "test_delta_id.txt";
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        UUID id = UUID.randomUUID();
+        shop.setId(id);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(shop, testFilename);
+
+        assertEquals(id, PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename).getId());
+        assertEquals(id, PrintingShopFileHandlerRead.loadPrintingShopFromFileInParallel(testFilename).getId());
+
+        new File(testFilename + PrintingShopFileHandlerWrite.DELTA_SUFFIX).delete();
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that a delta save cut off by a crash is ignored, and that the next delta save still loads.
+     *
+     * @throws Exception if there is an error printing, writing or reading the test files
+     */
+    @Test
+    public void testInterruptedDeltaIsIgnored() throws Exception {
+        String testFilename = "test_torn_delta.txt";
+        String deltaFilename = testFilename + PrintingShopFileHandlerWrite.DELTA_SUFFIX;
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        Files.write(Paths.get(deltaFilename), "Delta:\nTotal Sales: 999.0\nMachine 0: Max Capa".getBytes());
+
+        shop.setTotalSales(100.0);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(shop, testFilename);
+
+        PrintingShop loaded = PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename);
+        assertEquals(100.0, loaded.getTotalSales(), 0.001);
+        assertTrue(loaded.getMachines().isEmpty());
+
+        new File(deltaFilename).delete();
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that a delta left behind by a full save that stopped after replacing the shop file is ignored,
+     * and that delta saves on top of the new file are still merged.
+     *
+     * @throws Exception if there is an error writing or reading the test files
+     */
+    @Test
+    public void testStaleDeltaIsIgnored() throws Exception {
+        String testFilename = "test_stale_delta.txt";
+        String deltaFilename = testFilename + PrintingShopFileHandlerWrite.DELTA_SUFFIX;
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        shop.setTotalSales(999.0);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(shop, testFilename);
+        byte[] staleDelta = Files.readAllBytes(Paths.get(deltaFilename));
+
+        shop.setTotalSales(100.0);
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename);
+        Files.write(Paths.get(deltaFilename), staleDelta);
+        assertEquals(100.0, PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename).getTotalSales(), 0.001);
+
+        shop.setTotalSales(200.0);
+        PrintingShopFileHandlerWrite.savePrintingShopDelta(shop, testFilename);
+        assertEquals(200.0, PrintingShopFileHandlerRead.loadPrintingShopFromFile(testFilename).getTotalSales(), 0.001);
+        assertEquals(200.0, PrintingShopFileHandlerRead.loadPrintingShopFromFileInParallel(testFilename).getTotalSales(), 0.001);
+
+        new File(deltaFilename).delete();
+        new File(testFilename).delete();
+    }
+
+    /**
+     * Tests that a failed save throws, leaves the previous file in place and keeps the shop marked as changed.
+     *
+     * @throws IOException if there is an error writing or reading the test files
+     */
+    @Test
+    public void testFailedSaveKeepsPreviousFile() throws IOException {
+        String testFilename = "test_failed_save.txt";
+        File blocker = new File(testFilename + PrintingShopFileHandlerWrite.TEMP_SUFFIX);
+        PrintingShop shop = new PrintingShop("Test Shop");
+        PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename, true);
+        List<String> saved = Files.readAllLines(Paths.get(testFilename));
+
+        shop.setName("Renamed Shop");
+        assertTrue(blocker.mkdir());
+        assertThrows(IOException.class, () -> PrintingShopFileHandlerWrite.savePrintingShopToFile(shop, testFilename));
+        assertEquals(saved, Files.readAllLines(Paths.get(testFilename)));
+        assertTrue(shop.isDirty());
+
+        blocker.delete();
+        new File(testFilename).delete();
+    }
 }
@@ -0,0 +1,119 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.employees.Operator;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.enums.ShopRanking;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+import org.project_printing_shop.printingShop.PrintingShopRegistry;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PrintingShopRegistry class.
+ * This class contains unit tests to validate the ranking queries of a registry of printing shops.
+ */
+public class PrintingShopRegistryTest {
+
+    private PrintingShopRegistry registry;
+    private PrintingShop north;
+    private PrintingShop south;
+    private PrintingShop east;
+
+    /**
+     * Sets up the test environment by creating a registry with three shops before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        registry = new PrintingShopRegistry();
+        north = new PrintingShop("North");
+        south = new PrintingShop("South");
+        east = new PrintingShop("East");
+        north.setTotalSales(300);
+        south.setTotalSales(100);
+        east.setTotalSales(200);
+        registry.addShop(north);
+        registry.addShop(south);
+        registry.addShop(east);
+    }
+
+    /**
+     * Tests that the top shops are returned highest first and that recorded sales move a shop in the ranking.
+     */
+    @Test
+    public void testTopShopsFollowRecordedSales() {
+        assertEquals(Arrays.asList(north, east), registry.getTop(ShopRanking.TOTAL_SALES, 2));
+
+        south.recordSale(500);
+
+        assertEquals(Arrays.asList(south, north, east), registry.getTop(ShopRanking.TOTAL_SALES, 5));
+        assertEquals(1, registry.getRank(south, ShopRanking.TOTAL_SALES));
+        assertEquals(3, registry.getRank(east, ShopRanking.TOTAL_SALES));
+    }
+
+    /**
+     * Tests that adding employees and printing editions update the employee and profit rankings.
+     *
+     * @throws Exception if the edition cannot be printed
+     */
+    @Test
+    public void testEmployeeAndProfitRankings() throws Exception {
+        east.addEmployee(new Operator("John", 1000));
+        east.addEmployee(new Operator("Jane", 1000));
+        south.addEmployee(new Operator("Jim", 1000));
+        PrintingMachine machine = new PrintingMachine(1000, 10, false);
+        machine.loadPaper(1000);
+        north.addMachine(machine);
+        machine.printEdition(new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0), false, 5);
+
+        List<PrintingShop> byEmployees = registry.getTop(ShopRanking.NUMBER_OF_EMPLOYEES, 1);
+        assertEquals(Arrays.asList(east), byEmployees);
+        assertEquals(north, registry.getTop(ShopRanking.PROFIT, 1).get(0));
+        assertEquals(north.calculateProfit(), registry.getPercentile(ShopRanking.PROFIT, 100), 0.001);
+        assertEquals(3, registry.getRank(east, ShopRanking.PROFIT));
+    }
+
+    /**
+     * Tests percentile queries using the nearest-rank method, and that removed shops leave the indexes.
+     */
+    @Test
+    public void testPercentileAndRemove() {
+        assertEquals(100, registry.getPercentile(ShopRanking.TOTAL_SALES, 0), 0.001);
+        assertEquals(200, registry.getPercentile(ShopRanking.TOTAL_SALES, 50), 0.001);
+        assertEquals(300, registry.getPercentile(ShopRanking.TOTAL_SALES, 90), 0.001);
+
+        assertTrue(registry.removeShop(north));
+        assertFalse(registry.removeShop(north));
+        north.recordSale(1000);
+
+        assertEquals(2, registry.size());
+        assertEquals(200, registry.getPercentile(ShopRanking.TOTAL_SALES, 100), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> registry.getRank(north, ShopRanking.TOTAL_SALES));
+        assertThrows(IllegalArgumentException.class, () -> registry.getPercentile(ShopRanking.TOTAL_SALES, 101));
+    }
+
+    /**
+     * Tests that a shop changed while it waits to be re-indexed, and removed and added again meanwhile,
+     * is ranked by its latest values.
+     */
+    @Test
+    public void testQueuedChangesAppliedOnQuery() {
+        south.recordSale(150);
+        assertTrue(registry.removeShop(south));
+        south.recordSale(1000);
+        assertTrue(registry.addShop(south));
+        south.recordSale(50);
+        east.recordSale(2000);
+
+        assertEquals(Arrays.asList(east, south, north), registry.getTop(ShopRanking.TOTAL_SALES, 3));
+        assertEquals(2, registry.getRank(south, ShopRanking.TOTAL_SALES));
+    }
+}
@@ -10,6 +10,7 @@ import org.project_printing_shop.enums.PaperType;
 import org.project_printing_shop.printable_items.Book;
 import org.project_printing_shop.printable_items.Edition;
 import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printable_items.PaperPricingTable;
 import org.project_printing_shop.printingShop.PrintingMachine;
 import org.project_printing_shop.printingShop.PrintingShop;
 
@@ -141,6 +142,114 @@ public class PrintingShopTest {
         double totalIncome = shop.calculateTotalIncome();
         assertEquals(1450, totalIncome, 0.001);
     }
+    /**
+     * Tests that the shop's totals follow prints made after the machine was added to the shop.
+     */
+    @Test
+    public void testTotalsFollowLaterPrints() {
+        PrintingMachine machine = new PrintingMachine(20000, 10, true);
+        Paper paper = new Paper(PaperSize.A4, PaperType.STANDARD, 0.1);
+        Edition book = new Book("Test Book", 100, paper, 10.0);
+        machine.loadPaper(20000);
+        shop.addMachine(machine);
+
+        try {
+            machine.printEdition(book, false, 50);
+            machine.printEdition(book, false, 100);
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+
+        assertEquals(1450, shop.calculateTotalIncome(), 0.001);
+        assertEquals(2250, shop.calculatePaperCosts(), 0.001); // 150 copies * 100 pages * 0.15
+    }
+
+    /**
+     * Tests that the shop's paper prices replace the price of the paper in the paper costs,
+     * scaled by the paper size, and that changing them recalculates the costs already incurred.
+     */
+    @Test
+    public void testPaperCostsFollowPaperPricing() {
+        PrintingMachine machine = new PrintingMachine(20000, 10, true);
+        Edition book = new Book("Test Book", 100, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        Edition poster = new Book("Test Poster", 1, new Paper(PaperSize.A1, PaperType.GLOSSY, 0.5), 10.0);
+        machine.loadPaper(20000);
+        shop.addMachine(machine);
+        try {
+            machine.printEdition(book, false, 10);
+            machine.printEdition(poster, false, 10);
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+        assertEquals(150 + 20, shop.calculatePaperCosts(), 0.001); // 1000 sheets * 0.15 + 10 sheets * 2.0
+
+        shop.setPaperPricing(PaperType.STANDARD, 0.2);
+        assertEquals(300 + 20, shop.calculatePaperCosts(), 0.001); // 1000 sheets * 0.2 * 1.5
+        assertEquals(0.3, shop.getPricingTable().getPrice(book.getPaper()), 0.0001);
+        assertEquals(2.0, shop.getPricingTable().getPrice(poster.getPaper()), 0.0001);
+
+        shop.setPaperPricing(new HashMap<>());
+        assertEquals(150 + 20, shop.calculatePaperCosts(), 0.001);
+    }
+
+    /**
+     * Tests that repricing the catalog publishes a new version of the prices in one step,
+     * leaving tables already handed out unchanged, and that editions are costed at the shop's prices.
+     */
+    @Test
+    public void testRepriceCatalog() {
+        Edition book = new Book("Test Book", 100, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+        shop.setPaperPricing(PaperType.STANDARD, 0.2);
+        PaperPricingTable before = shop.getPricingTable();
+        assertEquals(30, book.calculatePrintingCosts(shop.getPriceProvider()), 0.001); // 100 pages * 0.2 * 1.5
+
+        Map<PaperType, Double> prices = new HashMap<>();
+        prices.put(PaperType.STANDARD, 0.4);
+        prices.put(PaperType.GLOSSY, 0.5);
+        shop.repriceCatalog(prices);
+
+        assertEquals(before.getVersion() + 1, shop.getPricingTable().getVersion());
+        assertEquals(60, book.calculatePrintingCosts(shop.getPriceProvider()), 0.001);
+        assertEquals(30, book.calculatePrintingCosts(before), 0.001);
+        assertEquals(15, book.calculatePrintingCosts(), 0.001);
+        assertEquals(0.5, shop.getPriceForPaper(PaperType.GLOSSY), 0.0001);
+        assertThrows(IllegalArgumentException.class, () -> shop.setPaperPricing(PaperType.GLOSSY, -1));
+    }
+
+    /**
+     * Tests that changing the unit price of a printed edition updates the shop's income.
+     */
+    @Test
+    public void testIncomeFollowsUnitPriceChange() {
+        PrintingMachine machine = new PrintingMachine(1000, 10, true);
+        Paper paper = new Paper(PaperSize.A4, PaperType.STANDARD, 0.1);
+        Edition book = new Book("Test Book", 10, paper, 10.0);
+        machine.loadPaper(1000);
+        shop.addMachine(machine);
+        try {
+            machine.printEdition(book, false, 10);
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+
+        book.setUnitPrice(12.0);
+        assertEquals(120, shop.calculateTotalIncome(), 0.001);
+    }
+
+    /**
+     * Tests that a manager's bonus earned after being added to the shop is included in the total salaries and the profit.
+     */
+    @Test
+    public void testSalariesFollowManagerRevenue() {
+        Manager manager = new Manager("Jane", 5000, 10, 10000, 0);
+        shop.addEmployee(manager);
+        assertEquals(5000, shop.calculateTotalSalaries(), 0.001);
+
+        manager.setCurrentRevenue(12000);
+        assertEquals(5500, shop.calculateTotalSalaries(), 0.001);
+        assertEquals(-5500, shop.calculateProfit(), 0.001);
+    }
+
     /**
      * Tests recording a sale in the printing shop.
      */
@@ -149,6 +258,20 @@ public class PrintingShopTest {
         shop.recordSale(1000);
         assertEquals(1000, shop.getTotalSales(), 0.001);
     }
+
+    /**
+     * Tests that recorded sales are credited to the shop's managers and move them across their bonus threshold.
+     */
+    @Test
+    public void testRecordSaleCreditsManagers() {
+        Manager manager = new Manager("Jane", 5000, 10, 10000, 0);
+        shop.addEmployee(manager);
+        shop.recordSale(6000);
+        assertEquals(6000, manager.getCurrentRevenue(), 0.001);
+        assertEquals(5000, shop.calculateTotalSalaries(), 0.001);
+        shop.recordSale(6000);
+        assertEquals(5500, shop.calculateTotalSalaries(), 0.001);
+    }
     /**
      * Tests comparing two printing shops by their total sales.
      */
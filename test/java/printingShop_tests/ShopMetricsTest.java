@@ -0,0 +1,151 @@
+package printingShop_tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project_printing_shop.enums.PaperSize;
+import org.project_printing_shop.enums.PaperType;
+import org.project_printing_shop.exceptions.NoSuitableMachineException;
+import org.project_printing_shop.exceptions.UnsupportedColorException;
+import org.project_printing_shop.printable_items.Book;
+import org.project_printing_shop.printable_items.Edition;
+import org.project_printing_shop.printable_items.Paper;
+import org.project_printing_shop.printingShop.LatencyHistogram;
+import org.project_printing_shop.printingShop.MetricsSnapshot;
+import org.project_printing_shop.printingShop.PrintJob;
+import org.project_printing_shop.printingShop.PrintingMachine;
+import org.project_printing_shop.printingShop.PrintingShop;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the ShopMetrics class.
+ * This class contains unit tests to validate the metrics collected from a printing shop and its machines.
+ */
+public class ShopMetricsTest {
+
+    private PrintingShop shop;
+    private PrintingMachine machine;
+    private Edition book;
+
+    /**
+     * Sets up the test environment by creating a shop with one black and white machine before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        shop = new PrintingShop("Test Shop");
+        machine = new PrintingMachine(1000, 10, false);
+        machine.loadPaper(500);
+        shop.addMachine(machine);
+        book = new Book("Test Book", 10, new Paper(PaperSize.A4, PaperType.STANDARD, 0.1), 10.0);
+    }
+
+    /**
+     * Stops the shop's workers after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        shop.shutdown();
+    }
+
+    /**
+     * Tests that printed pages, copies, runs and the paper utilization of a machine are reported.
+     *
+     * @throws Exception if the edition cannot be printed
+     */
+    @Test
+    public void testMachineCounters() throws Exception {
+        machine.printEdition(book, false, 5);
+        machine.printEdition(book, false, 10);
+
+        MetricsSnapshot.MachineSnapshot snapshot = shop.getMetrics().snapshot().getMachines().get(0);
+        MetricsSnapshot.MachineSnapshot later = shop.getMetrics().snapshot().getMachines().get(0);
+
+        assertSame(machine, snapshot.getMachine());
+        assertEquals(150, snapshot.getPagesPrinted());
+        assertEquals(15, snapshot.getCopiesPrinted());
+        assertEquals(2, snapshot.getPrintRuns());
+        assertTrue(snapshot.getPagesPerSecond(null) > 0);
+        assertEquals(350, snapshot.getPaperLoad());
+        assertEquals(0.35, snapshot.getPaperUtilization(), 0.0001);
+        assertEquals(0, later.getPagesPerSecond(snapshot), 0.0001);
+    }
+
+    /**
+     * Tests that a snapshot taken by one exporter does not change the rate another exporter measures.
+     *
+     * @throws Exception if the edition cannot be printed
+     */
+    @Test
+    public void testExportersMeasureIndependently() throws Exception {
+        MetricsSnapshot.MachineSnapshot dashboard = shop.getMetrics().snapshot().getMachines().get(0);
+        machine.printEdition(book, false, 5);
+        shop.getMetrics().snapshot();
+        machine.printEdition(book, false, 5);
+        MetricsSnapshot.MachineSnapshot current = shop.getMetrics().snapshot().getMachines().get(0);
+
+        assertEquals(100, current.getPagesPrinted() - dashboard.getPagesPrinted());
+        assertTrue(current.getPagesPerSecond(dashboard) > 0);
+        assertThrows(IllegalArgumentException.class, () -> current.getPagesPerSecond(
+                new MetricsSnapshot.MachineSnapshot(new PrintingMachine(10, 10, false), 0, 0, 0, 0, 0, 0, Map.of())));
+    }
+
+    /**
+     * Tests that rejected print runs are counted by the type of the exception, on the machine and for the shop.
+     *
+     * @throws Exception if a job cannot be submitted for an unexpected reason
+     */
+    @Test
+    public void testRejectionsByExceptionType() throws Exception {
+        assertThrows(UnsupportedColorException.class, () -> machine.printEdition(book, true, 1));
+        assertThrows(NoSuitableMachineException.class, () -> machine.printEdition(book, false, 100));
+        assertThrows(NoSuitableMachineException.class, () -> shop.submit(new PrintJob(book, 1, true)));
+
+        MetricsSnapshot snapshot = shop.getMetrics().snapshot();
+
+        assertEquals(1, snapshot.getRejections(UnsupportedColorException.class));
+        assertEquals(2, snapshot.getRejections(NoSuitableMachineException.class));
+        assertEquals(1, snapshot.getMachines().get(0).getRejections().get("NoSuitableMachineException").longValue());
+    }
+
+    /**
+     * Tests that the latency of jobs routed by the scheduler is recorded.
+     *
+     * @throws Exception if a job cannot be printed
+     */
+    @Test
+    public void testJobLatencyIsRecorded() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            shop.submit(new PrintJob(book, 1, false)).get();
+        }
+
+        LatencyHistogram.Snapshot latency = shop.getMetrics().snapshot().getJobLatency();
+
+        assertEquals(3, latency.getCount());
+        assertTrue(latency.getMax() > 0);
+        assertTrue(latency.getPercentile(50) <= latency.getMax());
+        assertTrue(latency.getPercentile(100) >= latency.getMean() / 2);
+    }
+
+    /**
+     * Tests that histogram percentiles are the upper bounds of power-of-two buckets, capped by the maximum.
+     */
+    @Test
+    public void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.getCount());
+        assertEquals(127, snapshot.getPercentile(50));
+        assertEquals(127, snapshot.getPercentile(99));
+        assertEquals(5000, snapshot.getPercentile(100));
+        assertEquals(149.0, snapshot.getMean(), 0.001);
+    }
+}